@@ -0,0 +1,58 @@
+package minesweeper;
+
+/**
+ * Positions of the sprites in the image atlas, as x, y, width and height in pixels.
+ * Generated by the AtlasGenerator of the webfx-minesweeper-atlas module, do not edit.
+ */
+final class AtlasIndex {
+
+    // The atlas of each skin, the sprites are at the same positions in all of them
+    static final String[] SKIN_NAMES = {"Classic", "Dark"};
+    static final String[] SKIN_PATHS = {"images/atlas.png", "images/atlas-dark.png"};
+    static final int WIDTH = 256;
+    static final int HEIGHT = 147;
+
+    // Indexed by tile state, see Tile
+    static final int[] TILES = {
+        217, 1, 32, 32, // minesweeper-basic/0.png
+        1, 55, 32, 32, // minesweeper-basic/1.png
+        35, 55, 32, 32, // minesweeper-basic/2.png
+        69, 55, 32, 32, // minesweeper-basic/3.png
+        103, 55, 32, 32, // minesweeper-basic/4.png
+        137, 55, 32, 32, // minesweeper-basic/5.png
+        171, 55, 32, 32, // minesweeper-basic/6.png
+        205, 55, 32, 32, // minesweeper-basic/7.png
+        1, 89, 32, 32, // minesweeper-basic/8.png
+        35, 89, 32, 32, // minesweeper-basic/cover.png
+        69, 89, 32, 32, // minesweeper-basic/flag.png
+        171, 89, 32, 32, // minesweeper-basic/mine-red.png
+        103, 89, 32, 32, // minesweeper-basic/mine-grey.png
+        137, 89, 32, 32, // minesweeper-basic/mine-misflagged.png
+    };
+
+    // Digits 0 to 9, then the minus sign
+    static final int[] DIGITS = {
+        205, 89, 13, 23, // digits/0.png
+        220, 89, 13, 23, // digits/1.png
+        235, 89, 13, 23, // digits/2.png
+        1, 123, 13, 23, // digits/3.png
+        16, 123, 13, 23, // digits/4.png
+        31, 123, 13, 23, // digits/5.png
+        46, 123, 13, 23, // digits/6.png
+        61, 123, 13, 23, // digits/7.png
+        76, 123, 13, 23, // digits/8.png
+        91, 123, 13, 23, // digits/9.png
+        106, 123, 13, 23, // digits/neg.png
+    };
+
+    // Indexed by face, see SpriteAtlas
+    static final int[] FACES = {
+        109, 1, 52, 52, // minesweeper-basic/face-smile.png
+        55, 1, 52, 52, // minesweeper-basic/face-dead.png
+        163, 1, 52, 52, // minesweeper-basic/face-win.png
+        1, 1, 52, 52, // minesweeper-basic/face-O.png
+    };
+
+    private AtlasIndex() {
+    }
+}
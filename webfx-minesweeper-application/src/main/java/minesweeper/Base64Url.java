@@ -0,0 +1,80 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * URL-safe Base64 encoding without padding, used to turn the binary formats of the game into text that can be
+ * shared or kept in local storage. Implemented here because {@code java.util.Base64} is not available in the
+ * browser build.
+ */
+public final class Base64Url {
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base64Url() {
+    }
+
+    /**
+     * Encodes bytes to text.
+     *
+     * @param bytes The bytes to encode.
+     * @return The encoded text.
+     */
+    public static String encode(byte[] bytes) {
+        StringBuilder sb = new StringBuilder((bytes.length * 4 + 2) / 3);
+        int i = 0;
+        for (; i + 2 < bytes.length; i += 3) {
+            int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+            sb.append(ALPHABET[bits >>> 18]).append(ALPHABET[(bits >>> 12) & 0x3F])
+                .append(ALPHABET[(bits >>> 6) & 0x3F]).append(ALPHABET[bits & 0x3F]);
+        }
+        int remaining = bytes.length - i;
+        if (remaining == 1) {
+            int bits = (bytes[i] & 0xFF) << 16;
+            sb.append(ALPHABET[bits >>> 18]).append(ALPHABET[(bits >>> 12) & 0x3F]);
+        } else if (remaining == 2) {
+            int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8;
+            sb.append(ALPHABET[bits >>> 18]).append(ALPHABET[(bits >>> 12) & 0x3F]).append(ALPHABET[(bits >>> 6) & 0x3F]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes text produced by {@link #encode(byte[])}.
+     *
+     * @param text The text to decode.
+     * @return The decoded bytes.
+     * @throws IllegalArgumentException if the text is not valid Base64.
+     */
+    public static byte[] decode(String text) {
+        int length = text.length();
+        if (length % 4 == 1) {
+            throw new IllegalArgumentException("Invalid Base64 length");
+        }
+        byte[] bytes = new byte[length * 3 / 4];
+        int bits = 0;
+        int bitCount = 0;
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int value = c < 128 ? VALUES[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid Base64 character '" + c + "'");
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                bytes[size++] = (byte) (bits >>> bitCount);
+            }
+        }
+        return bytes;
+    }
+}
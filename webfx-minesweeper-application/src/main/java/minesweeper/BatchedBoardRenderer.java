@@ -0,0 +1,137 @@
+package minesweeper;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+
+/**
+ * Renderer stage queuing the tile changes of a frame and applying them to another renderer once per pulse.
+ * A flood fill or the end of a game changes hundreds of tiles in one event handler, and a tile may change several
+ * times in the same frame (pressed, released, then revealed): only the last state of each tile is forwarded, so the
+ * work of the renderer is proportional to the number of distinct tiles changed per frame.
+ */
+public final class BatchedBoardRenderer implements BoardRenderer {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final byte TILE_SEEN = 1;
+    private static final byte OVERLAY_SEEN = 2;
+
+    private final BoardRenderer target;
+    // Changes in the order they were made, possibly with duplicates
+    private int[] tileIndexes = new int[INITIAL_CAPACITY];
+    private byte[] tileStates = new byte[INITIAL_CAPACITY];
+    private int tileCount;
+    private int[] overlayIndexes = new int[INITIAL_CAPACITY];
+    private double[] overlayValues = new double[INITIAL_CAPACITY];
+    private int overlayCount;
+    // Marks the spaces already forwarded during a flush
+    private final byte[] seen;
+
+    private final AnimationTimer flushTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            this.stop();
+            flush();
+        }
+    };
+    private boolean flushScheduled;
+
+    /**
+     * Constructor for the BatchedBoardRenderer class.
+     *
+     * @param target The renderer drawing the tiles.
+     * @param size   The number of spaces of the board.
+     */
+    public BatchedBoardRenderer(BoardRenderer target, int size) {
+        this.target = target;
+        this.seen = new byte[size];
+    }
+
+    @Override
+    public Node getNode() {
+        return this.target.getNode();
+    }
+
+    @Override
+    public void setTile(int index, int tile) {
+        if (this.tileCount == this.tileIndexes.length) {
+            this.tileIndexes = grow(this.tileIndexes);
+            byte[] states = new byte[this.tileStates.length * 2];
+            System.arraycopy(this.tileStates, 0, states, 0, this.tileCount);
+            this.tileStates = states;
+        }
+        this.tileIndexes[this.tileCount] = index;
+        this.tileStates[this.tileCount++] = (byte) tile;
+        this.scheduleFlush();
+    }
+
+    @Override
+    public void fill(int tile) {
+        // The fill replaces every queued tile
+        this.tileCount = 0;
+        this.target.fill(tile);
+    }
+
+    @Override
+    public void setOverlay(int index, double probability) {
+        if (this.overlayCount == this.overlayIndexes.length) {
+            this.overlayIndexes = grow(this.overlayIndexes);
+            double[] values = new double[this.overlayValues.length * 2];
+            System.arraycopy(this.overlayValues, 0, values, 0, this.overlayCount);
+            this.overlayValues = values;
+        }
+        this.overlayIndexes[this.overlayCount] = index;
+        this.overlayValues[this.overlayCount++] = probability;
+        this.scheduleFlush();
+    }
+
+    @Override
+    public void refreshSkin() {
+        this.flush();
+        this.target.refreshSkin();
+    }
+
+    private void scheduleFlush() {
+        if (!this.flushScheduled) {
+            this.flushScheduled = true;
+            this.flushTimer.start();
+        }
+    }
+
+    /**
+     * Applies the queued changes to the target renderer now. Going through the queues backwards, the first change
+     * met for a space is its last one, and the older ones are skipped.
+     */
+    public void flush() {
+        this.flushScheduled = false;
+        final byte[] seen = this.seen;
+        for (int i = this.tileCount - 1; i >= 0; i--) {
+            final int index = this.tileIndexes[i];
+            if ((seen[index] & TILE_SEEN) == 0) {
+                seen[index] |= TILE_SEEN;
+                this.target.setTile(index, this.tileStates[i]);
+            }
+        }
+        for (int i = this.overlayCount - 1; i >= 0; i--) {
+            final int index = this.overlayIndexes[i];
+            if ((seen[index] & OVERLAY_SEEN) == 0) {
+                seen[index] |= OVERLAY_SEEN;
+                this.target.setOverlay(index, this.overlayValues[i]);
+            }
+        }
+
+        // Clear the marks of the forwarded spaces only
+        for (int i = 0; i < this.tileCount; i++) {
+            seen[this.tileIndexes[i]] = 0;
+        }
+        for (int i = 0; i < this.overlayCount; i++) {
+            seen[this.overlayIndexes[i]] = 0;
+        }
+        this.tileCount = 0;
+        this.overlayCount = 0;
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -0,0 +1,182 @@
+package minesweeper;
+
+/**
+ * Compact shareable code of a Minesweeper board.
+ * A board is fully determined by its seed, size, number of mines and first click, so these few values are
+ * enough to regenerate the exact same mines: the code is about 20 characters long for the difficulty presets.
+ * Boards mirrored by a {@link BoardSymmetry} also store the symmetry, in a second version of the code.
+ */
+public final class BoardCode {
+    private static final int VERSION = 1;
+    private static final int VERSION_SYMMETRY = 2;
+
+    private final long seed;
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final int clickIndex;
+    private final int symmetry;
+
+    /**
+     * Constructor for the BoardCode class.
+     *
+     * @param seed       the seed of the mine placement
+     * @param rows       the number of rows in the game board
+     * @param cols       the number of columns in the game board
+     * @param mines      the number of mines in the game board
+     * @param clickIndex the index of the first clicked space
+     */
+    public BoardCode(long seed, int rows, int cols, int mines, int clickIndex) {
+        this(seed, rows, cols, mines, clickIndex, BoardSymmetry.IDENTITY);
+    }
+
+    /**
+     * Constructor for the BoardCode class of a mirrored board.
+     *
+     * @param seed       the seed of the mine placement
+     * @param rows       the number of rows in the game board
+     * @param cols       the number of columns in the game board
+     * @param mines      the number of mines in the game board
+     * @param clickIndex the index of the first clicked space, on the mirrored board
+     * @param symmetry   the symmetry applied to the generated board
+     */
+    public BoardCode(long seed, int rows, int cols, int mines, int clickIndex, int symmetry) {
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.clickIndex = clickIndex;
+        this.symmetry = symmetry;
+    }
+
+    /**
+     * Decodes a board code.
+     *
+     * @param code the text of the board code
+     * @return the decoded board code
+     * @throws IllegalArgumentException if the code is malformed or doesn't describe a valid board
+     */
+    public static BoardCode decode(String code) {
+        ByteReader reader = new ByteReader(Base64Url.decode(code.trim()));
+        int version = reader.readByte();
+        if (version != VERSION && version != VERSION_SYMMETRY) {
+            throw new IllegalArgumentException("Unknown board code version");
+        }
+        int rows = reader.readVarInt();
+        int cols = reader.readVarInt();
+        int mines = reader.readVarInt();
+        int clickIndex = reader.readVarInt();
+        long seed = reader.readLong();
+        int symmetry = version == VERSION_SYMMETRY ? reader.readVarInt() : BoardSymmetry.IDENTITY;
+
+        String error = BoardConfig.validate(rows, cols, mines);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        if (clickIndex < 0 || clickIndex >= rows * cols) {
+            throw new IllegalArgumentException("Invalid first click in board code");
+        }
+        if (!BoardSymmetry.isValid(symmetry, rows, cols)) {
+            throw new IllegalArgumentException("Invalid symmetry in board code");
+        }
+        return new BoardCode(seed, rows, cols, mines, clickIndex, symmetry);
+    }
+
+    /**
+     * Encodes the board code to text.
+     *
+     * @return the text of the board code
+     */
+    public String encode() {
+        // Codes of boards that aren't mirrored keep the first version
+        ByteWriter writer = new ByteWriter(24)
+            .writeByte(symmetry == BoardSymmetry.IDENTITY ? VERSION : VERSION_SYMMETRY)
+            .writeVarInt(rows)
+            .writeVarInt(cols)
+            .writeVarInt(mines)
+            .writeVarInt(clickIndex)
+            .writeLong(seed);
+        if (symmetry != BoardSymmetry.IDENTITY) {
+            writer.writeVarInt(symmetry);
+        }
+        return Base64Url.encode(writer.toByteArray());
+    }
+
+    /**
+     * Gets the board configuration matching the code: the difficulty preset of the same size if any, a custom board otherwise.
+     *
+     * @return the board configuration
+     */
+    public BoardConfig toBoardConfig() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (difficulty.getRows() == rows && difficulty.getCols() == cols && difficulty.getMines() == mines) {
+                return BoardConfig.of(difficulty);
+            }
+        }
+        return BoardConfig.custom(rows, cols, mines);
+    }
+
+    /**
+     * Gets the seed of the mine placement.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of rows in the game board.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns in the game board.
+     *
+     * @return the number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of mines in the game board.
+     *
+     * @return the number of mines
+     */
+    public int getMines() {
+        return mines;
+    }
+
+    /**
+     * Gets the index of the first clicked space.
+     *
+     * @return the index of the first click
+     */
+    public int getClickIndex() {
+        return clickIndex;
+    }
+
+    /**
+     * Gets the symmetry applied to the generated board.
+     *
+     * @return the symmetry, see {@link BoardSymmetry}
+     */
+    public int getSymmetry() {
+        return symmetry;
+    }
+
+    /**
+     * Returns the text of the board code.
+     *
+     * @return the encoded board code
+     */
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -0,0 +1,275 @@
+package minesweeper;
+
+/**
+ * Represents the configuration of a Minesweeper board: its size, number of mines and layout.
+ * A configuration is either one of the {@link Difficulty} presets or a custom board with arbitrary
+ * rows, columns and mines. The layout of custom boards is derived from their size.
+ */
+public final class BoardConfig {
+    public static final int MIN_DIMENSION = 3;
+    public static final int MAX_DIMENSION = 10000;
+    public static final int MAX_SPACES = 1 << 24;
+    // The first click and its neighbors never contain a mine
+    public static final int SAFE_SPACES = 9;
+
+    private static final int MIN_TILE_SIZE = 6;
+    private static final int MAX_TILE_SIZE = 30;
+    private static final int TILE_GAP = 2;
+    private static final int MAX_BOARD_WIDTH = 1200;
+    private static final int MAX_BOARD_HEIGHT = 760;
+    private static final int MIN_SCREEN_WIDTH = 280;
+    private static final int HORIZONTAL_MARGIN = 24;
+    private static final int VERTICAL_MARGIN = 110;
+
+    private final String name;
+    private final Difficulty difficulty;
+    private final int rows;
+    private final int cols;
+    private final int mines;
+    private final int tileSize;
+    private final int screenWidth;
+    private final int screenHeight;
+    private final int viewportWidth;
+    private final int viewportHeight;
+
+    private BoardConfig(String name, Difficulty difficulty, int rows, int cols, int mines, int tileSize,
+                        int screenWidth, int screenHeight, int viewportWidth, int viewportHeight) {
+        this.name = name;
+        this.difficulty = difficulty;
+        this.rows = rows;
+        this.cols = cols;
+        this.mines = mines;
+        this.tileSize = tileSize;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+    }
+
+    /**
+     * Gets the configuration of a difficulty preset.
+     *
+     * @param difficulty the difficulty preset
+     * @return the board configuration of the preset
+     */
+    public static BoardConfig of(Difficulty difficulty) {
+        return new BoardConfig(difficulty.getName(), difficulty, difficulty.getRows(), difficulty.getCols(), difficulty.getMines(),
+                difficulty.getTileSize(), difficulty.getScreenWidth(), difficulty.getScreenHeight(),
+                boardSize(difficulty.getCols(), difficulty.getTileSize()), boardSize(difficulty.getRows(), difficulty.getTileSize()));
+    }
+
+    /**
+     * Creates the configuration of a custom board. The tile and screen sizes are derived from the board size.
+     * Boards that don't fit on the screen even with the smallest tiles are shown through a pan and zoom viewport.
+     *
+     * @param rows  the number of rows in the game board
+     * @param cols  the number of columns in the game board
+     * @param mines the number of mines in the game board
+     * @return the board configuration
+     * @throws IllegalArgumentException if the values are not a valid board
+     */
+    public static BoardConfig custom(int rows, int cols, int mines) {
+        String error = validate(rows, cols, mines);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+
+        int tileSize = Math.min(MAX_BOARD_WIDTH / cols, MAX_BOARD_HEIGHT / rows) - TILE_GAP;
+        tileSize = Math.max(MIN_TILE_SIZE, Math.min(MAX_TILE_SIZE, tileSize));
+        int viewportWidth = Math.min(boardSize(cols, tileSize), MAX_BOARD_WIDTH);
+        int viewportHeight = Math.min(boardSize(rows, tileSize), MAX_BOARD_HEIGHT);
+        int screenWidth = Math.max(MIN_SCREEN_WIDTH, viewportWidth + HORIZONTAL_MARGIN);
+        int screenHeight = viewportHeight + VERTICAL_MARGIN;
+        return new BoardConfig("Custom " + rows + "x" + cols, null, rows, cols, mines, tileSize,
+                screenWidth, screenHeight, viewportWidth, viewportHeight);
+    }
+
+    /**
+     * Gets the size in pixels of a board side with the given number of tiles.
+     */
+    private static int boardSize(int tiles, int tileSize) {
+        return tiles * (tileSize + TILE_GAP) - TILE_GAP;
+    }
+
+    /**
+     * Parses the configuration of a custom board from user input.
+     *
+     * @param rows  the number of rows as text
+     * @param cols  the number of columns as text
+     * @param mines the number of mines as text
+     * @return the board configuration
+     * @throws IllegalArgumentException if a value is not a number or the values are not a valid board
+     */
+    public static BoardConfig parse(String rows, String cols, String mines) {
+        return custom(parseValue("Rows", rows), parseValue("Columns", cols), parseValue("Mines", mines));
+    }
+
+    private static int parseValue(String label, String text) {
+        try {
+            return Integer.parseInt(text == null ? "" : text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " must be a whole number");
+        }
+    }
+
+    /**
+     * Validates the size and number of mines of a custom board.
+     *
+     * @param rows  the number of rows in the game board
+     * @param cols  the number of columns in the game board
+     * @param mines the number of mines in the game board
+     * @return a message describing the first problem found, or null if the board is valid
+     */
+    public static String validate(int rows, int cols, int mines) {
+        if (rows < MIN_DIMENSION || rows > MAX_DIMENSION) {
+            return "Rows must be between " + MIN_DIMENSION + " and " + MAX_DIMENSION;
+        }
+        if (cols < MIN_DIMENSION || cols > MAX_DIMENSION) {
+            return "Columns must be between " + MIN_DIMENSION + " and " + MAX_DIMENSION;
+        }
+        long spaces = (long) rows * cols;
+        if (spaces > MAX_SPACES) {
+            return "Boards are limited to " + MAX_SPACES + " spaces";
+        }
+        if (mines < 1 || mines > spaces - SAFE_SPACES) {
+            return "Mines must be between 1 and " + (spaces - SAFE_SPACES);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the name of the board.
+     *
+     * @return the name of the board
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the difficulty preset of the board.
+     *
+     * @return the difficulty preset, or null for a custom board
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Checks if the board is a custom board.
+     *
+     * @return true if the board is not a difficulty preset
+     */
+    public boolean isCustom() {
+        return difficulty == null;
+    }
+
+    /**
+     * Gets the number of rows in the game board.
+     *
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns in the game board.
+     *
+     * @return the number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of mines in the game board.
+     *
+     * @return the number of mines
+     */
+    public int getMines() {
+        return mines;
+    }
+
+    /**
+     * Gets the size of each tile in the game board.
+     *
+     * @return the size of each tile
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Gets the width of the game screen.
+     *
+     * @return the width of the game screen
+     */
+    public int getScreenWidth() {
+        return screenWidth;
+    }
+
+    /**
+     * Gets the height of the game screen.
+     *
+     * @return the height of the game screen
+     */
+    public int getScreenHeight() {
+        return screenHeight;
+    }
+
+    /**
+     * Gets the width of the visible area of the game board.
+     *
+     * @return the width of the board viewport
+     */
+    public int getViewportWidth() {
+        return viewportWidth;
+    }
+
+    /**
+     * Gets the height of the visible area of the game board.
+     *
+     * @return the height of the board viewport
+     */
+    public int getViewportHeight() {
+        return viewportHeight;
+    }
+
+    /**
+     * Checks if the game board is larger than its viewport and can only be shown by panning and zooming.
+     *
+     * @return true if the board doesn't fit on the screen
+     */
+    public boolean isVirtualized() {
+        return boardSize(cols, tileSize) > viewportWidth || boardSize(rows, tileSize) > viewportHeight;
+    }
+
+    /**
+     * Gets the total number of spaces in the game board.
+     *
+     * @return the total number of spaces
+     */
+    public int getTotalSpaces() {
+        return rows * cols;
+    }
+
+    /**
+     * Gets the total number of clicks required to win the game.
+     *
+     * @return the total number of clicks required to win
+     */
+    public int getTotalClicks() {
+        return rows * cols - mines;
+    }
+
+    /**
+     * Returns the name of the board as a string.
+     *
+     * @return the name of the board
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
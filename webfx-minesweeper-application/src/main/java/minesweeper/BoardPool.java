@@ -0,0 +1,179 @@
+package minesweeper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pool of no-guess boards generated ahead of the first click, keyed by board size and number of mines.
+ * Each pooled board was verified from a random start space. Revealing any empty space of the opening of that start
+ * reveals exactly the same opening, so a pooled board can serve every first click that lands in its opening, or in
+ * the opening of one of its mirrored versions (see {@link BoardSymmetry}): the game is then played from the
+ * (mirrored) start space, and the board stays shareable with its {@link BoardCode}.
+ * <p>
+ * The pool is refilled in small time slices with {@link #refill(long)}, so the caller decides when to spend time
+ * generating (e.g. a few milliseconds per animation frame) and the first click doesn't have to wait for it. A candidate
+ * is verified across as many slices as it needs, so a slice ends at its deadline whatever the size of the board.
+ * Configurations where {@link #MAX_FAILED_CANDIDATES} candidates in a row can't be solved are given up.
+ */
+public final class BoardPool {
+    public static final int SIZE = 8;
+    // At the density of Expert about one candidate in 12 can be solved, so this many failures in a row mean that
+    // solvable boards are too rare for the configuration
+    public static final int MAX_FAILED_CANDIDATES = 200;
+
+    /**
+     * A verified board and the spaces it can be started from.
+     */
+    private static final class Entry {
+        private final long seed;
+        private final int start;
+        // Bitset of the empty spaces of the opening of the start space
+        private final long[] starts;
+
+        private Entry(long seed, int start, long[] starts) {
+            this.seed = seed;
+            this.start = start;
+            this.starts = starts;
+        }
+
+        private boolean canStartFrom(int index) {
+            return (this.starts[index >>> 6] & (1L << index)) != 0;
+        }
+    }
+
+    /**
+     * The verified boards of a configuration, and the candidates that failed since the last verified one.
+     */
+    private static final class Pool {
+        private final List<Entry> entries = new ArrayList<>(SIZE);
+        private int failures;
+    }
+
+    private final Map<String, Pool> pools = new HashMap<>();
+    private final NoGuessGenerator generator = new NoGuessGenerator();
+    private final MinesweeperEngine engine = new MinesweeperEngine();
+    private final SplitMix64 random = new SplitMix64(SplitMix64.randomSeed());
+    private BoardConfig config;
+    // Candidate being verified by the generator, if any
+    private boolean verifying;
+    private long candidateSeed;
+    private int candidateStart;
+
+    private static String key(BoardConfig config) {
+        return config.getRows() + "x" + config.getCols() + ":" + config.getMines();
+    }
+
+    /**
+     * Sets the board configuration the pool is refilled for. Boards pooled for other configurations are kept.
+     *
+     * @param config The board configuration.
+     */
+    public void setConfig(BoardConfig config) {
+        this.config = config;
+        this.verifying = false;
+    }
+
+    /**
+     * Checks if the pool of the current configuration is full or can't be filled.
+     *
+     * @return True if there is nothing to refill.
+     */
+    public boolean isFull() {
+        if (this.config == null || !NoGuessGenerator.supports(this.config)) {
+            return true;
+        }
+        final Pool pool = this.pool(this.config);
+        return pool.entries.size() >= SIZE || pool.failures >= MAX_FAILED_CANDIDATES;
+    }
+
+    /**
+     * Gets the number of boards ready for a configuration.
+     *
+     * @param config The board configuration.
+     * @return The number of pooled boards.
+     */
+    public int getReadyCount(BoardConfig config) {
+        return this.pool(config).entries.size();
+    }
+
+    /**
+     * Verifies candidate boards for the current configuration until the pool is full or the time budget is spent.
+     * The candidate being verified when the budget is spent is continued by the next call.
+     *
+     * @param budgetNanos The time to spend, in nanoseconds.
+     * @return True if the pool is still not full.
+     */
+    public boolean refill(long budgetNanos) {
+        final long deadline = System.nanoTime() + budgetNanos;
+        while (!this.isFull()) {
+            if (!this.verifying) {
+                this.candidateSeed = this.random.nextLong();
+                this.candidateStart = this.random.nextInt(this.config.getTotalSpaces());
+                this.generator.begin(this.config, this.candidateSeed, this.candidateStart);
+                this.verifying = true;
+            }
+            if (!this.generator.verify(deadline)) {
+                return true;
+            }
+            this.verifying = false;
+            final Pool pool = this.pool(this.config);
+            if (this.generator.isWon()) {
+                pool.entries.add(new Entry(this.candidateSeed, this.candidateStart, this.opening(this.candidateSeed, this.candidateStart)));
+                pool.failures = 0;
+            } else {
+                pool.failures++;
+            }
+            if (MinesweeperSolver.isPast(deadline)) {
+                return !this.isFull();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes a pooled board that can be started from the clicked space.
+     *
+     * @param config     The board configuration.
+     * @param clickIndex The index of the first clicked space.
+     * @return The code of the board with the start space to reveal, or null if no pooled board matches the click.
+     */
+    public BoardCode take(BoardConfig config, int clickIndex) {
+        final List<Entry> pool = this.pool(config).entries;
+        final int rows = config.getRows();
+        final int cols = config.getCols();
+        final int symmetries = BoardSymmetry.count(rows, cols);
+        for (int i = 0; i < pool.size(); i++) {
+            Entry entry = pool.get(i);
+            for (int symmetry = 0; symmetry < symmetries; symmetry++) {
+                if (entry.canStartFrom(BoardSymmetry.invert(symmetry, clickIndex, rows, cols))) {
+                    pool.remove(i);
+                    int start = BoardSymmetry.apply(symmetry, entry.start, rows, cols);
+                    return new BoardCode(entry.seed, rows, cols, config.getMines(), start, symmetry);
+                }
+            }
+        }
+        return null;
+    }
+
+    private Pool pool(BoardConfig config) {
+        return this.pools.computeIfAbsent(key(config), key -> new Pool());
+    }
+
+    /**
+     * Collects the empty spaces revealed by the start space of a board.
+     */
+    private long[] opening(long seed, int start) {
+        this.engine.newGame(this.config, seed);
+        this.engine.reveal(start);
+        final long[] starts = new long[(this.config.getTotalSpaces() + 63) >>> 6];
+        final int[] changed = this.engine.getChanged();
+        for (int i = 0; i < this.engine.getChangedCount(); i++) {
+            if (this.engine.getNumAdjacentMines(changed[i]) == 0) {
+                starts[changed[i] >>> 6] |= 1L << changed[i];
+            }
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,57 @@
+package minesweeper;
+
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws the tiles of the Minesweeper board and forwards the mouse input on them to the {@link Controller}.
+ * Tiles are addressed by their space index ({@code row * cols + col}) and drawn with a {@link Tile} state.
+ */
+public interface BoardRenderer {
+
+    /**
+     * Gets the node displaying the board.
+     *
+     * @return The board node.
+     */
+    Node getNode();
+
+    /**
+     * Sets the visual state of a single tile.
+     *
+     * @param index The index of the space.
+     * @param tile  The tile state.
+     */
+    void setTile(int index, int tile);
+
+    /**
+     * Sets all tiles to the same visual state.
+     *
+     * @param tile The tile state.
+     */
+    void fill(int tile);
+
+    /**
+     * Shades a tile with the probability that its space is a mine, over its visual state.
+     *
+     * @param index       The index of the space.
+     * @param probability The probability between 0 and 1, or NaN to remove the shade.
+     */
+    void setOverlay(int index, double probability);
+
+    /**
+     * Redraws every tile with the current skin of the {@link SpriteAtlas}, keeping their visual states.
+     */
+    void refreshSkin();
+
+    /**
+     * Gets the shade of a mine probability, from green for a safe space to red for a mine.
+     *
+     * @param probability The probability between 0 and 1.
+     * @return The translucent color drawn over the tile.
+     */
+    static Color overlayColor(double probability) {
+        int red = (int) Math.round(255 * probability);
+        return Color.rgb(red, 255 - red, 0, 0.5);
+    }
+}
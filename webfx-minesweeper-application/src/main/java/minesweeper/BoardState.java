@@ -0,0 +1,196 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * Compact state of a Minesweeper board.
+ * Every cell is packed into a single byte of a flat array indexed by {@code row * cols + col}:
+ * the low nibble holds the number of adjacent mines and the high bits hold the mine, flag and revealed states.
+ */
+public final class BoardState {
+    private static final int ADJACENT_MASK = 0x0F;
+    private static final int MINE = 0x10;
+    private static final int FLAGGED = 0x20;
+    private static final int REVEALED = 0x40;
+
+    private final int rows;
+    private final int cols;
+    private final byte[] cells;
+
+    /**
+     * Constructor for the BoardState class. All cells start empty, covered and unflagged.
+     *
+     * @param rows The number of rows of the board.
+     * @param cols The number of columns of the board.
+     */
+    public BoardState(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = new byte[rows * cols];
+    }
+
+    /**
+     * Resets all cells to empty, covered and unflagged.
+     */
+    public void clear() {
+        Arrays.fill(this.cells, (byte) 0);
+    }
+
+    /**
+     * Copies all cells of another board of the same size into this board.
+     *
+     * @param other The board to copy.
+     * @throws IllegalArgumentException if the boards don't have the same size.
+     */
+    public void copyFrom(BoardState other) {
+        if (other.rows != this.rows || other.cols != this.cols) {
+            throw new IllegalArgumentException("Cannot copy a " + other.rows + "x" + other.cols + " board into a " + this.rows + "x" + this.cols + " board");
+        }
+        System.arraycopy(other.cells, 0, this.cells, 0, this.cells.length);
+    }
+
+    /**
+     * Gets the number of rows of the board.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the number of columns of the board.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * Gets the total number of cells of the board.
+     *
+     * @return The number of cells.
+     */
+    public int getSize() {
+        return this.cells.length;
+    }
+
+    /**
+     * Gets the cell index of the given coordinates.
+     *
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     * @return The cell index.
+     */
+    public int index(int row, int col) {
+        return row * this.cols + col;
+    }
+
+    /**
+     * Gets the row of the given cell index.
+     *
+     * @param index The cell index.
+     * @return The row of the cell.
+     */
+    public int rowOf(int index) {
+        return index / this.cols;
+    }
+
+    /**
+     * Gets the column of the given cell index.
+     *
+     * @param index The cell index.
+     * @return The column of the cell.
+     */
+    public int colOf(int index) {
+        return index % this.cols;
+    }
+
+    /**
+     * Checks if the cell is a mine.
+     *
+     * @param index The cell index.
+     * @return True if the cell is a mine, false otherwise.
+     */
+    public boolean isMine(int index) {
+        return (this.cells[index] & MINE) != 0;
+    }
+
+    /**
+     * Checks if the cell is flagged.
+     *
+     * @param index The cell index.
+     * @return True if the cell is flagged, false otherwise.
+     */
+    public boolean isFlagged(int index) {
+        return (this.cells[index] & FLAGGED) != 0;
+    }
+
+    /**
+     * Checks if the cell is revealed.
+     *
+     * @param index The cell index.
+     * @return True if the cell is revealed, false otherwise.
+     */
+    public boolean isRevealed(int index) {
+        return (this.cells[index] & REVEALED) != 0;
+    }
+
+    /**
+     * Gets the number of mines adjacent to the cell.
+     *
+     * @param index The cell index.
+     * @return The number of adjacent mines.
+     */
+    public int getNumAdjacentMines(int index) {
+        return this.cells[index] & ADJACENT_MASK;
+    }
+
+    /**
+     * Marks the cell as revealed.
+     *
+     * @param index The cell index.
+     */
+    public void setRevealed(int index) {
+        this.cells[index] |= REVEALED;
+    }
+
+    /**
+     * Sets the flagged state of the cell.
+     *
+     * @param index   The cell index.
+     * @param flagged The new flagged state.
+     */
+    public void setFlagged(int index, boolean flagged) {
+        if (flagged) {
+            this.cells[index] |= FLAGGED;
+        } else {
+            this.cells[index] &= ~FLAGGED;
+        }
+    }
+
+    /**
+     * Places a mine on the cell and increments the adjacent mine count of its neighbors.
+     *
+     * @param index The cell index. Must not already be a mine.
+     */
+    public void placeMine(int index) {
+        this.cells[index] |= MINE;
+
+        final int row = this.rowOf(index);
+        final int col = this.colOf(index);
+        final int minRow = Math.max(row - 1, 0);
+        final int maxRow = Math.min(row + 1, this.rows - 1);
+        final int minCol = Math.max(col - 1, 0);
+        final int maxCol = Math.min(col + 1, this.cols - 1);
+        for (int i = minRow; i <= maxRow; i++) {
+            int rowStart = i * this.cols;
+            for (int j = minCol; j <= maxCol; j++) {
+                if (i != row || j != col) {
+                    this.cells[rowStart + j]++;
+                }
+            }
+        }
+    }
+}
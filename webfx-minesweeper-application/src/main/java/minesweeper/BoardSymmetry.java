@@ -0,0 +1,92 @@
+package minesweeper;
+
+/**
+ * Symmetries of a board: mirroring the columns, the rows, and on square boards swapping rows and columns.
+ * A symmetry is encoded as a small int whose bits select each operation, 0 being the identity.
+ * Mirrored boards play exactly like the original one, which lets one generated board serve several first clicks.
+ */
+public final class BoardSymmetry {
+    public static final int IDENTITY = 0;
+    public static final int FLIP_COLUMNS = 1;
+    public static final int FLIP_ROWS = 2;
+    public static final int TRANSPOSE = 4;
+
+    private BoardSymmetry() {
+    }
+
+    /**
+     * Gets the number of symmetries of a board: 8 for a square board, 4 otherwise.
+     * The symmetries of the board are the values from 0 to this count excluded.
+     *
+     * @param rows The number of rows of the board.
+     * @param cols The number of columns of the board.
+     * @return The number of symmetries.
+     */
+    public static int count(int rows, int cols) {
+        return rows == cols ? 8 : 4;
+    }
+
+    /**
+     * Checks if a value is a symmetry of a board.
+     *
+     * @param symmetry The symmetry.
+     * @param rows     The number of rows of the board.
+     * @param cols     The number of columns of the board.
+     * @return True if the symmetry can be applied to the board.
+     */
+    public static boolean isValid(int symmetry, int rows, int cols) {
+        return symmetry >= 0 && symmetry < count(rows, cols);
+    }
+
+    /**
+     * Maps a space of the original board to the mirrored board: transposes first, then mirrors the columns and rows.
+     *
+     * @param symmetry The symmetry.
+     * @param index    The index of the space on the original board.
+     * @param rows     The number of rows of the board.
+     * @param cols     The number of columns of the board.
+     * @return The index of the space on the mirrored board.
+     */
+    public static int apply(int symmetry, int index, int rows, int cols) {
+        int row = index / cols;
+        int col = index - row * cols;
+        if ((symmetry & TRANSPOSE) != 0) {
+            int swap = row;
+            row = col;
+            col = swap;
+        }
+        if ((symmetry & FLIP_COLUMNS) != 0) {
+            col = cols - 1 - col;
+        }
+        if ((symmetry & FLIP_ROWS) != 0) {
+            row = rows - 1 - row;
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Maps a space of the mirrored board back to the original board.
+     *
+     * @param symmetry The symmetry.
+     * @param index    The index of the space on the mirrored board.
+     * @param rows     The number of rows of the board.
+     * @param cols     The number of columns of the board.
+     * @return The index of the space on the original board.
+     */
+    public static int invert(int symmetry, int index, int rows, int cols) {
+        int row = index / cols;
+        int col = index - row * cols;
+        if ((symmetry & FLIP_ROWS) != 0) {
+            row = rows - 1 - row;
+        }
+        if ((symmetry & FLIP_COLUMNS) != 0) {
+            col = cols - 1 - col;
+        }
+        if ((symmetry & TRANSPOSE) != 0) {
+            int swap = row;
+            row = col;
+            col = swap;
+        }
+        return row * cols + col;
+    }
+}
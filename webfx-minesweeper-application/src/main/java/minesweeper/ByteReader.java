@@ -0,0 +1,108 @@
+package minesweeper;
+
+/**
+ * Reads the compact binary formats written by {@link ByteWriter}.
+ */
+public final class ByteReader {
+    private final byte[] bytes;
+    private int position;
+
+    /**
+     * Constructor for the ByteReader class.
+     *
+     * @param bytes The bytes to read.
+     */
+    public ByteReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Checks if there are bytes left to read.
+     *
+     * @return True if the end of the bytes is not reached.
+     */
+    public boolean hasRemaining() {
+        return this.position < this.bytes.length;
+    }
+
+    /**
+     * Gets the current read position.
+     *
+     * @return The number of bytes read so far.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Moves the read position.
+     *
+     * @param position The new read position.
+     */
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    /**
+     * Reads a single unsigned byte.
+     *
+     * @return The byte value between 0 and 255.
+     * @throws IllegalArgumentException if the end of the bytes is reached.
+     */
+    public int readByte() {
+        if (this.position >= this.bytes.length) {
+            throw new IllegalArgumentException("Unexpected end of data");
+        }
+        return this.bytes[this.position++] & 0xFF;
+    }
+
+    /**
+     * Reads an int written as a varint.
+     *
+     * @return The value read.
+     * @throws IllegalArgumentException if the data is truncated or malformed.
+     */
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = this.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads a long written as a varint.
+     *
+     * @return The value read.
+     * @throws IllegalArgumentException if the data is truncated or malformed.
+     */
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = this.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads a long written as 8 bytes.
+     *
+     * @return The value read.
+     * @throws IllegalArgumentException if the data is truncated.
+     */
+    public long readLong() {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value |= (long) this.readByte() << (i * 8);
+        }
+        return value;
+    }
+}
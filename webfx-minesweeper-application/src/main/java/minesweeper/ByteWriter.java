@@ -0,0 +1,117 @@
+package minesweeper;
+
+/**
+ * Growable byte buffer writing the compact binary formats of the game (board codes, replays, saved games).
+ * Integers are written as unsigned LEB128 varints, so small values take a single byte.
+ */
+public final class ByteWriter {
+    private byte[] bytes;
+    private int size;
+
+    /**
+     * Constructor for the ByteWriter class.
+     */
+    public ByteWriter() {
+        this(32);
+    }
+
+    /**
+     * Constructor for the ByteWriter class.
+     *
+     * @param capacity The initial capacity in bytes.
+     */
+    public ByteWriter(int capacity) {
+        this.bytes = new byte[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value The byte to write (only the low 8 bits are kept).
+     * @return This writer.
+     */
+    public ByteWriter writeByte(int value) {
+        if (this.size == this.bytes.length) {
+            byte[] grown = new byte[this.bytes.length * 2];
+            System.arraycopy(this.bytes, 0, grown, 0, this.size);
+            this.bytes = grown;
+        }
+        this.bytes[this.size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * Writes a non-negative int as a varint of 1 to 5 bytes.
+     *
+     * @param value The value to write.
+     * @return This writer.
+     */
+    public ByteWriter writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            this.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        return this.writeByte(value);
+    }
+
+    /**
+     * Writes a long as a varint of 1 to 10 bytes.
+     *
+     * @param value The value to write.
+     * @return This writer.
+     */
+    public ByteWriter writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            this.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        return this.writeByte((int) value);
+    }
+
+    /**
+     * Writes a long as 8 bytes, least significant first.
+     *
+     * @param value The value to write.
+     * @return This writer.
+     */
+    public ByteWriter writeLong(long value) {
+        for (int i = 0; i < 8; i++) {
+            this.writeByte((int) (value >>> (i * 8)));
+        }
+        return this;
+    }
+
+    /**
+     * Writes all the bytes of an array.
+     *
+     * @param values The bytes to write.
+     * @param length The number of bytes to write.
+     * @return This writer.
+     */
+    public ByteWriter writeBytes(byte[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            this.writeByte(values[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Gets the number of bytes written.
+     *
+     * @return The number of bytes.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets a copy of the bytes written.
+     *
+     * @return The written bytes.
+     */
+    public byte[] toByteArray() {
+        byte[] result = new byte[this.size];
+        System.arraycopy(this.bytes, 0, result, 0, this.size);
+        return result;
+    }
+}
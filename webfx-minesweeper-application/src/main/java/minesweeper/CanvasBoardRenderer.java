@@ -0,0 +1,178 @@
+package minesweeper;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+
+import java.util.Arrays;
+
+/**
+ * Board renderer drawing the whole board onto a single Canvas.
+ * Only the rectangle of a changed tile is repainted, and the mouse input is mapped back to spaces from the
+ * event coordinates, so the scene graph holds one node whatever the size of the board.
+ */
+public class CanvasBoardRenderer implements BoardRenderer {
+    private static final int TILE_GAP = 2;
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final int rows;
+    private final int cols;
+    private final int tileSize;
+    private final Controller controller;
+    private final byte[] tiles;
+    // Allocated when the first shade is set
+    private double[] overlay;
+    private int pressedIndex = -1;
+    // Atlas still loading when the board was last repainted, listened to until it is loaded
+    private Image loadingImage;
+    private final ChangeListener<Number> loadListener = (observable, oldValue, newValue) -> {
+        if (newValue.doubleValue() >= 1) {
+            this.stopListening();
+            this.repaint();
+        }
+    };
+
+    /**
+     * Constructor for the CanvasBoardRenderer class.
+     *
+     * @param rows       The number of rows of the board.
+     * @param cols       The number of columns of the board.
+     * @param tileSize   The size of each tile.
+     * @param controller The controller receiving the mouse input.
+     */
+    public CanvasBoardRenderer(int rows, int cols, int tileSize, Controller controller) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        this.controller = controller;
+        this.tiles = new byte[rows * cols];
+        this.canvas = new Canvas(Math.max(0, cols * (tileSize + TILE_GAP) - TILE_GAP), Math.max(0, rows * (tileSize + TILE_GAP) - TILE_GAP));
+        this.gc = this.canvas.getGraphicsContext2D();
+        this.canvas.setOnMousePressed(this::onMousePressed);
+        this.canvas.setOnMouseReleased(this::onMouseReleased);
+    }
+
+    @Override
+    public Node getNode() {
+        return this.canvas;
+    }
+
+    @Override
+    public void setTile(int index, int tile) {
+        this.tiles[index] = (byte) tile;
+        this.drawTile(index, tile);
+    }
+
+    @Override
+    public void fill(int tile) {
+        Arrays.fill(this.tiles, (byte) tile);
+        this.repaintWhenLoaded();
+    }
+
+    @Override
+    public void refreshSkin() {
+        this.repaintWhenLoaded();
+    }
+
+    /**
+     * Repaints the whole board now, and again once the atlas is loaded if it is still loading in the browser.
+     * A single listener is kept, on the atlas of the last repaint, and it is removed once that atlas is loaded.
+     */
+    private void repaintWhenLoaded() {
+        this.repaint();
+        Image image = SpriteAtlas.getImage();
+        if (image.getProgress() >= 1) {
+            this.stopListening();
+        } else if (image != this.loadingImage) {
+            this.stopListening();
+            this.loadingImage = image;
+            image.progressProperty().addListener(this.loadListener);
+        }
+    }
+
+    private void stopListening() {
+        if (this.loadingImage != null) {
+            this.loadingImage.progressProperty().removeListener(this.loadListener);
+            this.loadingImage = null;
+        }
+    }
+
+    @Override
+    public void setOverlay(int index, double probability) {
+        if (this.overlay == null) {
+            if (Double.isNaN(probability)) {
+                return;
+            }
+            this.overlay = new double[this.tiles.length];
+            Arrays.fill(this.overlay, Double.NaN);
+        }
+        this.overlay[index] = probability;
+        this.drawTile(index, this.tiles[index]);
+    }
+
+    /**
+     * Repaints the whole board from the current tile states.
+     */
+    private void repaint() {
+        // The gaps between the tiles show the same grey as the game area around the board
+        this.gc.setFill(javafx.scene.paint.Color.rgb(153, 153, 153));
+        this.gc.fillRect(0, 0, this.canvas.getWidth(), this.canvas.getHeight());
+        for (int index = 0; index < this.tiles.length; index++) {
+            this.drawTile(index, this.tiles[index]);
+        }
+    }
+
+    private void drawTile(int index, int tile) {
+        int row = index / this.cols;
+        int col = index - row * this.cols;
+        double x = col * (this.tileSize + TILE_GAP);
+        double y = row * (this.tileSize + TILE_GAP);
+        SpriteAtlas.drawTile(this.gc, tile, x, y, this.tileSize);
+        if (this.overlay != null && !Double.isNaN(this.overlay[index])) {
+            this.gc.setFill(BoardRenderer.overlayColor(this.overlay[index]));
+            this.gc.fillRect(x, y, this.tileSize, this.tileSize);
+        }
+    }
+
+    /**
+     * Gets the index of the space under the given canvas coordinates.
+     *
+     * @return The index of the space, or -1 if the coordinates are outside the board or in a gap between tiles.
+     */
+    private int indexAt(double x, double y) {
+        int step = this.tileSize + TILE_GAP;
+        int col = (int) Math.floor(x / step);
+        int row = (int) Math.floor(y / step);
+        if (row < 0 || row >= this.rows || col < 0 || col >= this.cols || x - col * step >= this.tileSize || y - row * step >= this.tileSize) {
+            return -1;
+        }
+        return row * this.cols + col;
+    }
+
+    private void onMousePressed(MouseEvent event) {
+        // Handle both left and right mouse button presses
+        if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
+            this.pressedIndex = this.indexAt(event.getX(), event.getY());
+            if (this.pressedIndex >= 0) {
+                this.controller.spaceClickDown(this.pressedIndex, event.getButton() == MouseButton.PRIMARY);
+            }
+        }
+    }
+
+    private void onMouseReleased(MouseEvent event) {
+        // Handle both left and right mouse button releases, which are a click when still over the pressed tile
+        if ((event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) && this.pressedIndex >= 0) {
+            int index = this.pressedIndex;
+            this.pressedIndex = -1;
+            this.controller.spaceClickUp(index);
+            if (this.indexAt(event.getX(), event.getY()) == index) {
+                this.controller.onSpaceClicked(index, event.getButton() == MouseButton.PRIMARY);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package minesweeper;
 
+import dev.webfx.platform.storage.LocalStorage;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.scene.image.Image;
@@ -7,22 +9,23 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
-import javafx.util.Pair;
 
-import java.util.*;
+import java.util.Arrays;
 
 /**
- * Controller class for the Minesweeper game. Handles all the game logic and states.
+ * Controller class for the Minesweeper game. Connects the user interface to the game rules of the
+ * {@link MinesweeperEngine}: forwards the mouse input to it, draws the spaces it changed and updates the header.
  */
 public class Controller {
-    private Difficulty difficulty;
-    private int clickedSpaces = 0;
-    private int flaggedMines = 0;
-    private int time = 0;
-
-    private boolean gameStarted = false;
-    private boolean gameOver = false;
-    private boolean gameWon = false;
+    private static final String SAVE_KEY = "minesweeper.game";
+    // Changes within this delay are saved together
+    private static final int SAVE_DELAY_MILLIS = 500;
+    // The elapsed time alone is saved every few seconds
+    private static final int SAVE_TIME_INTERVAL = 5;
+
+    private BoardConfig config;
+    private final GameClock clock = new GameClock(this::updateTimeElapsed);
+
     private boolean gamePaused = false;
 
     private final ImageView[] minesLeft = new ImageView[3];
@@ -31,24 +34,59 @@ public class Controller {
     private VBox highScoreInput;
     private Text highScoreText;
 
-    private final Map<ImageView, Pair<Integer, Integer>> boardMap;
-    private final Map<Pair<Integer, Integer>, ImageView> coordMap;
-
-    private SpaceItem[][] boardState;
-    private Set<Pair<Integer, Integer>> isMineMap;
-    private Random rand;
-    private final Timeline timeline;
+    private BoardRenderer renderer;
+
+    private final MinesweeperEngine engine = new MinesweeperEngine();
+    private final MinesweeperSolver solver = new MinesweeperSolver();
+    private final NoGuessGenerator noGuessGenerator = new NoGuessGenerator();
+    private boolean noGuess = false;
+    // True while the classic board is shown, false in the endless mode
+    private boolean active = false;
+    private final BoardPool boardPool = new BoardPool();
+    private static final long POOL_REFILL_NANOS = 4_000_000;
+    // Refills the board pool a few milliseconds per frame, until it is full or given up
+    private final AnimationTimer poolTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (!boardPool.refill(POOL_REFILL_NANOS)) {
+                this.stop();
+            }
+        }
+    };
+    private final MineProbabilities probabilities = new MineProbabilities();
+    private boolean showProbabilities = false;
+    // Probabilities shown on the board, and the revealed spaces they were computed for
+    private double[] overlay;
+    private int overlayRevealed = -1;
+    private boolean overlayCleared = true;
+    private final ReplayRecorder recorder = new ReplayRecorder();
+    // Clicks of the player on the board in the current game, for the efficiency of the statistics
+    private int clicks;
+    private Replay lastReplay;
+    private ReplayPlayer replayPlayer;
+    private static final double MIN_REPLAY_SPEED = 0.25;
+    private static final double MAX_REPLAY_SPEED = 16;
+    private double replaySpeed = 1;
+    private boolean replayPaused;
+    // Time in the replay in milliseconds, and time of the last frame in nanoseconds
+    private double replayTime;
+    private long replayFrame;
+    private final AnimationTimer replayTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            advanceReplay(now);
+        }
+    };
+    private final Timeline saveTimeline;
+    private boolean saveScheduled;
+    // Games resumed from a snapshot have no recording of their first moves
+    private boolean replayable = true;
 
     /**
      * Constructor for the Controller class.
      */
     public Controller() {
-        this.boardMap = new HashMap<>(); // Image view stays the same, so no need to reinitialize every game
-        this.coordMap = new HashMap<>();
-
-        // Initialize the timer
-        this.timeline = new Timeline(new KeyFrame(Duration.seconds(1), event -> this.updateTimeElapsed()));
-        this.timeline.setCycleCount(Timeline.INDEFINITE);
+        this.saveTimeline = new Timeline(new KeyFrame(Duration.millis(SAVE_DELAY_MILLIS), event -> this.saveGame()));
     }
 
     /**
@@ -56,185 +94,148 @@ public class Controller {
      */
     public void setup() {
         // Reset the game state
-        this.clickedSpaces = 0;
-        this.flaggedMines = 0;
-        this.gameStarted = false;
-        this.gameOver = false;
-        this.gameWon = false;
+        this.stopReplay();
+        this.recorder.clear();
+        this.replayable = true;
+        this.clicks = 0;
+        this.clearSavedGame();
         this.gamePaused = false;
-        this.rand = new Random();
-        this.timeline.stop();
-
-        this.time = -1;
-        this.updateTimeElapsed();
-
-        final int rows = this.difficulty.getRows();
-        final int cols = this.difficulty.getCols();
-
-        // Initialize the default board state
-        this.boardState = new SpaceItem[rows][cols];
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                this.boardState[row][col] = new SpaceItem();
-            }
-        }
-
-        this.setNumMinesLeft(this.difficulty.getMines());
-        this.smileyImage.setImage(ImagePreloader.getImage("images/minesweeper-basic/face-smile.png"));
-        for (ImageView imageView : this.boardMap.keySet()) {
-            imageView.setImage(SpaceItem.getCoverImage());
-        }
+        this.engine.newGame(this.config, SplitMix64.randomSeed());
+        this.clock.reset(0);
+        this.refillBoardPool();
+
+        this.setNumMinesLeft(this.config.getMines());
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_SMILE);
+        this.renderer.fill(Tile.COVER);
+        this.updateOverlay();
     }
 
     /**
      * Pauses the game if possible.
      */
     public void pauseGame() {
-        if (this.gameOver || this.gameWon || !this.gameStarted || this.gamePaused) {
+        if (this.engine.getState() != GameState.PLAYING || this.gamePaused) {
             return;
         }
 
         this.gamePaused = true;
-        this.timeline.pause();
+        this.clock.stop();
     }
 
     /**
      * Resumes the game if previously paused.
      */
     public void resumeGame() {
-        if (this.gameOver || this.gameWon || !this.gameStarted || !this.gamePaused) {
+        if (this.engine.getState() != GameState.PLAYING || !this.gamePaused) {
             return;
         }
 
         this.gamePaused = false;
-        this.timeline.play();
+        this.clock.start();
     }
 
     /**
-     * Clears the board map.
+     * Sets the renderer drawing the board. The renderer stays the same between games of the same board.
+     * Tile changes are queued and applied to it once per frame, see {@link BatchedBoardRenderer}.
+     *
+     * @param renderer The board renderer.
      */
-    public void clearBoardMap() {
-        this.boardMap.clear();
-        this.coordMap.clear();
+    public void setRenderer(BoardRenderer renderer) {
+        this.stopReplay();
+        this.renderer = new BatchedBoardRenderer(renderer, this.config.getTotalSpaces());
+        this.overlay = null;
+        this.overlayRevealed = -1;
+        this.overlayCleared = true;
     }
 
     /**
-     * Prints the board to the console.
+     * Shows the seconds played in the header display, called by the clock each time they change.
+     *
+     * @param seconds The whole seconds played.
      */
-    private void printBoard() {
-        final int rows = this.difficulty.getRows();
-        final int cols = this.difficulty.getCols();
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                System.out.print((this.boardState[i][j].isMine() ? "X" : this.boardState[i][j].getNumAdjacentMines()) + " ");
-            }
-            System.out.println();
+    private void updateTimeElapsed(int seconds) {
+        DigitDisplay.show(this.timeElapsed, seconds);
+        if (seconds % SAVE_TIME_INTERVAL == 0 && this.engine.getState() == GameState.PLAYING) {
+            this.scheduleSave();
         }
-        System.out.println();
     }
 
     /**
-     * Updates the time elapsed and updates the header display.
+     * Loads the game saved in the browser storage, if any. An invalid save is removed.
+     *
+     * @return The snapshot of the saved game, or null if there is none.
      */
-    public void updateTimeElapsed() {
-        this.time++;
-        if (this.time > 999) {
-            this.time = 999;
+    public static GameSnapshot loadSavedGame() {
+        String saved = LocalStorage.getItem(SAVE_KEY);
+        if (saved == null || saved.isEmpty()) {
+            return null;
+        }
+        try {
+            return GameSnapshot.decode(saved);
+        } catch (IllegalArgumentException e) {
+            LocalStorage.removeItem(SAVE_KEY);
+            return null;
         }
-
-        int hundreds = this.time / 100;
-        int tens = (this.time % 100) / 10;
-        int ones = this.time % 10;
-
-        this.timeElapsed[0].setImage(ImagePreloader.getImage("images/digits/" + hundreds + ".png"));
-        this.timeElapsed[1].setImage(ImagePreloader.getImage("images/digits/" + tens + ".png"));
-        this.timeElapsed[2].setImage(ImagePreloader.getImage("images/digits/" + ones + ".png"));
     }
 
     /**
-     * Sets the number of mines left in the header display.
+     * Resumes a saved game. The board must already be set up with the configuration of the snapshot.
      *
-     * @param numMinesLeft The number of mines left.
+     * @param snapshot The snapshot of the game.
+     * @return False if the snapshot doesn't hold a game in progress, in which case a new game stays ready.
      */
-    private void setNumMinesLeft(int numMinesLeft) {
-        int hundreds = numMinesLeft / 100;
-        int tens = Math.abs((numMinesLeft % 100) / 10);
-        int ones = Math.abs(numMinesLeft % 10);
-        if (numMinesLeft < 0) {
-            this.minesLeft[0].setImage(ImagePreloader.getImage("images/digits/neg.png"));
-        } else {
-            this.minesLeft[0].setImage(ImagePreloader.getImage("images/digits/" + hundreds + ".png"));
-        }
-        this.minesLeft[1].setImage(ImagePreloader.getImage("images/digits/" + tens + ".png"));
-        this.minesLeft[2].setImage(ImagePreloader.getImage("images/digits/" + ones + ".png"));
+    public boolean resumeSavedGame(GameSnapshot snapshot) {
+        try {
+            this.engine.restore(snapshot);
+        } catch (IllegalArgumentException e) {
+            this.setup();
+            return false;
+        }
+        this.replayable = false;
+        this.clock.reset(snapshot.getTimeMillis());
+        this.drawBoard(this.engine);
+        this.updateOverlay();
+        this.clock.start();
+        this.scheduleSave();
+        return true;
     }
 
     /**
-     * Updates the number of adjacent mines for the given cell with a mine.
-     *
-     * @param row The row of the cell with the mine.
-     * @param col The column of the cell with the mine.
+     * Saves the game after a short delay, so that the changes made meanwhile are saved at once.
      */
-    private void updateMineNeighbors(int row, int col) {
-        int maxRow = this.difficulty.getRows();
-        int maxCol = this.difficulty.getCols();
-        for (int i = row - 1; i <= row + 1; i++) {
-            for (int j = col - 1; j <= col + 1; j++) {
-                if (i >= 0 && i < maxRow && j >= 0 && j < maxCol && !(i == row && j == col)) {
-                    if (!this.boardState[i][j].isMine()) {
-                        this.boardState[i][j].addAdjacentMine();
-                    }
-                }
-            }
+    private void scheduleSave() {
+        if (!this.saveScheduled) {
+            this.saveScheduled = true;
+            this.saveTimeline.playFromStart();
         }
     }
 
     /**
-     * Adds mines to the board.
+     * Saves the game in progress in the browser storage, or removes the saved game once it is over.
      */
-    private void addMines(ImageView clickImage) {
-        if (this.isMineMap == null) {
-            this.isMineMap = new HashSet<>();
-        }
-        this.isMineMap.clear();
-
-        Pair<Integer, Integer> clickCoords = this.boardMap.get(clickImage);
-        final int clickRow = clickCoords.getKey();
-        final int clickCol = clickCoords.getValue();
-        for (int i = 0; i < this.difficulty.getMines(); i++) {
-            int row = 0;
-            int col = 0;
-            do {
-                row = this.rand.nextInt(this.difficulty.getRows());
-                col = this.rand.nextInt(this.difficulty.getCols());
-            }
-            while (this.isMineMap.contains(new Pair<>(row, col))
-                    ||
-                    // Ensure that the first click is not a mine and its neighbors are not mines (so the first click is 0)
-                    ((row == clickRow - 1 || row == clickRow || row == clickRow + 1) &&
-                    (col == clickCol - 1 || col == clickCol || col == clickCol + 1)));
-
-            this.isMineMap.add(new Pair<>(row, col));
-            this.boardState[row][col].setMine(true);
-
-            // Update the number of adjacent mines for each space
-            this.updateMineNeighbors(row, col);
+    private void saveGame() {
+        this.saveScheduled = false;
+        if (this.engine.getState() == GameState.PLAYING && GameSnapshot.supports(this.config)) {
+            LocalStorage.setItem(SAVE_KEY, GameSnapshot.of(this.engine, this.clock.getElapsedMillis()).encode());
+        } else {
+            LocalStorage.removeItem(SAVE_KEY);
         }
+    }
 
-        // Start the timer
-        this.timeline.play();
-        printBoard();
+    private void clearSavedGame() {
+        this.saveTimeline.stop();
+        this.saveScheduled = false;
+        LocalStorage.removeItem(SAVE_KEY);
     }
 
     /**
-     * Adds an ImageView and its coordinates to the board map.
+     * Sets the number of mines left in the header display.
      *
-     * @param imageView The ImageView to add.
-     * @param coords    The coordinates of the ImageView.
+     * @param numMinesLeft The number of mines left.
      */
-    public void addToBoardMap(ImageView imageView, Pair<Integer, Integer> coords) {
-        this.boardMap.put(imageView, coords);
-        this.coordMap.put(coords, imageView);
+    private void setNumMinesLeft(int numMinesLeft) {
+        // Large custom boards can have more mines than the display can show
+        DigitDisplay.show(this.minesLeft, numMinesLeft);
     }
 
     /**
@@ -261,25 +262,128 @@ public class Controller {
      * @return The time elapsed in seconds.
      */
     public int getTimeElapsedSeconds() {
-        return this.time;
+        return this.clock.getElapsedSeconds();
+    }
+
+    /**
+     * Gets the time played in the current game, without the pauses. The time isn't capped like its display.
+     *
+     * @return The time played in milliseconds.
+     */
+    public long getTimeElapsedMillis() {
+        return this.clock.getElapsedMillis();
+    }
+
+    /**
+     * Gets the shareable code of the current board.
+     *
+     * @return The board code, or null if the mines are not placed yet.
+     */
+    public BoardCode getBoardCode() {
+        return this.engine.getBoardCode();
+    }
+
+    /**
+     * Replays the board of a code: generates the same mines and reveals the same first click.
+     * The board must already be set up with a configuration matching the code.
+     *
+     * @param code The board code to play.
+     */
+    public void playBoardCode(BoardCode code) {
+        this.engine.newGame(this.config, code.getSeed(), code.getSymmetry());
+        this.firstReveal(code.getClickIndex());
+    }
+
+    /**
+     * Sets whether new boards must be solvable without guessing. Only applies to boards small enough to be verified.
+     *
+     * @param noGuess True to generate no-guess boards.
+     */
+    public void setNoGuess(boolean noGuess) {
+        this.noGuess = noGuess;
+        this.refillBoardPool();
+    }
+
+    /**
+     * Refills the pool of no-guess boards in the background while a no-guess game is set up or played on the
+     * classic board and the pool isn't full, and stops refilling it otherwise.
+     */
+    private void refillBoardPool() {
+        if (this.noGuess && this.active && !this.engine.getState().isOver() && !this.boardPool.isFull()) {
+            this.poolTimer.start();
+        } else {
+            this.poolTimer.stop();
+        }
+    }
+
+    /**
+     * Stops the background work of the classic board, e.g. when leaving for the endless mode.
+     */
+    public void stop() {
+        this.active = false;
+        this.refillBoardPool();
+    }
+
+    /**
+     * Checks whether new boards must be solvable without guessing.
+     *
+     * @return True if no-guess boards are generated.
+     */
+    public boolean isNoGuess() {
+        return this.noGuess;
     }
 
     /**
      * Gets the difficulty level of the Minesweeper game.
      *
-     * @return The difficulty level.
+     * @return The difficulty level, or null for a custom board.
      */
     public Difficulty getDifficulty() {
-        return this.difficulty;
+        return this.config.getDifficulty();
+    }
+
+    /**
+     * Gets the board configuration of the Minesweeper game.
+     *
+     * @return The board configuration.
+     */
+    public BoardConfig getBoardConfig() {
+        return this.config;
     }
 
     /**
-     * Sets the difficulty level of the Minesweeper game.
+     * Gets the engine playing the game.
      *
-     * @param difficulty The difficulty level.
+     * @return The game engine.
      */
-    public void setDifficulty(Difficulty difficulty) {
-        this.difficulty = difficulty;
+    public MinesweeperEngine getEngine() {
+        return this.engine;
+    }
+
+    /**
+     * Sets the board configuration of the Minesweeper game.
+     *
+     * @param config The board configuration.
+     */
+    public void setBoardConfig(BoardConfig config) {
+        this.config = config;
+        this.active = true;
+        this.boardPool.setConfig(config);
+        this.refillBoardPool();
+    }
+
+    /**
+     * Redraws the board and the header with the current skin of the {@link SpriteAtlas}, without rebuilding them.
+     */
+    public void refreshSkin() {
+        for (int i = 0; i < 3; i++) {
+            SpriteAtlas.refresh(this.minesLeft[i]);
+            SpriteAtlas.refresh(this.timeElapsed[i]);
+        }
+        SpriteAtlas.refresh(this.smileyImage);
+        if (this.renderer != null) {
+            this.renderer.refreshSkin();
+        }
     }
 
     /**
@@ -302,241 +406,431 @@ public class Controller {
     }
 
     /**
-     * Sets the game state to game over and reveals all mines.
+     * Shows the game over state, the engine already reported the mines and wrong flags to redraw.
      */
     private void setGameOver() {
-        // Reveal all not found mines
-        this.gameOver = true;
-        for (Map.Entry<ImageView, Pair<Integer, Integer>> entry : this.boardMap.entrySet()) {
-            ImageView imageView = entry.getKey();
-            Pair<Integer, Integer> coords = entry.getValue();
-            SpaceItem space = this.boardState[coords.getKey()][coords.getValue()];
-            if (space.isMine() && !space.isRevealed() && !space.isFlagged()) {
-                imageView.setImage(SpaceItem.getUnrevealedMineImage());
-            }
-            else if (space.isFlagged() && !space.isMine()) {
-                imageView.setImage(ImagePreloader.getImage("images/minesweeper-basic/mine-misflagged.png"));
-            }
-        }
-        this.smileyImage.setImage(ImagePreloader.getImage("images/minesweeper-basic/face-dead.png"));
-        this.timeline.stop();
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_DEAD);
+        this.clock.stop();
+        this.lastReplay = this.replayable ? this.recorder.toReplay(this.engine.getBoardCode()) : null;
+        this.clearSavedGame();
+        this.recordStats();
+        this.refillBoardPool();
     }
 
     /**
      * Sets the game state to game won.
      */
     private void setGameWon() {
-        this.gameWon = true;
-        this.smileyImage.setImage(ImagePreloader.getImage("images/minesweeper-basic/face-win.png"));
-        this.timeline.stop();
-
-        if (HighScore.isHighScore(this.time, this.difficulty)) {
-            this.highScoreText.setText("You beat the high score for " + difficulty.getName() + "! Enter your name:");
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_WIN);
+        this.clock.stop();
+        this.lastReplay = this.replayable ? this.recorder.toReplay(this.engine.getBoardCode()) : null;
+        this.clearSavedGame();
+        this.recordStats();
+        this.refillBoardPool();
+
+        // High scores are only kept for the difficulty presets
+        Difficulty difficulty = this.config.getDifficulty();
+        HighScoreStore.load();
+        long timeMillis = this.getTimeElapsedMillis();
+        if (difficulty != null && HighScore.isHighScore(timeMillis, difficulty)) {
+            int rank = HighScore.getLeaderboard(difficulty).rank(timeMillis);
+            this.highScoreText.setText(HighScore.formatTime(timeMillis) + " is #" + (rank + 1)
+                + " for " + difficulty.getName() + "! Enter your name:");
             this.highScoreInput.setVisible(true);
         }
     }
 
+    /**
+     * Records the finished game in the statistics of its difficulty. The clicks of a resumed game are unknown.
+     */
+    private void recordStats() {
+        StatsStore.record(this.config.getDifficulty(), this.engine.getState() == GameState.WON,
+            this.clock.getElapsedMillis(), this.engine.getBbbv(), this.replayable ? this.clicks : 0);
+    }
+
     /**
      * Handles the event when a space is clicked.
      *
-     * @param imageView The ImageView representing the clicked space.
+     * @param index     The index of the clicked space.
+     * @param leftClick True if the left mouse button was clicked, false otherwise.
      */
-    public void onSpaceClicked(ImageView imageView, boolean leftClick) {
-        if (this.gameOver || this.gameWon) {
+    public void onSpaceClicked(int index, boolean leftClick) {
+        if (this.engine.getState().isOver() || this.isReplaying()) {
             return;
         }
-        this.spaceClicked(imageView, leftClick);
+        this.clicks++;
+        this.spaceClicked(index, leftClick);
     }
 
     /**
      * Handles the event when the mouse is pressed on a space.
      *
-     * @param imageView The ImageView representing the space.
+     * @param index     The index of the space.
      * @param leftClick True if the left mouse button was clicked, false otherwise.
      */
-    protected void spaceClickDown(ImageView imageView, boolean leftClick) {
-        if (this.gameOver || this.gameWon || !leftClick) {
+    protected void spaceClickDown(int index, boolean leftClick) {
+        if (this.engine.getState().isOver() || this.isReplaying() || !leftClick) {
             return;
         }
-        this.smileyImage.setImage(ImagePreloader.getImage("images/minesweeper-basic/face-O.png"));
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_SURPRISED);
 
-        Pair<Integer, Integer> coords = this.boardMap.get(imageView);
-        SpaceItem space = this.boardState[coords.getKey()][coords.getValue()];
-        if (!space.isRevealed() && !space.isFlagged()) {
-            imageView.setImage(SpaceItem.getNumImage(0));
+        if (!this.engine.isRevealed(index) && !this.engine.isFlagged(index)) {
+            this.renderer.setTile(index, Tile.PRESSED);
         }
     }
 
     /**
      * Handles the event when the mouse is released from a space.
      *
-     * @param imageView The ImageView representing the space.
+     * @param index The index of the space.
      */
-    protected void spaceClickUp(ImageView imageView) {
-        if (this.gameOver || this.gameWon) {
+    protected void spaceClickUp(int index) {
+        if (this.engine.getState().isOver() || this.isReplaying()) {
             return;
         }
-        this.smileyImage.setImage(ImagePreloader.getImage("images/minesweeper-basic/face-smile.png"));
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_SMILE);
 
-        Pair<Integer, Integer> coords = this.boardMap.get(imageView);
-        SpaceItem space = this.boardState[coords.getKey()][coords.getValue()];
-        if (!space.isRevealed() && !space.isFlagged()) {
-            imageView.setImage(SpaceItem.getCoverImage());
+        if (!this.engine.isRevealed(index) && !this.engine.isFlagged(index)) {
+            this.renderer.setTile(index, Tile.COVER);
         }
     }
 
     /**
-     * Handles the logic for placing a flag on a space.
-     *
-     * @param space     The space to place the flag on.
-     * @param imageView The ImageView representing the space.
+     * Plays a move the solver proves correct: reveals a safe space, or else flags a mine.
+     * Before the first click, reveals the center of the board. Does nothing if no move can be proven.
      */
-    private void handleFlag(SpaceItem space, ImageView imageView) {
-        // Don't allow more than 99 flags + mines if trying to place a flag (to avoid going below -99)
-        if ((this.flaggedMines >= this.difficulty.getMines() + 99 && !space.isFlagged()) || space.isRevealed()) {
+    public void hint() {
+        final GameState state = this.engine.getState();
+        if (state.isOver() || this.gamePaused) {
+            return;
+        }
+        if (state == GameState.READY) {
+            this.spaceClicked((this.config.getRows() / 2) * this.config.getCols() + this.config.getCols() / 2, true);
             return;
         }
 
-        space.setFlagged(!space.isFlagged());
-        if (space.isFlagged()) {
-            imageView.setImage(SpaceItem.getFlagImage());
-            this.flaggedMines++;
-        } else {
-            imageView.setImage(SpaceItem.getCoverImage());
-            this.flaggedMines--;
+        this.solver.solve(this.engine.getBoard());
+        for (int safe = this.solver.nextSafe(0); safe >= 0; safe = this.solver.nextSafe(safe + 1)) {
+            if (!this.engine.isFlagged(safe)) {
+                this.spaceClicked(safe, true);
+                return;
+            }
+        }
+        for (int mine = this.solver.nextMine(0); mine >= 0; mine = this.solver.nextMine(mine + 1)) {
+            if (!this.engine.isFlagged(mine)) {
+                this.handleFlag(mine);
+                return;
+            }
         }
-        this.setNumMinesLeft(this.difficulty.getMines() - this.flaggedMines);
     }
 
     /**
-     * Recursively reveals spaces on the board while adjacent spaces have no mines.
+     * Gets the solver used for hints.
+     *
+     * @return The solver.
+     */
+    public MinesweeperSolver getSolver() {
+        return this.solver;
+    }
+
+    /**
+     * Shows or hides the probability that each covered space is a mine.
+     */
+    public void toggleProbabilities() {
+        this.showProbabilities = !this.showProbabilities;
+        this.updateOverlay();
+    }
+
+    /**
+     * Checks whether the mine probabilities are shown.
      *
-     * @param row The row of the space to reveal.
-     * @param col The column of the space to reveal.
+     * @return True if the probabilities are shown.
      */
-    private void recursiveReveal(int row, int col) {
-        if (row < 0 || row >= this.difficulty.getRows() || col < 0 || col >= this.difficulty.getCols()) {
+    public boolean isShowingProbabilities() {
+        return this.showProbabilities;
+    }
+
+    /**
+     * Updates the shades of the mine probabilities while a game is played, and removes them otherwise.
+     * The probabilities don't depend on flags, so they are only computed again when more spaces are revealed,
+     * and only the tiles whose probability changed are redrawn. Boards too large for {@link MineProbabilities} are
+     * never shaded, and a cleared overlay isn't scanned again.
+     */
+    private void updateOverlay() {
+        final boolean visible = this.showProbabilities && MineProbabilities.supports(this.config)
+                && this.engine.getState() == GameState.PLAYING;
+        final int revealed = this.engine.getRevealedSpaces();
+        if (visible && revealed == this.overlayRevealed) {
             return;
         }
-
-        SpaceItem space = this.boardState[row][col];
-        if (space.isRevealed() || space.isFlagged()) {
+        if (!visible && this.overlayCleared) {
             return;
         }
-
-        if (this.revealSpace(space, this.coordMap.get(new Pair<>(row, col)))) {
+        if (this.overlay == null) {
+            this.overlay = new double[this.config.getTotalSpaces()];
+            Arrays.fill(this.overlay, Double.NaN);
+        }
+        final boolean known = visible && this.probabilities.update(this.engine.getBoard(), this.config.getMines());
+        this.overlayRevealed = known ? revealed : -1;
+        if (!known && this.overlayCleared) {
             return;
         }
-
-        if (space.getNumAdjacentMines() == 0) {
-            recursiveReveal(row - 1, col - 1);
-            recursiveReveal(row - 1, col);
-            recursiveReveal(row - 1, col + 1);
-            recursiveReveal(row, col - 1);
-            recursiveReveal(row, col + 1);
-            recursiveReveal(row + 1, col - 1);
-            recursiveReveal(row + 1, col);
-            recursiveReveal(row + 1, col + 1);
+        for (int index = 0; index < this.overlay.length; index++) {
+            double probability = known ? this.probabilities.get(index) : Double.NaN;
+            if (Double.compare(probability, this.overlay[index]) != 0) {
+                this.overlay[index] = probability;
+                this.renderer.setOverlay(index, probability);
+            }
         }
+        this.overlayCleared = !known;
     }
 
     /**
-     * Reveals the space and checks if the game is over or won.
+     * Handles the logic for placing a flag on a space.
      *
-     * @param space The space to check.
-     * @return True if the game is over, false otherwise.
+     * @param index The index of the space to place the flag on.
      */
-    private boolean revealSpace(SpaceItem space, ImageView imageView) {
-        space.setRevealed(true);
-        imageView.setImage(space.getRevealedImage());
+    private void handleFlag(int index) {
+        // Don't allow more than 99 flags + mines if trying to place a flag (to avoid going below -99)
+        if (this.engine.getMinesLeft() <= DigitDisplay.MIN_VALUE && !this.engine.isFlagged(index)) {
+            return;
+        }
 
-        // Check if the game is over
-        if (space.isMine()) {
-            setGameOver();
-            return true;
+        if (this.engine.toggleFlag(index)) {
+            this.recorder.record(Replay.FLAG, index, this.clock.getElapsedMillis());
+            this.applyChanges();
         }
+    }
 
-        // Check if the game is won
-        this.clickedSpaces++;
-        if (this.clickedSpaces == this.difficulty.getTotalClicks()) {
-            setGameWon();
-            return true;
+    /**
+     * Draws the spaces changed by the last action of the engine and updates the header and game state.
+     */
+    private void applyChanges() {
+        final int[] changed = this.engine.getChanged();
+        final int count = this.engine.getChangedCount();
+        for (int i = 0; i < count; i++) {
+            this.renderer.setTile(changed[i], this.engine.getTile(changed[i]));
         }
+        this.setNumMinesLeft(this.engine.getMinesLeft());
+        this.updateOverlay();
+        this.scheduleSave();
 
-        return false;
+        if (this.engine.getState() == GameState.LOST) {
+            setGameOver();
+        } else if (this.engine.getState() == GameState.WON) {
+            setGameWon();
+        }
     }
 
     /**
-     * Handles the logic for when a revealed number is clicked.
+     * Handles the logic for when a space is clicked.
      *
-     * @param row The row of the clicked space.
-     * @param col The column of the clicked space.
+     * @param index     The index of the clicked space.
+     * @param leftClick True if the left mouse button was clicked, false otherwise.
      */
-    private void revealedNumberClicked(int row, int col) {
-        if (!this.boardState[row][col].isRevealed() || this.boardState[row][col].getNumAdjacentMines() == 0) {
+    protected void spaceClicked(int index, boolean leftClick) {
+        if (!leftClick) {
+            this.handleFlag(index);
+            return;
+        }
+
+        if (this.engine.isFlagged(index)) {
             return;
         }
 
-        int numFlags = 0;
-        int maxRow = this.difficulty.getRows();
-        int maxCol = this.difficulty.getCols();
-        for (int i = row - 1; i <= row + 1; i++) {
-            for (int j = col - 1; j <= col + 1; j++) {
-                if (i >= 0 && i < maxRow && j >= 0 && j < maxCol) {
-                    if (this.boardState[i][j].isFlagged()) {
-                        numFlags++;
-                    }
+        if (this.engine.getState() == GameState.READY) {
+            // In no-guess mode, take a pooled board starting with the same opening as this click,
+            // or else search the first candidate board that can be solved from this click
+            if (this.noGuess && NoGuessGenerator.supports(this.config)) {
+                // The flags placed before the first click don't carry over to the new board
+                if (this.engine.getFlags() > 0) {
+                    this.renderer.fill(Tile.COVER);
+                }
+                this.recorder.clear();
+                BoardCode pooled = this.boardPool.take(this.config, index);
+                if (pooled != null) {
+                    this.engine.newGame(this.config, pooled.getSeed(), pooled.getSymmetry());
+                    this.firstReveal(pooled.getClickIndex());
+                    this.refillBoardPool();
+                    return;
                 }
+                this.engine.newGame(this.config, this.noGuessGenerator.findSeed(this.config, this.engine.getSeed(), index));
             }
-        }
-        if (numFlags != this.boardState[row][col].getNumAdjacentMines()) {
+            this.firstReveal(index);
             return;
         }
 
-        // Reveal all adjacent spaces if the correct number of flags are placed
-        for (int i = row - 1; i <= row + 1; i++) {
-            for (int j = col - 1; j <= col + 1; j++) {
-                if (i >= 0 && i < maxRow && j >= 0 && j < maxCol) {
-                    if (!this.boardState[i][j].isRevealed() && !this.boardState[i][j].isFlagged()) {
-                        this.recursiveReveal(i, j);
-                    }
-                }
+        if (this.engine.isRevealed(index)) {
+            if (this.engine.chord(index)) {
+                this.recorder.record(Replay.CHORD, index, this.clock.getElapsedMillis());
             }
+        } else if (this.engine.reveal(index)) {
+            this.recorder.record(Replay.REVEAL, index, this.clock.getElapsedMillis());
         }
+        this.applyChanges();
+    }
 
+    /**
+     * Reveals the first clicked space, which places the mines, and starts the timer.
+     *
+     * @param index The index of the clicked space.
+     */
+    private void firstReveal(int index) {
+        this.engine.reveal(index);
+        this.recorder.record(Replay.REVEAL, index, this.clock.getElapsedMillis());
+        this.clock.start();
+        this.applyChanges();
     }
 
     /**
-     * Handles the logic for when a space is clicked.
+     * Gets the replay of the last finished game.
      *
-     * @param imageView The ImageView representing the clicked space.
-     * @param leftClick True if the left mouse button was clicked, false otherwise.
+     * @return The replay, or null if no game was finished.
      */
-    protected void spaceClicked(ImageView imageView, boolean leftClick) {
-        // Get the space at the clicked coordinates
-        Pair<Integer, Integer> coords = this.boardMap.get(imageView);
-        SpaceItem space = this.boardState[coords.getKey()][coords.getValue()];
+    public Replay getLastReplay() {
+        return this.lastReplay;
+    }
 
-        if (!leftClick) {
-            this.handleFlag(space, imageView);
+    /**
+     * Checks whether a replay is shown instead of the game.
+     *
+     * @return True while replaying.
+     */
+    public boolean isReplaying() {
+        return this.replayPlayer != null;
+    }
+
+    /**
+     * Plays the replay of the last game back on the board, once that game is over.
+     *
+     * @return True if the replay started.
+     */
+    public boolean startReplay() {
+        if (this.lastReplay == null || !this.engine.getState().isOver() || this.isReplaying()) {
+            return false;
+        }
+        this.replayPlayer = new ReplayPlayer(this.lastReplay);
+        this.replayTime = 0;
+        this.replayPaused = false;
+        this.drawBoard(this.replayPlayer.getEngine());
+        this.resumeReplayTimer();
+        return true;
+    }
+
+    /**
+     * Stops the replay and shows the game again.
+     */
+    public void stopReplay() {
+        if (!this.isReplaying()) {
             return;
         }
+        this.replayTimer.stop();
+        this.replayPlayer = null;
+        this.drawBoard(this.engine);
+        DigitDisplay.show(this.timeElapsed, this.clock.getElapsedSeconds());
+    }
 
-        if (space.isFlagged()) {
+    /**
+     * Pauses or resumes the replay.
+     */
+    public void toggleReplayPause() {
+        if (!this.isReplaying()) {
             return;
         }
-
-        // Start the game if first left click
-        if (!this.gameStarted) {
-            this.gameStarted = true;
-            this.addMines(imageView);
+        this.replayPaused = !this.replayPaused;
+        if (this.replayPaused) {
+            this.replayTimer.stop();
+        } else {
+            this.resumeReplayTimer();
         }
+    }
 
-        this.revealedNumberClicked(coords.getKey(), coords.getValue());
-        if (space.isRevealed()) {
+    /**
+     * Moves the replay forward or backward in time.
+     *
+     * @param deltaMillis The time to move by in milliseconds, negative to go back.
+     */
+    public void seekReplay(long deltaMillis) {
+        if (!this.isReplaying()) {
             return;
         }
+        final Replay replay = this.replayPlayer.getReplay();
+        this.replayTime = Math.max(0, Math.min(replay.getDuration(), this.replayTime + deltaMillis));
+        this.showReplayAt(replay.getEventCountAt((long) this.replayTime));
+        if (!this.replayPaused) {
+            this.resumeReplayTimer();
+        }
+    }
 
-        this.recursiveReveal(coords.getKey(), coords.getValue());
+    /**
+     * Multiplies the speed of the replay, within 0.25x and 16x.
+     *
+     * @param factor The factor to multiply the speed by.
+     */
+    public void changeReplaySpeed(double factor) {
+        this.replaySpeed = Math.max(MIN_REPLAY_SPEED, Math.min(MAX_REPLAY_SPEED, this.replaySpeed * factor));
+    }
+
+    /**
+     * Gets the speed of the replay.
+     *
+     * @return The speed, 1 being real time.
+     */
+    public double getReplaySpeed() {
+        return this.replaySpeed;
+    }
+
+    private void resumeReplayTimer() {
+        this.replayFrame = 0;
+        this.replayTimer.start();
+    }
+
+    /**
+     * Advances the replay by the time elapsed since the last frame, and stops at its end.
+     */
+    private void advanceReplay(long now) {
+        if (this.replayFrame != 0) {
+            this.replayTime += (now - this.replayFrame) / 1e6 * this.replaySpeed;
+        }
+        this.replayFrame = now;
+        final Replay replay = this.replayPlayer.getReplay();
+        if (this.replayTime >= replay.getDuration()) {
+            this.replayTime = replay.getDuration();
+            this.replayTimer.stop();
+        }
+        this.showReplayAt(replay.getEventCountAt((long) this.replayTime));
+    }
+
+    /**
+     * Moves the replay to a number of events. Close events ahead are applied one at a time and only their changed
+     * spaces are redrawn, otherwise the player seeks from a keyframe and the whole board is redrawn.
+     */
+    private void showReplayAt(int position) {
+        final ReplayPlayer player = this.replayPlayer;
+        final MinesweeperEngine engine = player.getEngine();
+        if (position >= player.getPosition() && position - player.getPosition() <= player.getKeyframeInterval()) {
+            while (player.getPosition() < position && player.step()) {
+                final int[] changed = engine.getChanged();
+                for (int i = 0; i < engine.getChangedCount(); i++) {
+                    this.renderer.setTile(changed[i], engine.getTile(changed[i]));
+                }
+            }
+        } else {
+            player.seek(position);
+            this.drawBoard(engine);
+        }
+        this.setNumMinesLeft(engine.getMinesLeft());
+        DigitDisplay.show(this.timeElapsed, (int) (this.replayTime / 1000));
+    }
+
+    /**
+     * Draws every space of a game.
+     */
+    private void drawBoard(MinesweeperEngine engine) {
+        final int size = engine.getConfig().getTotalSpaces();
+        for (int index = 0; index < size; index++) {
+            this.renderer.setTile(index, engine.getTile(index));
+        }
+        this.setNumMinesLeft(engine.getMinesLeft());
     }
 }
\ No newline at end of file
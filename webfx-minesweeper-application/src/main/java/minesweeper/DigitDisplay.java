@@ -0,0 +1,30 @@
+package minesweeper;
+
+import javafx.scene.image.ImageView;
+
+/**
+ * Shows numbers on the three digit displays of the header.
+ */
+public final class DigitDisplay {
+    public static final int MIN_VALUE = -99;
+    public static final int MAX_VALUE = 999;
+
+    private DigitDisplay() {
+    }
+
+    /**
+     * Shows a number on a three digit display. Values outside of what the display can show are clamped.
+     *
+     * @param digits The three ImageViews of the display.
+     * @param value  The number to show.
+     */
+    public static void show(ImageView[] digits, int value) {
+        value = Math.max(MIN_VALUE, Math.min(MAX_VALUE, value));
+        int hundreds = value / 100;
+        int tens = Math.abs((value % 100) / 10);
+        int ones = Math.abs(value % 10);
+        SpriteAtlas.showDigit(digits[0], value < 0 ? SpriteAtlas.MINUS : hundreds);
+        SpriteAtlas.showDigit(digits[1], tens);
+        SpriteAtlas.showDigit(digits[2], ones);
+    }
+}
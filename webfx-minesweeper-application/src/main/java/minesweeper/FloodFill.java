@@ -0,0 +1,143 @@
+package minesweeper;
+
+/**
+ * Iterative flood fill used to reveal spaces on a {@link BoardState}.
+ * Uses an explicit primitive stack instead of recursion, so the size of an opening is only limited by the board
+ * memory and not by the thread (or JavaScript) stack depth. The revealed spaces are collected into a batch that
+ * the caller can apply in a single pass. Both buffers are reused between calls.
+ */
+public final class FloodFill {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] stack = new int[INITIAL_CAPACITY];
+    private int[] revealed = new int[INITIAL_CAPACITY];
+    private int revealedCount;
+
+    /**
+     * Clears the current batch of revealed spaces.
+     */
+    public void clear() {
+        this.revealedCount = 0;
+    }
+
+    /**
+     * Reveals the given space and, while spaces have no adjacent mines, all their neighbors.
+     * Flagged and already revealed spaces are left untouched. Mines are revealed but never expanded.
+     * The revealed spaces are appended to the current batch.
+     *
+     * @param board The board to reveal spaces on.
+     * @param start The index of the space to start from.
+     */
+    public void reveal(BoardState board, int start) {
+        if (board.isRevealed(start) || board.isFlagged(start)) {
+            return;
+        }
+
+        final int rows = board.getRows();
+        final int cols = board.getCols();
+        int[] stack = this.stack;
+        int top = 0;
+
+        board.setRevealed(start);
+        this.addRevealed(start);
+        if (board.isMine(start) || board.getNumAdjacentMines(start) != 0) {
+            return;
+        }
+        stack[top++] = start;
+
+        while (top > 0) {
+            final int index = stack[--top];
+            final int row = index / cols;
+            final int col = index - row * cols;
+            final int minRow = Math.max(row - 1, 0);
+            final int maxRow = Math.min(row + 1, rows - 1);
+            final int minCol = Math.max(col - 1, 0);
+            final int maxCol = Math.min(col + 1, cols - 1);
+            for (int i = minRow; i <= maxRow; i++) {
+                final int rowStart = i * cols;
+                for (int j = minCol; j <= maxCol; j++) {
+                    final int neighbor = rowStart + j;
+                    if (board.isRevealed(neighbor) || board.isFlagged(neighbor)) {
+                        continue;
+                    }
+
+                    // Neighbors of an empty space are never mines
+                    board.setRevealed(neighbor);
+                    this.addRevealed(neighbor);
+                    if (board.getNumAdjacentMines(neighbor) == 0) {
+                        if (top == stack.length) {
+                            stack = this.stack = grow(stack);
+                        }
+                        stack[top++] = neighbor;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reveals the given space like {@link #reveal(BoardState, int)}, but reveals the whole opening of a space without
+     * adjacent mines at once from its labels. The flood fill is still used when a flag or an earlier reveal inside
+     * the opening would stop it, which is when the opening is only partly revealed.
+     *
+     * @param board    The board to reveal spaces on.
+     * @param openings The openings labelled on the board.
+     * @param start    The index of the space to start from.
+     */
+    public void reveal(BoardState board, Openings openings, int start) {
+        final int opening = openings.getOpening(start);
+        if (opening < 0 || board.isRevealed(start) || board.isFlagged(start)) {
+            this.reveal(board, start);
+            return;
+        }
+
+        final int[] spaces = openings.getSpaces();
+        final int borderStart = openings.getBorderStart(opening);
+        for (int i = openings.getStart(opening); i < borderStart; i++) {
+            if (board.isRevealed(spaces[i]) || board.isFlagged(spaces[i])) {
+                this.reveal(board, start);
+                return;
+            }
+        }
+        // Numbers already revealed or flagged are skipped, as the flood fill would
+        final int end = openings.getStart(opening + 1);
+        for (int i = openings.getStart(opening); i < end; i++) {
+            final int index = spaces[i];
+            if (!board.isRevealed(index) && !board.isFlagged(index)) {
+                board.setRevealed(index);
+                this.addRevealed(index);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of spaces in the current batch.
+     *
+     * @return The number of revealed spaces.
+     */
+    public int getRevealedCount() {
+        return this.revealedCount;
+    }
+
+    /**
+     * Gets the indexes of the spaces in the current batch. Only the first {@link #getRevealedCount()} entries are valid.
+     *
+     * @return The revealed space indexes.
+     */
+    public int[] getRevealed() {
+        return this.revealed;
+    }
+
+    private void addRevealed(int index) {
+        if (this.revealedCount == this.revealed.length) {
+            this.revealed = grow(this.revealed);
+        }
+        this.revealed[this.revealedCount++] = index;
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
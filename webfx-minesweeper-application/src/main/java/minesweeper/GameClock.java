@@ -0,0 +1,129 @@
+package minesweeper;
+
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Measures the time played in a game from {@link System#nanoTime()}, which is monotonic, without the pauses.
+ * Pausing and resuming keeps the exact time played, and the time isn't capped, only its display is.
+ * <p>
+ * The clock reports each new whole second to a listener, from a transition scheduled for the exact moment the
+ * second changes, so a running clock does no work in between and a stopped one none at all.
+ */
+public final class GameClock {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final IntConsumer onSecond;
+    private final PauseTransition tick = new PauseTransition(Duration.seconds(1));
+    // Time played before the clock last started, and when it started
+    private long elapsedNanos;
+    private long startNanos;
+    private boolean running;
+    private int seconds;
+
+    /**
+     * Constructor for the GameClock class.
+     *
+     * @param onSecond Called with the number of whole seconds played each time it changes, and on reset.
+     */
+    public GameClock(IntConsumer onSecond) {
+        this.onSecond = onSecond;
+        this.tick.setOnFinished(event -> this.onTick());
+    }
+
+    /**
+     * Stops the clock and sets the time played.
+     *
+     * @param millis The time played in milliseconds.
+     */
+    public void reset(long millis) {
+        this.stop();
+        this.elapsedNanos = millis * 1_000_000L;
+        this.seconds = this.getElapsedSeconds();
+        this.onSecond.accept(this.seconds);
+    }
+
+    /**
+     * Starts or resumes the clock.
+     */
+    public void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        this.startNanos = System.nanoTime();
+        this.scheduleTick();
+    }
+
+    /**
+     * Stops or pauses the clock, keeping the time played.
+     */
+    public void stop() {
+        if (!this.running) {
+            return;
+        }
+        this.elapsedNanos += System.nanoTime() - this.startNanos;
+        this.running = false;
+        this.tick.stop();
+    }
+
+    /**
+     * Checks if the clock is running.
+     *
+     * @return True if the clock is running.
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Gets the time played.
+     *
+     * @return The time played in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return this.running ? this.elapsedNanos + System.nanoTime() - this.startNanos : this.elapsedNanos;
+    }
+
+    /**
+     * Gets the time played.
+     *
+     * @return The time played in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return this.getElapsedNanos() / 1_000_000L;
+    }
+
+    /**
+     * Gets the time played in whole seconds.
+     *
+     * @return The time played in seconds, rounded down.
+     */
+    public int getElapsedSeconds() {
+        return (int) (this.getElapsedNanos() / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Schedules the next tick for when the next second starts.
+     */
+    private void scheduleTick() {
+        long untilNext = NANOS_PER_SECOND - this.getElapsedNanos() % NANOS_PER_SECOND;
+        this.tick.setDuration(Duration.millis(untilNext / 1e6));
+        this.tick.playFromStart();
+    }
+
+    private void onTick() {
+        if (!this.running) {
+            return;
+        }
+        // The transition may end slightly early, in which case it is only scheduled again
+        int seconds = this.getElapsedSeconds();
+        if (seconds != this.seconds) {
+            this.seconds = seconds;
+            this.onSecond.accept(seconds);
+        }
+        this.scheduleTick();
+    }
+}
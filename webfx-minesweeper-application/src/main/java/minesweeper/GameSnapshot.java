@@ -0,0 +1,208 @@
+package minesweeper;
+
+/**
+ * Snapshot of a game in progress, to resume it later: the board, the mines, revealed and flagged spaces as packed
+ * bitsets of one bit per space, and the time played in milliseconds. The seed, symmetry and first click are kept too so that the
+ * resumed board can still be shared with its {@link BoardCode}. An Expert snapshot takes about 280 characters.
+ */
+public final class GameSnapshot {
+    // Larger boards would take too much of the browser storage, they aren't saved
+    public static final int MAX_SPACES = 1 << 18;
+    private static final int VERSION = 2;
+    // Snapshots of this version hold the time in seconds
+    private static final int VERSION_SECONDS = 1;
+
+    private final BoardConfig config;
+    private final long seed;
+    private final int symmetry;
+    private final int firstClick;
+    private final long timeMillis;
+    private final byte[] mines;
+    private final byte[] revealed;
+    private final byte[] flagged;
+
+    private GameSnapshot(BoardConfig config, long seed, int symmetry, int firstClick, long timeMillis, byte[] mines, byte[] revealed, byte[] flagged) {
+        this.config = config;
+        this.seed = seed;
+        this.symmetry = symmetry;
+        this.firstClick = firstClick;
+        this.timeMillis = timeMillis;
+        this.mines = mines;
+        this.revealed = revealed;
+        this.flagged = flagged;
+    }
+
+    /**
+     * Checks if games of a board configuration can be saved.
+     *
+     * @param config The board configuration.
+     * @return True if the board is small enough to be saved.
+     */
+    public static boolean supports(BoardConfig config) {
+        return config.getTotalSpaces() <= MAX_SPACES;
+    }
+
+    /**
+     * Takes a snapshot of a game whose mines are placed.
+     *
+     * @param engine     The engine playing the game.
+     * @param timeMillis The time played in milliseconds.
+     * @return The snapshot.
+     */
+    public static GameSnapshot of(MinesweeperEngine engine, long timeMillis) {
+        final BoardState board = engine.getBoard();
+        final int size = board.getSize();
+        final byte[] mines = new byte[(size + 7) >>> 3];
+        final byte[] revealed = new byte[mines.length];
+        final byte[] flagged = new byte[mines.length];
+        for (int index = 0; index < size; index++) {
+            final int bit = 1 << (index & 7);
+            if (board.isMine(index)) {
+                mines[index >>> 3] |= bit;
+            }
+            if (board.isRevealed(index)) {
+                revealed[index >>> 3] |= bit;
+            }
+            if (board.isFlagged(index)) {
+                flagged[index >>> 3] |= bit;
+            }
+        }
+        final BoardCode code = engine.getBoardCode();
+        return new GameSnapshot(engine.getConfig(), engine.getSeed(), code.getSymmetry(), code.getClickIndex(), timeMillis, mines, revealed, flagged);
+    }
+
+    /**
+     * Decodes a snapshot.
+     *
+     * @param text The snapshot encoded with {@link #encode()}.
+     * @return The decoded snapshot.
+     * @throws IllegalArgumentException if the text is malformed or doesn't describe a valid board.
+     */
+    public static GameSnapshot decode(String text) {
+        ByteReader reader = new ByteReader(Base64Url.decode(text.trim()));
+        int version = reader.readByte();
+        if (version != VERSION && version != VERSION_SECONDS) {
+            throw new IllegalArgumentException("Unknown snapshot version");
+        }
+        int rows = reader.readVarInt();
+        int cols = reader.readVarInt();
+        int mines = reader.readVarInt();
+        int symmetry = reader.readVarInt();
+        long seed = reader.readLong();
+        int firstClick = reader.readVarInt();
+        long timeMillis = version == VERSION_SECONDS ? reader.readVarInt() * 1000L : reader.readVarLong();
+        String error = BoardConfig.validate(rows, cols, mines);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        if (!BoardSymmetry.isValid(symmetry, rows, cols) || firstClick < 0 || firstClick >= rows * cols || timeMillis < 0) {
+            throw new IllegalArgumentException("Invalid game in snapshot");
+        }
+
+        final int length = (rows * cols + 7) >>> 3;
+        byte[] mineBits = readBits(reader, length);
+        byte[] revealedBits = readBits(reader, length);
+        byte[] flaggedBits = readBits(reader, length);
+        BoardConfig config = new BoardCode(seed, rows, cols, mines, firstClick, symmetry).toBoardConfig();
+        return new GameSnapshot(config, seed, symmetry, firstClick, timeMillis, mineBits, revealedBits, flaggedBits);
+    }
+
+    private static byte[] readBits(ByteReader reader, int length) {
+        final byte[] bits = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bits[i] = (byte) reader.readByte();
+        }
+        return bits;
+    }
+
+    /**
+     * Encodes the snapshot to URL safe text.
+     *
+     * @return The text of the snapshot.
+     */
+    public String encode() {
+        ByteWriter writer = new ByteWriter(24 + this.mines.length * 3)
+            .writeByte(VERSION)
+            .writeVarInt(this.config.getRows())
+            .writeVarInt(this.config.getCols())
+            .writeVarInt(this.config.getMines())
+            .writeVarInt(this.symmetry)
+            .writeLong(this.seed)
+            .writeVarInt(this.firstClick)
+            .writeVarLong(this.timeMillis)
+            .writeBytes(this.mines, this.mines.length)
+            .writeBytes(this.revealed, this.revealed.length)
+            .writeBytes(this.flagged, this.flagged.length);
+        return Base64Url.encode(writer.toByteArray());
+    }
+
+    /**
+     * Gets the board configuration of the game.
+     *
+     * @return The board configuration.
+     */
+    public BoardConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Gets the seed the mines were placed from.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gets the symmetry applied to the generated board.
+     *
+     * @return The symmetry, see {@link BoardSymmetry}.
+     */
+    public int getSymmetry() {
+        return this.symmetry;
+    }
+
+    /**
+     * Gets the index of the first clicked space.
+     *
+     * @return The first click.
+     */
+    public int getFirstClick() {
+        return this.firstClick;
+    }
+
+    /**
+     * Gets the time played in the game, without the pauses.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    /**
+     * Checks if a space is a mine.
+     */
+    public boolean isMine(int index) {
+        return get(this.mines, index);
+    }
+
+    /**
+     * Checks if a space is revealed.
+     */
+    public boolean isRevealed(int index) {
+        return get(this.revealed, index);
+    }
+
+    /**
+     * Checks if a space is flagged.
+     */
+    public boolean isFlagged(int index) {
+        return get(this.flagged, index);
+    }
+
+    private static boolean get(byte[] bits, int index) {
+        return (bits[index >>> 3] & (1 << (index & 7))) != 0;
+    }
+}
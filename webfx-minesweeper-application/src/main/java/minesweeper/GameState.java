@@ -0,0 +1,32 @@
+package minesweeper;
+
+/**
+ * Represents the state of a Minesweeper game.
+ */
+public enum GameState {
+    /**
+     * The board is set up but nothing is revealed yet, the mines are placed on the first reveal.
+     */
+    READY,
+    /**
+     * The mines are placed and the game is in progress.
+     */
+    PLAYING,
+    /**
+     * Every space without a mine is revealed.
+     */
+    WON,
+    /**
+     * A mine was revealed.
+     */
+    LOST;
+
+    /**
+     * Checks if the game is over, either won or lost.
+     *
+     * @return true if no more moves can be played
+     */
+    public boolean isOver() {
+        return this == WON || this == LOST;
+    }
+}
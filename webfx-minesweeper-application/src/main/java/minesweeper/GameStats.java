@@ -0,0 +1,211 @@
+package minesweeper;
+
+/**
+ * Statistics of the finished games of one difficulty, kept in constant memory: running counts and sums, the best
+ * values, and a {@link P2Quantile} sketch for the median winning time. Recording a game takes constant time whatever
+ * the number of games before it.
+ * <p>
+ * The speed and efficiency only count won games: the 3BV per second is the 3BV cleared per second played, and the
+ * efficiency is the 3BV per click, more than 100% when chording saves clicks.
+ */
+public final class GameStats {
+    private int played;
+    private int won;
+    private int streak;
+    private int bestStreak;
+    private long bestMillis = -1;
+    private final P2Quantile medianMillis = new P2Quantile(0.5);
+    // Sums over the won games, the clicks only over the won games whose clicks are known
+    private long wonMillis;
+    private long wonBbbv;
+    private long clickedBbbv;
+    private long clicks;
+    private double bestBbbvPerSecond;
+
+    /**
+     * Records a finished game.
+     *
+     * @param won        True if the game was won.
+     * @param timeMillis The time played in milliseconds.
+     * @param bbbv       The 3BV of the board.
+     * @param clicks     The clicks of the player, or 0 if they are unknown.
+     */
+    public void record(boolean won, long timeMillis, int bbbv, int clicks) {
+        this.played++;
+        if (!won) {
+            this.streak = 0;
+            return;
+        }
+        this.won++;
+        this.streak++;
+        this.bestStreak = Math.max(this.bestStreak, this.streak);
+        if (this.bestMillis < 0 || timeMillis < this.bestMillis) {
+            this.bestMillis = timeMillis;
+        }
+        this.medianMillis.add(timeMillis);
+        this.wonMillis += timeMillis;
+        this.wonBbbv += bbbv;
+        if (clicks > 0) {
+            this.clickedBbbv += bbbv;
+            this.clicks += clicks;
+        }
+        if (timeMillis > 0) {
+            this.bestBbbvPerSecond = Math.max(this.bestBbbvPerSecond, bbbv * 1000.0 / timeMillis);
+        }
+    }
+
+    /**
+     * Gets the number of finished games.
+     *
+     * @return The number of games played.
+     */
+    public int getPlayed() {
+        return this.played;
+    }
+
+    /**
+     * Gets the number of won games.
+     *
+     * @return The number of games won.
+     */
+    public int getWon() {
+        return this.won;
+    }
+
+    /**
+     * Gets the share of the finished games that were won.
+     *
+     * @return The win rate between 0 and 1, or 0 if no game was played.
+     */
+    public double getWinRate() {
+        return this.played == 0 ? 0 : (double) this.won / this.played;
+    }
+
+    /**
+     * Gets the number of games won in a row up to the last game.
+     *
+     * @return The current win streak.
+     */
+    public int getStreak() {
+        return this.streak;
+    }
+
+    /**
+     * Gets the longest win streak.
+     *
+     * @return The best win streak.
+     */
+    public int getBestStreak() {
+        return this.bestStreak;
+    }
+
+    /**
+     * Gets the fastest winning time.
+     *
+     * @return The time in milliseconds, or -1 if no game was won.
+     */
+    public long getBestMillis() {
+        return this.bestMillis;
+    }
+
+    /**
+     * Gets the estimated median winning time.
+     *
+     * @return The time in milliseconds, or NaN if no game was won.
+     */
+    public double getMedianMillis() {
+        return this.medianMillis.get();
+    }
+
+    /**
+     * Gets the average speed of the won games.
+     *
+     * @return The 3BV cleared per second, or 0 if no game was won.
+     */
+    public double getBbbvPerSecond() {
+        return this.wonMillis == 0 ? 0 : this.wonBbbv * 1000.0 / this.wonMillis;
+    }
+
+    /**
+     * Gets the speed of the fastest won game.
+     *
+     * @return The best 3BV per second, or 0 if no game was won.
+     */
+    public double getBestBbbvPerSecond() {
+        return this.bestBbbvPerSecond;
+    }
+
+    /**
+     * Gets the click efficiency of the won games.
+     *
+     * @return The 3BV per click, or 0 if no clicks were recorded.
+     */
+    public double getEfficiency() {
+        return this.clicks == 0 ? 0 : (double) this.clickedBbbv / this.clicks;
+    }
+
+    /**
+     * Forgets every game.
+     */
+    public void clear() {
+        this.played = 0;
+        this.won = 0;
+        this.streak = 0;
+        this.bestStreak = 0;
+        this.bestMillis = -1;
+        this.medianMillis.clear();
+        this.wonMillis = 0;
+        this.wonBbbv = 0;
+        this.clickedBbbv = 0;
+        this.clicks = 0;
+        this.bestBbbvPerSecond = 0;
+    }
+
+    /**
+     * Appends the statistics as tab separated numbers, see {@link #decode(String[], int)}.
+     *
+     * @param sb The text to append to.
+     */
+    public void encode(StringBuilder sb) {
+        sb.append(this.played).append('\t').append(this.won).append('\t');
+        sb.append(this.streak).append('\t').append(this.bestStreak).append('\t');
+        sb.append(this.bestMillis).append('\t').append(this.wonMillis).append('\t');
+        sb.append(this.wonBbbv).append('\t').append(this.clickedBbbv).append('\t');
+        sb.append(this.clicks).append('\t').append(this.bestBbbvPerSecond).append('\t');
+        this.medianMillis.encode(sb);
+    }
+
+    /**
+     * Restores the statistics written by {@link #encode(StringBuilder)}.
+     *
+     * @param fields The fields of the text.
+     * @param start  The index of the first field of the statistics.
+     * @throws NumberFormatException if a field is not a number.
+     * @throws IllegalArgumentException if there are too few fields.
+     */
+    public void decode(String[] fields, int start) {
+        if (fields.length < start + getFieldCount()) {
+            throw new IllegalArgumentException("Missing statistics");
+        }
+        this.played = Integer.parseInt(fields[start++]);
+        this.won = Integer.parseInt(fields[start++]);
+        this.streak = Integer.parseInt(fields[start++]);
+        this.bestStreak = Integer.parseInt(fields[start++]);
+        this.bestMillis = Long.parseLong(fields[start++]);
+        this.wonMillis = Long.parseLong(fields[start++]);
+        this.wonBbbv = Long.parseLong(fields[start++]);
+        this.clickedBbbv = Long.parseLong(fields[start++]);
+        this.clicks = Long.parseLong(fields[start++]);
+        this.bestBbbvPerSecond = Double.parseDouble(fields[start++]);
+        this.medianMillis.decode(fields, start);
+    }
+
+    /**
+     * Gets the number of fields written by {@link #encode(StringBuilder)}.
+     *
+     * @return The number of fields.
+     */
+    public static int getFieldCount() {
+        return 10 + P2Quantile.getFieldCount();
+    }
+}
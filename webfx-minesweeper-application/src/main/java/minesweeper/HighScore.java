@@ -1,33 +1,41 @@
 package minesweeper;
 
-import dev.webfx.platform.storage.LocalStorage;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 /**
  * The HighScore class manages the high scores for the Minesweeper game.
- * It supports reading from and writing to a file, and adding new high scores.
+ * Each difficulty keeps its best times in a {@link Leaderboard}, which is encoded as text: a version line, then one
+ * line per time with the difficulty, the time in milliseconds and the name separated by tabs. The text is parsed by
+ * scanning for the separators, so names may contain spaces. The text is stored by {@link HighScoreStore}.
  */
 public class HighScore implements Comparable<HighScore> {
     public static final String FILENAME = "highscores.txt";
-    public static List<HighScore> highScores = new ArrayList<>();
+    // Number of times kept for each difficulty
+    public static final int CAPACITY = 10;
+    // Number of times of each difficulty shown in the high score display
+    public static final int SHOWN = 3;
+    private static final String VERSION = "HS2";
+
+    private static final Leaderboard[] leaderboards = new Leaderboard[Difficulty.values().length];
+
+    static {
+        for (int i = 0; i < leaderboards.length; i++) {
+            leaderboards[i] = new Leaderboard(CAPACITY);
+        }
+    }
 
     private final String name;
-    private final int score;
+    private final long timeMillis;
     private final Difficulty difficulty;
 
     /**
      * Constructs a new HighScore object.
      *
-     * @param name       the name of the player
-     * @param score      the score achieved by the player
+     * @param name       the name of the player, tabs and line breaks are replaced by spaces
+     * @param timeMillis the time achieved by the player in milliseconds
      * @param difficulty the difficulty level of the game
      */
-    public HighScore(String name, int score, Difficulty difficulty) {
-        this.name = name;
-        this.score = score;
+    public HighScore(String name, long timeMillis, Difficulty difficulty) {
+        this.name = name.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        this.timeMillis = timeMillis;
         this.difficulty = difficulty;
     }
 
@@ -41,12 +49,12 @@ public class HighScore implements Comparable<HighScore> {
     }
 
     /**
-     * Gets the score achieved by the player.
+     * Gets the time achieved by the player.
      *
-     * @return the score achieved by the player
+     * @return the time in milliseconds
      */
-    public int getScore() {
-        return score;
+    public long getTimeMillis() {
+        return timeMillis;
     }
 
     /**
@@ -59,129 +67,210 @@ public class HighScore implements Comparable<HighScore> {
     }
 
     /**
-     * Checks if a given score is a high score for a specific difficulty level.
+     * Gets the best times of a difficulty level.
      *
-     * @param score      the score to check
-     * @param difficulty the difficulty level to check
-     * @return true if the score is a high score, false otherwise
+     * @param difficulty the difficulty level
+     * @return the leaderboard of the difficulty level
      */
-    public static boolean isHighScore(int score, Difficulty difficulty) {
-        if (HighScore.highScores.isEmpty()) {
-            return true;
-        }
-
-        for (HighScore highScore : HighScore.highScores) {
-            if (highScore.getDifficulty() == difficulty) {
-                return highScore.getScore() > score;
-            }
-        }
+    public static Leaderboard getLeaderboard(Difficulty difficulty) {
+        return leaderboards[difficulty.ordinal()];
+    }
 
-        return true;
+    /**
+     * Checks if a given time is a high score for a specific difficulty level.
+     *
+     * @param timeMillis the time to check in milliseconds
+     * @param difficulty the difficulty level to check
+     * @return true if the time makes it onto the leaderboard, false otherwise
+     */
+    public static boolean isHighScore(long timeMillis, Difficulty difficulty) {
+        return getLeaderboard(difficulty).qualifies(timeMillis);
     }
 
     /**
      * Gets the high scores as a formatted string.
      *
-     * @return the high scores as a formatted string
+     * @return the best times of each difficulty as a formatted string
      */
     public static String getHighScoreText() {
-        String highScores = HighScore.highScoreText();
-        if (highScores.isEmpty()) {
-            highScores = "No high scores yet!";
+        StringBuilder sb = new StringBuilder();
+        for (Difficulty difficulty : Difficulty.values()) {
+            Leaderboard leaderboard = getLeaderboard(difficulty);
+            for (int rank = 0; rank < Math.min(SHOWN, leaderboard.size()); rank++) {
+                HighScore hs = leaderboard.get(rank);
+                sb.append(difficulty).append(" #").append(rank + 1).append(": ");
+                sb.append(formatTime(hs.getTimeMillis())).append(" by ");
+                sb.append(hs.getName());
+                sb.append("\n");
+            }
         }
-        return highScores;
+        return sb.length() == 0 ? "No high scores yet!" : sb.toString();
     }
 
     /**
-     * Gets the high scores as a formatted string. Used internally for writing to a file.
+     * Formats a time in seconds with three decimals.
      *
-     * @return the high scores as a formatted string
+     * @param timeMillis the time in milliseconds
+     * @return the formatted time, for example "12.045 s"
      */
-    private static String highScoreText() {
-        if (highScores.isEmpty()) {
-            return "";
-        }
-
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < highScores.size(); i++) {
-            HighScore hs = highScores.get(i);
-            sb.append(hs.getDifficulty()).append(": ");
-            sb.append(hs.getScore()).append(" seconds by ");
-            sb.append(hs.getName());
-            sb.append("\n");
-        }
-        return sb.toString();
+    public static String formatTime(long timeMillis) {
+        long millis = timeMillis % 1000;
+        return timeMillis / 1000 + (millis < 10 ? ".00" : millis < 100 ? ".0" : ".") + millis + " s";
     }
 
     /**
      * Adds a new high score.
      *
      * @param name       the name of the player
-     * @param score      the score achieved by the player
+     * @param timeMillis the time achieved by the player in milliseconds
      * @param difficulty the difficulty level of the game
+     * @return the rank of the time from 0 for the fastest, or -1 if it is too slow to be kept
      */
-    public static void addHighScore(String name, int score, Difficulty difficulty) {
+    public static int addHighScore(String name, long timeMillis, Difficulty difficulty) {
+        return getLeaderboard(difficulty).add(new HighScore(name, timeMillis, difficulty));
+    }
 
-        // check if difficulty already has a high score to only keep one
-        // comment out the for loop and the is high score check to keep multiple high scores for each difficulty
-        for (int i = 0; i < highScores.size(); i++) {
-            if (highScores.get(i).getDifficulty() == difficulty) {
-                if (highScores.get(i).getScore() > score) {
-                    highScores.remove(i);
-                }
-                break;
-            }
+    /**
+     * Removes all high scores.
+     */
+    public static void clearHighScores() {
+        for (Leaderboard leaderboard : leaderboards) {
+            leaderboard.clear();
         }
+    }
 
-        if (HighScore.isHighScore(score, difficulty)) {
-            HighScore.highScores.add(new HighScore(name, score, difficulty));
-            Collections.sort(highScores);
+    /**
+     * Replaces the high scores with the ones of the given text, in the format written by {@link #encodeHighScores()}
+     * or in the legacy format of one "Difficulty: seconds seconds by name" line per difficulty.
+     *
+     * @param data the high scores as text, or null if there are none
+     * @return true if the text is in the current format, false if it is empty or in the legacy format
+     */
+    public static boolean parseHighScores(String data) {
+        HighScore.clearHighScores();
+        if (data == null || data.isEmpty()) {
+            return false;
         }
+
+        int end = data.indexOf('\n');
+        boolean current = (end < 0 ? data : data.substring(0, end)).trim().equals(VERSION);
+        parseLines(data, !current ? 0 : end < 0 ? data.length() : end + 1, current);
+        return current;
     }
 
     /**
-     * Resets all high scores.
+     * Adds the high scores of lines in the current format, without version line, as appended by
+     * {@link #encodeLine(StringBuilder, HighScore)}.
+     *
+     * @param data the lines of high scores, or null if there are none
      */
-    public static void resetHighScores() {
-        highScores.clear();
-        HighScore.writeHighScores();
+    public static void appendHighScores(String data) {
+        if (data != null) {
+            parseLines(data, 0, true);
+        }
+    }
+
+    private static void parseLines(String data, int start, boolean current) {
+        while (start < data.length()) {
+            int end = data.indexOf('\n', start);
+            if (end < 0) {
+                end = data.length();
+            }
+            if (current) {
+                parseLine(data, start, end);
+            } else {
+                parseLegacyLine(data, start, end);
+            }
+            start = end + 1;
+        }
     }
 
     /**
-     * Reads the high scores from local storage.
+     * Parses a "difficulty TAB milliseconds TAB name" line, skipping it if it is malformed.
      */
-    public static void readHighScores() {
-        HighScore.highScores.clear();
-        String data = LocalStorage.getItem(FILENAME);
-        if (data == null || data.isEmpty()) {
+    private static void parseLine(String data, int start, int end) {
+        int firstTab = data.indexOf('\t', start);
+        int secondTab = firstTab < 0 ? -1 : data.indexOf('\t', firstTab + 1);
+        if (secondTab < 0 || secondTab >= end) {
             return;
         }
+        int ordinal = parseNumber(data, start, firstTab);
+        long timeMillis = parseNumber(data, firstTab + 1, secondTab);
+        Difficulty[] difficulties = Difficulty.values();
+        // Times too slow for the leaderboard are skipped before their name is copied
+        if (ordinal < 0 || ordinal >= difficulties.length || timeMillis < 0 || !isHighScore(timeMillis, difficulties[ordinal])) {
+            return;
+        }
+        HighScore.addHighScore(data.substring(secondTab + 1, end), timeMillis, difficulties[ordinal]);
+    }
 
-        String[] lines = data.split("\n");
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                continue;
-            }
-            // split by any number of spaces
-            String[] parts = line.split("\\s+");
-            if (parts.length == 5) {
-                HighScore.addHighScore(parts[4].trim(), Integer.parseInt(parts[1]), Difficulty.fromString(parts[0].trim().substring(0, parts[0].length() - 1)));
+    /**
+     * Parses a legacy "Difficulty: seconds seconds by name" line, skipping it if it is malformed.
+     */
+    private static void parseLegacyLine(String data, int start, int end) {
+        String line = data.substring(start, end).trim();
+        int colon = line.indexOf(": ");
+        int by = line.indexOf(" seconds by ");
+        if (colon < 0 || by < colon) {
+            return;
+        }
+        Difficulty difficulty = Difficulty.fromString(line.substring(0, colon));
+        long seconds = parseNumber(line, colon + 2, by);
+        if (difficulty == null || seconds < 0) {
+            return;
+        }
+        HighScore.addHighScore(line.substring(by + " seconds by ".length()), seconds * 1000, difficulty);
+    }
+
+    /**
+     * Parses a decimal number without sign.
+     *
+     * @return the number, or -1 if the text is empty, too long or not a number
+     */
+    private static int parseNumber(String text, int start, int end) {
+        if (start >= end || end - start > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
             }
+            value = value * 10 + (c - '0');
         }
+        return value;
+    }
 
-        Collections.sort(highScores);
+    /**
+     * Gets the high scores as text in the current format.
+     *
+     * @return the high scores as text
+     */
+    public static String encodeHighScores() {
+        StringBuilder sb = new StringBuilder(VERSION).append('\n');
+        for (Leaderboard leaderboard : leaderboards) {
+            for (int rank = 0; rank < leaderboard.size(); rank++) {
+                encodeLine(sb, leaderboard.get(rank));
+            }
+        }
+        return sb.toString();
     }
 
     /**
-     * Writes the high scores to local storage.
+     * Appends the line of a high score in the current format.
+     *
+     * @param sb the text to append to
+     * @param hs the high score
      */
-    public static void writeHighScores() {
-        String data = HighScore.highScoreText();
-        LocalStorage.setItem(FILENAME, data);
+    public static void encodeLine(StringBuilder sb, HighScore hs) {
+        sb.append(hs.getDifficulty().ordinal()).append('\t');
+        sb.append(hs.getTimeMillis()).append('\t');
+        sb.append(hs.getName()).append('\n');
     }
 
     /**
-     * Compares this high score with another high score. First compares the difficulty, then the score.
+     * Compares this high score with another high score. First compares the difficulty, then the time.
      *
      * @param o the other high score to compare to
      * @return a negative integer, zero, or a positive integer as this high score
@@ -192,8 +281,6 @@ public class HighScore implements Comparable<HighScore> {
         if (this.difficulty != o.difficulty) {
             return Integer.compare(this.difficulty.ordinal(), o.difficulty.ordinal());
         }
-
-        // Not exactly needed since we only keep the top score of each difficulty, but it's good to have :)
-        return Integer.compare(this.score, o.score);
+        return Long.compare(this.timeMillis, o.timeMillis);
     }
-}
\ No newline at end of file
+}
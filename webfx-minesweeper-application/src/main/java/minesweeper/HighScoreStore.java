@@ -0,0 +1,146 @@
+package minesweeper;
+
+import dev.webfx.platform.storage.LocalStorage;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+/**
+ * Keeps the high scores in the local storage without rewriting them all on every new time.
+ * The full high scores are stored under {@link HighScore#FILENAME}, and the times added since are appended to a
+ * journal under another key. Times added in a burst are written together after a short delay, and once the journal
+ * grows past a few lines it is compacted into the full high scores, later, away from the frame that added the time.
+ * <p>
+ * The high scores are loaded after the first paint of the application, or when they are first needed if that is
+ * sooner, see {@link #load()}.
+ */
+public final class HighScoreStore {
+    private static final String JOURNAL_KEY = "highscores.journal";
+    // Times added within this delay are written together
+    private static final int WRITE_DELAY_MILLIS = 500;
+    // The journal is compacted once it holds more lines
+    private static final int COMPACT_LINES = 16;
+    private static final int COMPACT_DELAY_MILLIS = 2000;
+    private static final int LOAD_DELAY_MILLIS = 100;
+
+    // The journal as stored, then the lines not written yet
+    private static final StringBuilder journal = new StringBuilder();
+    private static final StringBuilder pending = new StringBuilder();
+    private static int journalLines;
+    private static boolean loaded;
+    private static boolean compactNeeded;
+
+    private static final Timeline writeTimeline = new Timeline(new KeyFrame(Duration.millis(WRITE_DELAY_MILLIS), event -> flush()));
+    private static final Timeline compactTimeline = new Timeline(new KeyFrame(Duration.millis(COMPACT_DELAY_MILLIS), event -> compact()));
+    private static final Timeline loadTimeline = new Timeline(new KeyFrame(Duration.millis(LOAD_DELAY_MILLIS), event -> load()));
+
+    private HighScoreStore() {
+    }
+
+    /**
+     * Loads the high scores shortly after the application is first shown, so that reading them doesn't delay it.
+     */
+    public static void loadLater() {
+        if (!loaded) {
+            loadTimeline.playFromStart();
+        }
+    }
+
+    /**
+     * Loads the high scores now if they aren't loaded yet: the full high scores, then the times of the journal.
+     * High scores stored in the legacy format are converted by the next compaction.
+     */
+    public static void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        loadTimeline.stop();
+        String data = LocalStorage.getItem(HighScore.FILENAME);
+        boolean current = HighScore.parseHighScores(data);
+        String stored = LocalStorage.getItem(JOURNAL_KEY);
+        if (stored != null) {
+            HighScore.appendHighScores(stored);
+            journal.append(stored);
+            for (int i = 0; i < stored.length(); i++) {
+                if (stored.charAt(i) == '\n') {
+                    journalLines++;
+                }
+            }
+        }
+        if ((!current && data != null && !data.isEmpty()) || journalLines > COMPACT_LINES) {
+            scheduleCompaction();
+        }
+    }
+
+    /**
+     * Adds a time to the high scores and appends it to the journal after a short delay.
+     *
+     * @param name       The name of the player.
+     * @param timeMillis The time of the player in milliseconds.
+     * @param difficulty The difficulty level of the game.
+     * @return The rank of the time from 0 for the fastest, or -1 if it is too slow to be kept.
+     */
+    public static int add(String name, long timeMillis, Difficulty difficulty) {
+        load();
+        int rank = HighScore.addHighScore(name, timeMillis, difficulty);
+        if (rank >= 0) {
+            HighScore.encodeLine(pending, HighScore.getLeaderboard(difficulty).get(rank));
+            journalLines++;
+            writeTimeline.playFromStart();
+        }
+        return rank;
+    }
+
+    /**
+     * Removes all high scores, from the storage too.
+     */
+    public static void reset() {
+        load();
+        writeTimeline.stop();
+        compactTimeline.stop();
+        compactNeeded = false;
+        pending.setLength(0);
+        journal.setLength(0);
+        journalLines = 0;
+        HighScore.clearHighScores();
+        LocalStorage.setItem(HighScore.FILENAME, HighScore.encodeHighScores());
+        LocalStorage.removeItem(JOURNAL_KEY);
+    }
+
+    /**
+     * Writes the pending lines to the journal, then compacts it later if it is too long.
+     */
+    private static void flush() {
+        if (pending.length() == 0) {
+            return;
+        }
+        journal.append(pending);
+        pending.setLength(0);
+        LocalStorage.setItem(JOURNAL_KEY, journal.toString());
+        if (journalLines > COMPACT_LINES) {
+            scheduleCompaction();
+        }
+    }
+
+    private static void scheduleCompaction() {
+        if (!compactNeeded) {
+            compactNeeded = true;
+            compactTimeline.playFromStart();
+        }
+    }
+
+    /**
+     * Rewrites the full high scores, which already hold the times of the journal, and empties the journal.
+     */
+    private static void compact() {
+        compactNeeded = false;
+        // Lines still pending are part of the full high scores written now
+        writeTimeline.stop();
+        pending.setLength(0);
+        journal.setLength(0);
+        journalLines = 0;
+        LocalStorage.setItem(HighScore.FILENAME, HighScore.encodeHighScores());
+        LocalStorage.removeItem(JOURNAL_KEY);
+    }
+}
@@ -1,68 +1,106 @@
 package minesweeper;
 
 import javafx.scene.image.Image;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Utility class to preload and cache all game images.
- * This prevents lag during gameplay, especially on slow internet connections.
+ * Images are loaded in the background from the start of the application, so the menu stays responsive while they
+ * download, and actions waiting for them run once they are all loaded (see {@link #whenReady(Runnable)}).
+ * The load duration of each image and the time until the first board can be played are recorded.
  */
 public class ImagePreloader {
     private static final Map<String, Image> imageCache = new HashMap<>();
+    // Images still loading, with the time their load started
+    private static final Map<Image, Long> loadingImages = new HashMap<>();
+    // Load durations in milliseconds, in the order the images finished loading
+    private static final Map<String, Double> loadMillis = new LinkedHashMap<>();
+    private static final List<Runnable> readyActions = new ArrayList<>();
+    private static Runnable progressListener;
     private static boolean imagesPreloaded = false;
+    private static boolean loadFailed = false;
+    private static long startNanos;
+    private static double timeToInteractive = -1;
 
     /**
-     * Preloads all images used in the Minesweeper game.
+     * Starts loading all images used in the Minesweeper game in the background.
      * Images are cached to avoid reloading them multiple times.
      */
     public static void preloadAllImages() {
         if (imagesPreloaded) {
             return;
         }
+        startNanos = System.nanoTime();
 
-        // Minesweeper basic images
-        preloadImage("images/minesweeper-basic/mine-grey.png");
-        preloadImage("images/minesweeper-basic/mine-red.png");
-        preloadImage("images/minesweeper-basic/mine-misflagged.png");
-        preloadImage("images/minesweeper-basic/flag.png");
-        preloadImage("images/minesweeper-basic/cover.png");
-
-        // Number images (0-8)
-        for (int i = 0; i <= 8; i++) {
-            preloadImage("images/minesweeper-basic/" + i + ".png");
-        }
-
-        // Face images
-        preloadImage("images/minesweeper-basic/face-smile.png");
-        preloadImage("images/minesweeper-basic/face-dead.png");
-        preloadImage("images/minesweeper-basic/face-win.png");
-        preloadImage("images/minesweeper-basic/face-O.png");
-
-        // Digit images (0-9 and negative sign)
-        for (int i = 0; i <= 9; i++) {
-            preloadImage("images/digits/" + i + ".png");
-        }
-        preloadImage("images/digits/neg.png");
+        // The tiles, digits and faces are all packed into the atlas of the skin, see SpriteAtlas
+        SpriteAtlas.getImage();
 
         imagesPreloaded = true;
     }
 
     /**
-     * Preloads a single image and caches it.
+     * Starts loading a single image in the background and caches it.
      * @param imagePath The path to the image to preload.
      */
     private static void preloadImage(String imagePath) {
         if (!imageCache.containsKey(imagePath)) {
-            Image image = new Image(imagePath);
+            Image image = new Image(imagePath, true);
             imageCache.put(imagePath, image);
+            loadingImages.put(image, System.nanoTime());
+            if (image.getProgress() >= 1 || image.isError()) {
+                // Already loaded, from the browser cache or a local file
+                onLoaded(imagePath, image);
+                return;
+            }
+            image.progressProperty().addListener((observable, oldValue, newValue) -> {
+                if (newValue.doubleValue() >= 1) {
+                    onLoaded(imagePath, image);
+                } else if (progressListener != null) {
+                    progressListener.run();
+                }
+            });
+            image.errorProperty().addListener((observable, oldValue, newValue) -> {
+                if (newValue) {
+                    onLoaded(imagePath, image);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records the end of the load of an image, which may have failed, and runs the waiting actions if it was the
+     * last image loading. The progress and error listeners may both report the same image.
+     */
+    private static void onLoaded(String imagePath, Image image) {
+        Long start = loadingImages.remove(image);
+        if (start == null) {
+            return;
+        }
+        loadMillis.put(imagePath, (System.nanoTime() - start) / 1e6);
+        if (image.isError()) {
+            loadFailed = true;
+        }
+        if (progressListener != null) {
+            progressListener.run();
+        }
+        if (loadingImages.isEmpty()) {
+            List<Runnable> actions = new ArrayList<>(readyActions);
+            readyActions.clear();
+            for (Runnable action : actions) {
+                action.run();
+            }
         }
     }
 
     /**
      * Gets a cached image. If the image is not cached, it will be loaded and cached.
      * @param imagePath The path to the image.
-     * @return The cached or newly loaded image.
+     * @return The cached or newly loading image.
      */
     public static Image getImage(String imagePath) {
         if (!imageCache.containsKey(imagePath)) {
@@ -71,11 +109,93 @@ public class ImagePreloader {
         return imageCache.get(imagePath);
     }
 
+    /**
+     * Checks if every image requested so far has finished loading.
+     * @return True if no image is still loading.
+     */
+    public static boolean isReady() {
+        return loadingImages.isEmpty();
+    }
+
+    /**
+     * Runs an action once every image requested so far has finished loading, right away if they already have.
+     * Images failing to load don't hold the action back, see {@link #hasFailed()}.
+     * @param action The action to run.
+     */
+    public static void whenReady(Runnable action) {
+        if (isReady()) {
+            action.run();
+        } else {
+            readyActions.add(action);
+        }
+    }
+
+    /**
+     * Gets the overall progress of the images requested so far.
+     * @return The progress between 0 and 1.
+     */
+    public static double getProgress() {
+        if (imageCache.isEmpty()) {
+            return 1;
+        }
+        double progress = imageCache.size() - loadingImages.size();
+        for (Image image : loadingImages.keySet()) {
+            progress += image.getProgress();
+        }
+        return progress / imageCache.size();
+    }
+
+    /**
+     * Checks if an image failed to load.
+     * @return True if at least one image couldn't be loaded.
+     */
+    public static boolean hasFailed() {
+        return loadFailed;
+    }
+
+    /**
+     * Sets the listener notified whenever the progress of the images changes.
+     * @param listener The listener, or null.
+     */
+    public static void setProgressListener(Runnable listener) {
+        progressListener = listener;
+    }
+
+    /**
+     * Gets the load durations of the images that finished loading.
+     * @return The durations in milliseconds by image path, in the order the images finished loading.
+     */
+    public static Map<String, Double> getLoadMillis() {
+        return Collections.unmodifiableMap(loadMillis);
+    }
+
+    /**
+     * Records that the first board can be played, once. The time to interactive is measured from the start of the
+     * preloading, which is the start of the application.
+     */
+    public static void markInteractive() {
+        if (timeToInteractive < 0 && imagesPreloaded) {
+            timeToInteractive = (System.nanoTime() - startNanos) / 1e6;
+        }
+    }
+
+    /**
+     * Gets the time until the first board could be played.
+     * @return The time in milliseconds, or -1 if no board was shown yet.
+     */
+    public static double getTimeToInteractive() {
+        return timeToInteractive;
+    }
+
     /**
      * Clears the image cache. Useful for freeing memory if needed.
      */
     public static void clearCache() {
         imageCache.clear();
+        loadingImages.clear();
+        loadMillis.clear();
+        readyActions.clear();
         imagesPreloaded = false;
+        loadFailed = false;
     }
 }
@@ -0,0 +1,124 @@
+package minesweeper;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.GridPane;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Board renderer using one ImageView node per tile laid out in a GridPane.
+ */
+public class ImageViewBoardRenderer implements BoardRenderer {
+    private final GridPane gridPane = new GridPane();
+    private final ImageView[] tileViews;
+    // Shades over the tiles, created on first use
+    private final Rectangle[] overlayViews;
+    private final int cols;
+    private final int tileSize;
+
+    /**
+     * Constructor for the ImageViewBoardRenderer class.
+     *
+     * @param rows       The number of rows of the board.
+     * @param cols       The number of columns of the board.
+     * @param tileSize   The size of each tile.
+     * @param controller The controller receiving the mouse input.
+     */
+    public ImageViewBoardRenderer(int rows, int cols, int tileSize, Controller controller) {
+        this.tileViews = new ImageView[rows * cols];
+        this.overlayViews = new Rectangle[rows * cols];
+        this.cols = cols;
+        this.tileSize = tileSize;
+        this.gridPane.setAlignment(Pos.CENTER);
+        this.gridPane.setHgap(2);
+        this.gridPane.setVgap(2);
+
+        // Create a XY grid of images for the game area
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int index = row * cols + col;
+                ImageView imageView = getSpaceView(index, tileSize, controller);
+                this.gridPane.add(imageView, col, row);
+                this.tileViews[index] = imageView;
+            }
+        }
+    }
+
+    @Override
+    public Node getNode() {
+        return this.gridPane;
+    }
+
+    @Override
+    public void setTile(int index, int tile) {
+        SpriteAtlas.showTile(this.tileViews[index], tile);
+    }
+
+    @Override
+    public void fill(int tile) {
+        for (ImageView imageView : this.tileViews) {
+            SpriteAtlas.showTile(imageView, tile);
+        }
+    }
+
+    @Override
+    public void refreshSkin() {
+        for (ImageView imageView : this.tileViews) {
+            SpriteAtlas.refresh(imageView);
+        }
+    }
+
+    @Override
+    public void setOverlay(int index, double probability) {
+        Rectangle overlayView = this.overlayViews[index];
+        if (Double.isNaN(probability)) {
+            if (overlayView != null) {
+                overlayView.setVisible(false);
+            }
+            return;
+        }
+        if (overlayView == null) {
+            // The shade lets the mouse input through to the tile under it
+            overlayView = new Rectangle(this.tileSize, this.tileSize);
+            overlayView.setMouseTransparent(true);
+            this.gridPane.add(overlayView, index % this.cols, index / this.cols);
+            this.overlayViews[index] = overlayView;
+        }
+        overlayView.setFill(BoardRenderer.overlayColor(probability));
+        overlayView.setVisible(true);
+    }
+
+    /**
+     * Creates an ImageView for a space on the game board.
+     * @return The ImageView for the space.
+     */
+    private static ImageView getSpaceView(int index, int size, Controller controller) {
+        ImageView imageView = new ImageView();
+        SpriteAtlas.showTile(imageView, Tile.COVER);
+        imageView.setFitWidth(size);
+        imageView.setFitHeight(size);
+        imageView.setOnMouseClicked(event -> {
+            // Handle both left (PRIMARY) and right (SECONDARY) clicks
+            if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
+                boolean leftClick = event.getButton() == MouseButton.PRIMARY;
+                controller.onSpaceClicked(index, leftClick);
+            }
+        });
+        imageView.setOnMousePressed(event -> {
+            // Handle both left and right mouse button presses
+            if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
+                boolean leftClick = event.getButton() == MouseButton.PRIMARY;
+                controller.spaceClickDown(index, leftClick);
+            }
+        });
+        imageView.setOnMouseReleased(event -> {
+            // Handle both left and right mouse button releases
+            if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
+                controller.spaceClickUp(index);
+            }
+        });
+        return imageView;
+    }
+}
@@ -0,0 +1,64 @@
+package minesweeper;
+
+import javafx.scene.Node;
+
+/**
+ * Pan and zoom view of an endless world. The tiles are read from the {@link InfiniteController} when drawn,
+ * so only the chunks in view are ever generated.
+ */
+public class InfiniteBoardRenderer extends PanZoomCanvas {
+    private final InfiniteController controller;
+
+    /**
+     * Constructor for the InfiniteBoardRenderer class.
+     *
+     * @param tileSize       The size of each tile at the default zoom.
+     * @param minScale       The smallest size in pixels of a tile when zoomed out.
+     * @param viewportWidth  The width of the visible area.
+     * @param viewportHeight The height of the visible area.
+     * @param controller     The controller of the endless game.
+     */
+    public InfiniteBoardRenderer(int tileSize, double minScale, int viewportWidth, int viewportHeight, InfiniteController controller) {
+        super(0, 0, tileSize, minScale, viewportWidth, viewportHeight);
+        this.controller = controller;
+    }
+
+    /**
+     * Gets the node drawing the world.
+     *
+     * @return The canvas of the viewport.
+     */
+    public Node getNode() {
+        return this.canvas;
+    }
+
+    /**
+     * Redraws a single space of the world.
+     *
+     * @param col The column of the space.
+     * @param row The row of the space.
+     */
+    public void redraw(int col, int row) {
+        this.redrawTile(col, row);
+    }
+
+    @Override
+    protected int tileAt(int col, int row) {
+        return this.controller.getTile(col, row);
+    }
+
+    @Override
+    protected void onTilePressed(int col, int row, boolean leftClick) {
+        this.controller.spaceClickDown(col, row, leftClick);
+    }
+
+    @Override
+    protected void onTileReleased(int col, int row) {
+        this.controller.spaceClickUp(col, row);
+    }
+
+    @Override
+    protected void onTileClicked(int col, int row, boolean leftClick) {
+        this.controller.onSpaceClicked(col, row, leftClick);
+    }
+}
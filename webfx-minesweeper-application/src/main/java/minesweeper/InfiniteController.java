@@ -0,0 +1,223 @@
+package minesweeper;
+
+import dev.webfx.platform.storage.LocalStorage;
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+
+/**
+ * Controller of the endless game mode. Plays on an {@link InfiniteWorld} with the same rules as the Controller:
+ * left click reveals a space or chords a revealed number, the flag button toggles a flag, and revealing a mine ends
+ * the game. The header shows the number of revealed spaces as the score and the elapsed time.
+ */
+public class InfiniteController {
+    private static final int TILE_SIZE = 22;
+    private static final int VIEWPORT_WIDTH = 960;
+    private static final int VIEWPORT_HEIGHT = 640;
+    // Keeps the spaces in view, and so the chunks the view needs, well below the chunk cache size
+    private static final double MIN_SCALE = 4;
+    public static final int SCREEN_WIDTH = VIEWPORT_WIDTH + 24;
+    public static final int SCREEN_HEIGHT = VIEWPORT_HEIGHT + 110;
+
+    // Modified chunks are kept in the browser local storage once evicted from memory
+    private static final InfiniteWorld.ChunkStore STORE = new InfiniteWorld.ChunkStore() {
+        @Override
+        public String load(String key) {
+            return LocalStorage.getItem(key);
+        }
+
+        @Override
+        public boolean save(String key, String value) {
+            try {
+                LocalStorage.setItem(key, value);
+                return true;
+            } catch (RuntimeException e) {
+                // The storage is full or disabled
+                return false;
+            }
+        }
+
+        @Override
+        public void remove(String key) {
+            LocalStorage.removeItem(key);
+        }
+    };
+
+    private final ImageView[] score;
+    private final ImageView[] timeElapsed;
+    private final ImageView smileyImage;
+    private final InfiniteBoardRenderer renderer;
+    private final GameClock clock;
+
+    private InfiniteWorld world;
+    private boolean gamePaused;
+    private boolean pressed;
+    private int pressedX;
+    private int pressedY;
+
+    /**
+     * Constructor for the InfiniteController class.
+     *
+     * @param score       The header ImageViews showing the score.
+     * @param timeElapsed The header ImageViews showing the elapsed time.
+     * @param smileyImage The header smiley ImageView.
+     */
+    public InfiniteController(ImageView[] score, ImageView[] timeElapsed, ImageView smileyImage) {
+        this.score = score;
+        this.timeElapsed = timeElapsed;
+        this.smileyImage = smileyImage;
+        this.renderer = new InfiniteBoardRenderer(TILE_SIZE, MIN_SCALE, VIEWPORT_WIDTH, VIEWPORT_HEIGHT, this);
+        this.clock = new GameClock(seconds -> DigitDisplay.show(this.timeElapsed, seconds));
+    }
+
+    /**
+     * Gets the node drawing the world.
+     *
+     * @return The world view.
+     */
+    public Node getNode() {
+        return this.renderer.getNode();
+    }
+
+    /**
+     * Redraws the world with the current skin of the {@link SpriteAtlas}. The header is refreshed by the
+     * {@link Controller} sharing it.
+     */
+    public void refreshSkin() {
+        this.renderer.requestRepaintWhenLoaded(SpriteAtlas.getImage());
+    }
+
+    /**
+     * Starts a new world and reveals the opening at its origin.
+     */
+    public void setup() {
+        // The chunks of the previous world can't be played again
+        InfiniteWorld.clearStore(STORE);
+        this.world = new InfiniteWorld(SplitMix64.randomSeed(), STORE);
+        this.gamePaused = false;
+        this.pressed = false;
+        this.clock.reset(0);
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_SMILE);
+
+        this.world.reveal(0, 0);
+        this.updateScore();
+        this.renderer.centerOn(0, 0);
+        this.renderer.requestRepaint();
+        this.clock.start();
+    }
+
+    /**
+     * Pauses the game if possible.
+     */
+    public void pauseGame() {
+        if (this.world == null || this.world.isExploded() || this.gamePaused) {
+            return;
+        }
+
+        this.gamePaused = true;
+        this.clock.stop();
+    }
+
+    /**
+     * Resumes the game if previously paused.
+     */
+    public void resumeGame() {
+        if (this.world == null || this.world.isExploded() || !this.gamePaused) {
+            return;
+        }
+
+        this.gamePaused = false;
+        this.clock.start();
+    }
+
+    /**
+     * Stops the game, e.g. when leaving the endless mode.
+     */
+    public void stop() {
+        this.clock.stop();
+    }
+
+    /**
+     * Gets the visual state of a space, showing the space pressed by the mouse as pressed.
+     *
+     * @param x The column of the space.
+     * @param y The row of the space.
+     * @return The tile state (see {@link Tile}).
+     */
+    public int getTile(int x, int y) {
+        if (this.pressed && x == this.pressedX && y == this.pressedY) {
+            return Tile.PRESSED;
+        }
+        return this.world.getTile(x, y);
+    }
+
+    private void updateScore() {
+        DigitDisplay.show(this.score, this.world.getRevealedSpaces());
+    }
+
+    /**
+     * Handles the event when a space is clicked.
+     *
+     * @param x         The column of the clicked space.
+     * @param y         The row of the clicked space.
+     * @param leftClick True if the left mouse button was clicked, false otherwise.
+     */
+    public void onSpaceClicked(int x, int y, boolean leftClick) {
+        if (this.world.isExploded()) {
+            return;
+        }
+
+        if (!leftClick) {
+            if (this.world.toggleFlag(x, y)) {
+                this.renderer.redraw(x, y);
+            }
+            return;
+        }
+
+        boolean mineRevealed = this.world.isRevealed(x, y) ? this.world.chord(x, y) : this.world.reveal(x, y);
+        this.updateScore();
+        if (mineRevealed) {
+            SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_DEAD);
+            this.clock.stop();
+        }
+        this.renderer.requestRepaint();
+    }
+
+    /**
+     * Handles the event when the mouse is pressed on a space.
+     *
+     * @param x         The column of the space.
+     * @param y         The row of the space.
+     * @param leftClick True if the left mouse button was clicked, false otherwise.
+     */
+    protected void spaceClickDown(int x, int y, boolean leftClick) {
+        if (this.world.isExploded() || !leftClick) {
+            return;
+        }
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_SURPRISED);
+
+        if (!this.world.isRevealed(x, y) && !this.world.isFlagged(x, y)) {
+            this.pressed = true;
+            this.pressedX = x;
+            this.pressedY = y;
+            this.renderer.redraw(x, y);
+        }
+    }
+
+    /**
+     * Handles the event when the mouse is released from a space.
+     *
+     * @param x The column of the space.
+     * @param y The row of the space.
+     */
+    protected void spaceClickUp(int x, int y) {
+        if (this.world.isExploded()) {
+            return;
+        }
+        SpriteAtlas.showFace(this.smileyImage, SpriteAtlas.FACE_SMILE);
+
+        if (this.pressed) {
+            this.pressed = false;
+            this.renderer.redraw(x, y);
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package minesweeper;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Endless Minesweeper world, infinite in every direction and split into square chunks.
+ * The mines of a chunk are derived from a hash of the world seed and the chunk coordinates, so a chunk is generated
+ * lazily the first time it is touched and can be regenerated identically at any time. Generated chunks are kept in
+ * a bounded LRU cache: the least recently used chunk is evicted when the cache is full, and only the state the player
+ * changed (revealed and flagged spaces) is written to a {@link ChunkStore} on eviction and read back when the chunk
+ * is generated again. The memory used therefore stays bounded however far the player explores. The keys of the stored
+ * chunks are listed in the store too, so that a new world can remove the chunks of the previous one with
+ * {@link #clearStore(ChunkStore)}.
+ * <p>
+ * The spaces around the origin never contain a mine, so revealing the origin always opens an area to start from.
+ */
+public final class InfiniteWorld {
+    public static final int CHUNK_BITS = 5;
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_CHUNKS = 256;
+    // Probability of a space being a mine, out of 1024
+    private static final int MINE_DENSITY = 184;
+    // Upper bound of the spaces a single flood fill reveals, revealed empty spaces left unexpanded can be chorded
+    private static final int MAX_REVEAL = 1 << 20;
+    private static final int STATE_VERSION = 1;
+    private static final String STORED_KEYS_KEY = "minesweeper.endless.chunks";
+
+    /**
+     * Persistent storage of the chunks modified by the player.
+     */
+    public interface ChunkStore {
+        /**
+         * Loads the value stored under a key.
+         *
+         * @param key The key of the value.
+         * @return The stored value, or null if there is none.
+         */
+        String load(String key);
+
+        /**
+         * Stores a value under a key, replacing any previous value.
+         *
+         * @param key   The key of the value.
+         * @param value The value to store.
+         * @return False if the value couldn't be stored, e.g. when the storage is full.
+         */
+        boolean save(String key, String value);
+
+        /**
+         * Removes the value stored under a key, if any.
+         *
+         * @param key The key of the value.
+         */
+        void remove(String key);
+    }
+
+    /**
+     * Square part of the world. Each mask holds one int per row of the chunk, with one bit per column.
+     */
+    private static final class Chunk {
+        private final int chunkX;
+        private final int chunkY;
+        private final int[] mines = new int[CHUNK_SIZE];
+        private final int[] revealed = new int[CHUNK_SIZE];
+        private final int[] flagged = new int[CHUNK_SIZE];
+        // Number of adjacent mines of each space, computed the first time it is needed
+        private byte[] adjacent;
+        private boolean modified;
+
+        private Chunk(int chunkX, int chunkY) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+        }
+    }
+
+    private final long seed;
+    private final ChunkStore store;
+    // Keys of the chunks this world stored, and the same keys one per line as they are listed in the store
+    private final Set<String> storedKeys = new HashSet<>();
+    private final StringBuilder storedKeyLines = new StringBuilder();
+    private final Map<Long, Chunk> chunks = new LinkedHashMap<Long, Chunk>(MAX_CHUNKS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Chunk> eldest) {
+            if (this.size() <= MAX_CHUNKS) {
+                return false;
+            }
+            evict(eldest.getValue());
+            return true;
+        }
+    };
+    // Most recently used chunk, which most lookups hit
+    private Chunk lastChunk;
+
+    private final SplitMix64 random = new SplitMix64(0);
+    private final int[][] scratchMines = new int[9][CHUNK_SIZE];
+    private final int[][] aroundMines = new int[9][];
+    private int[] stackX = new int[64];
+    private int[] stackY = new int[64];
+
+    private int revealedSpaces;
+    private boolean exploded;
+
+    /**
+     * Constructor for the InfiniteWorld class.
+     *
+     * @param seed  The seed all the mines of the world are derived from.
+     * @param store The storage of the chunks modified by the player.
+     */
+    public InfiniteWorld(long seed, ChunkStore store) {
+        this.seed = seed;
+        this.store = store;
+    }
+
+    /**
+     * Removes the chunks stored by the previous worlds, before a new world stores its own.
+     *
+     * @param store The storage of the chunks modified by the player.
+     */
+    public static void clearStore(ChunkStore store) {
+        String keys = store.load(STORED_KEYS_KEY);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys.split("\n")) {
+            if (!key.isEmpty()) {
+                store.remove(key);
+            }
+        }
+        store.remove(STORED_KEYS_KEY);
+    }
+
+    /**
+     * Gets the seed of the world.
+     *
+     * @return The world seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gets the number of safe spaces revealed so far, which is the score of the world.
+     *
+     * @return The number of revealed spaces.
+     */
+    public int getRevealedSpaces() {
+        return this.revealedSpaces;
+    }
+
+    /**
+     * Checks if a mine was revealed, which ends the game.
+     *
+     * @return True if a mine exploded.
+     */
+    public boolean isExploded() {
+        return this.exploded;
+    }
+
+    /**
+     * Checks if a space is revealed.
+     */
+    public boolean isRevealed(int x, int y) {
+        return (this.getChunk(x, y).revealed[y & CHUNK_MASK] & (1 << (x & CHUNK_MASK))) != 0;
+    }
+
+    /**
+     * Checks if a space is flagged.
+     */
+    public boolean isFlagged(int x, int y) {
+        return (this.getChunk(x, y).flagged[y & CHUNK_MASK] & (1 << (x & CHUNK_MASK))) != 0;
+    }
+
+    /**
+     * Gets the visual state of a space. Once a mine exploded, the other mines and the wrong flags are shown too.
+     *
+     * @param x The column of the space.
+     * @param y The row of the space.
+     * @return The tile state (see {@link Tile}).
+     */
+    public int getTile(int x, int y) {
+        final Chunk chunk = this.getChunk(x, y);
+        final int row = y & CHUNK_MASK;
+        final int bit = 1 << (x & CHUNK_MASK);
+        final boolean mine = (chunk.mines[row] & bit) != 0;
+        if ((chunk.revealed[row] & bit) != 0) {
+            return mine ? Tile.MINE_RED : this.adjacentMines(chunk, x, y);
+        }
+        if ((chunk.flagged[row] & bit) != 0) {
+            return this.exploded && !mine ? Tile.MINE_MISFLAGGED : Tile.FLAG;
+        }
+        return this.exploded && mine ? Tile.MINE_GREY : Tile.COVER;
+    }
+
+    /**
+     * Toggles the flag on a covered space.
+     *
+     * @param x The column of the space.
+     * @param y The row of the space.
+     * @return True if the flag was toggled, false if the space is revealed.
+     */
+    public boolean toggleFlag(int x, int y) {
+        final Chunk chunk = this.getChunk(x, y);
+        final int row = y & CHUNK_MASK;
+        final int bit = 1 << (x & CHUNK_MASK);
+        if ((chunk.revealed[row] & bit) != 0) {
+            return false;
+        }
+        chunk.flagged[row] ^= bit;
+        chunk.modified = true;
+        return true;
+    }
+
+    /**
+     * Reveals a space and, while spaces have no adjacent mines, all their neighbors.
+     * Flagged and already revealed spaces are left untouched.
+     *
+     * @param x The column of the space.
+     * @param y The row of the space.
+     * @return True if a mine was revealed.
+     */
+    public boolean reveal(int x, int y) {
+        if (!this.revealSpace(x, y)) {
+            return false;
+        }
+        if (this.exploded) {
+            return true;
+        }
+
+        int top = 0;
+        int budget = MAX_REVEAL;
+        if (this.isEmpty(x, y)) {
+            this.stackX[top] = x;
+            this.stackY[top++] = y;
+        }
+        while (top > 0 && budget > 0) {
+            top--;
+            final int cx = this.stackX[top];
+            final int cy = this.stackY[top];
+            for (int ny = cy - 1; ny <= cy + 1; ny++) {
+                for (int nx = cx - 1; nx <= cx + 1; nx++) {
+                    // Neighbors of an empty space are never mines
+                    if (!this.revealSpace(nx, ny)) {
+                        continue;
+                    }
+                    budget--;
+                    if (this.isEmpty(nx, ny)) {
+                        if (top == this.stackX.length) {
+                            this.stackX = grow(this.stackX);
+                            this.stackY = grow(this.stackY);
+                        }
+                        this.stackX[top] = nx;
+                        this.stackY[top++] = ny;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reveals the neighbors of a revealed space when the number of flags around it matches its number.
+     *
+     * @param x The column of the space.
+     * @param y The row of the space.
+     * @return True if a mine was revealed.
+     */
+    public boolean chord(int x, int y) {
+        if (!this.isRevealed(x, y)) {
+            return false;
+        }
+
+        int flags = 0;
+        for (int ny = y - 1; ny <= y + 1; ny++) {
+            for (int nx = x - 1; nx <= x + 1; nx++) {
+                if (this.isFlagged(nx, ny)) {
+                    flags++;
+                }
+            }
+        }
+        if (flags != this.adjacentMines(this.getChunk(x, y), x, y)) {
+            return false;
+        }
+
+        boolean mineRevealed = false;
+        for (int ny = y - 1; ny <= y + 1; ny++) {
+            for (int nx = x - 1; nx <= x + 1; nx++) {
+                mineRevealed |= this.reveal(nx, ny);
+            }
+        }
+        return mineRevealed;
+    }
+
+    /**
+     * Marks a single space as revealed.
+     *
+     * @return True if the space was covered and not flagged.
+     */
+    private boolean revealSpace(int x, int y) {
+        // The chunk is fetched last, so it can't be evicted before it is modified
+        final Chunk chunk = this.getChunk(x, y);
+        final int row = y & CHUNK_MASK;
+        final int bit = 1 << (x & CHUNK_MASK);
+        if (((chunk.revealed[row] | chunk.flagged[row]) & bit) != 0) {
+            return false;
+        }
+        chunk.revealed[row] |= bit;
+        chunk.modified = true;
+        if ((chunk.mines[row] & bit) != 0) {
+            this.exploded = true;
+        } else {
+            this.revealedSpaces++;
+        }
+        return true;
+    }
+
+    private boolean isEmpty(int x, int y) {
+        return this.adjacentMines(this.getChunk(x, y), x, y) == 0;
+    }
+
+    private int adjacentMines(Chunk chunk, int x, int y) {
+        if (chunk.adjacent == null) {
+            chunk.adjacent = this.countAdjacentMines(chunk);
+        }
+        return chunk.adjacent[((y & CHUNK_MASK) << CHUNK_BITS) | (x & CHUNK_MASK)];
+    }
+
+    /**
+     * Counts the adjacent mines of every space of a chunk, looking at the borders of the 8 chunks around it.
+     * Neighbor chunks that aren't cached are generated into scratch buffers instead of being added to the cache.
+     */
+    private byte[] countAdjacentMines(Chunk chunk) {
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int i = (dy + 1) * 3 + dx + 1;
+                Chunk neighbor = dx == 0 && dy == 0 ? chunk : this.chunks.get(chunkKey(chunk.chunkX + dx, chunk.chunkY + dy));
+                if (neighbor != null) {
+                    this.aroundMines[i] = neighbor.mines;
+                } else {
+                    this.generateMines(chunk.chunkX + dx, chunk.chunkY + dy, this.scratchMines[i]);
+                    this.aroundMines[i] = this.scratchMines[i];
+                }
+            }
+        }
+
+        final byte[] adjacent = new byte[CHUNK_SIZE * CHUNK_SIZE];
+        for (int y = 0; y < CHUNK_SIZE; y++) {
+            for (int x = 0; x < CHUNK_SIZE; x++) {
+                int count = 0;
+                for (int ny = y - 1; ny <= y + 1; ny++) {
+                    for (int nx = x - 1; nx <= x + 1; nx++) {
+                        if ((nx != x || ny != y) && this.isAroundMine(nx, ny)) {
+                            count++;
+                        }
+                    }
+                }
+                adjacent[(y << CHUNK_BITS) | x] = (byte) count;
+            }
+        }
+        return adjacent;
+    }
+
+    /**
+     * Checks for a mine in the 3x3 chunks loaded by {@link #countAdjacentMines}, with coordinates relative to the center chunk.
+     */
+    private boolean isAroundMine(int x, int y) {
+        int column = x < 0 ? 0 : x < CHUNK_SIZE ? 1 : 2;
+        int row = y < 0 ? 0 : y < CHUNK_SIZE ? 1 : 2;
+        return (this.aroundMines[row * 3 + column][y & CHUNK_MASK] & (1 << (x & CHUNK_MASK))) != 0;
+    }
+
+    /**
+     * Gets the chunk containing a space, generating it if it isn't cached.
+     */
+    private Chunk getChunk(int x, int y) {
+        final int chunkX = x >> CHUNK_BITS;
+        final int chunkY = y >> CHUNK_BITS;
+        Chunk chunk = this.lastChunk;
+        if (chunk != null && chunk.chunkX == chunkX && chunk.chunkY == chunkY) {
+            return chunk;
+        }
+
+        final Long key = chunkKey(chunkX, chunkY);
+        chunk = this.chunks.get(key);
+        if (chunk == null) {
+            chunk = new Chunk(chunkX, chunkY);
+            this.generateMines(chunkX, chunkY, chunk.mines);
+            this.restore(chunk);
+            this.chunks.put(key, chunk);
+        }
+        this.lastChunk = chunk;
+        return chunk;
+    }
+
+    private static Long chunkKey(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Generates the mines of a chunk from the world seed and the chunk coordinates.
+     */
+    private void generateMines(int chunkX, int chunkY, int[] mines) {
+        this.random.setSeed(SplitMix64.mix(this.seed ^ SplitMix64.mix(chunkKey(chunkX, chunkY))));
+        for (int y = 0; y < CHUNK_SIZE; y++) {
+            int mask = 0;
+            for (int x = 0; x < CHUNK_SIZE; x++) {
+                if ((int) (this.random.nextLong() >>> 54) < MINE_DENSITY) {
+                    mask |= 1 << x;
+                }
+            }
+            mines[y] = mask;
+        }
+
+        // Keep the origin and its neighbors free of mines
+        final int left = chunkX << CHUNK_BITS;
+        final int top = chunkY << CHUNK_BITS;
+        for (int y = -1; y <= 1; y++) {
+            for (int x = -1; x <= 1; x++) {
+                if (x >= left && x < left + CHUNK_SIZE && y >= top && y < top + CHUNK_SIZE) {
+                    mines[y - top] &= ~(1 << (x - left));
+                }
+            }
+        }
+    }
+
+    private static String storageKey(Chunk chunk) {
+        return "minesweeper.endless." + chunk.chunkX + "." + chunk.chunkY;
+    }
+
+    /**
+     * Writes the player changes of an evicted chunk to the store. The key of the chunk is listed first, so that no
+     * stored chunk is left behind by the next world. If the store is full, the changes of the chunk are lost.
+     */
+    private void evict(Chunk chunk) {
+        if (chunk == this.lastChunk) {
+            this.lastChunk = null;
+        }
+        if (!chunk.modified) {
+            return;
+        }
+
+        ByteWriter writer = new ByteWriter();
+        writer.writeByte(STATE_VERSION);
+        writer.writeLong(this.seed);
+        for (int y = 0; y < CHUNK_SIZE; y++) {
+            writer.writeVarInt(chunk.revealed[y]);
+            writer.writeVarInt(chunk.flagged[y]);
+        }
+        String key = storageKey(chunk);
+        if (this.storedKeys.add(key)) {
+            int length = this.storedKeyLines.length();
+            this.storedKeyLines.append(key).append('\n');
+            if (!this.store.save(STORED_KEYS_KEY, this.storedKeyLines.toString())) {
+                this.storedKeys.remove(key);
+                this.storedKeyLines.setLength(length);
+                return;
+            }
+        }
+        if (!this.store.save(key, Base64Url.encode(writer.toByteArray()))) {
+            // An older state of the chunk would be restored without the latest changes
+            this.store.remove(key);
+        }
+    }
+
+    /**
+     * Reads back the player changes of a chunk from the store. Values written for another world are ignored.
+     */
+    private void restore(Chunk chunk) {
+        String value = this.store.load(storageKey(chunk));
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+
+        try {
+            ByteReader reader = new ByteReader(Base64Url.decode(value));
+            if (reader.readByte() != STATE_VERSION || reader.readLong() != this.seed) {
+                return;
+            }
+            int[] revealed = new int[CHUNK_SIZE];
+            int[] flagged = new int[CHUNK_SIZE];
+            for (int y = 0; y < CHUNK_SIZE; y++) {
+                revealed[y] = reader.readVarInt();
+                flagged[y] = reader.readVarInt();
+            }
+            System.arraycopy(revealed, 0, chunk.revealed, 0, CHUNK_SIZE);
+            System.arraycopy(flagged, 0, chunk.flagged, 0, CHUNK_SIZE);
+            chunk.modified = true;
+        } catch (IllegalArgumentException e) {
+            // Corrupted values are dropped, the chunk starts covered again
+        }
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
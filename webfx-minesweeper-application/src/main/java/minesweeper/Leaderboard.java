@@ -0,0 +1,110 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * The best times of one difficulty, kept sorted from the fastest in a bounded array.
+ * The position of a time is found by binary search, so ranking a time is O(log n) and inserting it shifts at most
+ * the entries after it. Equal times rank after the ones already on the board.
+ */
+public final class Leaderboard {
+    private final HighScore[] entries;
+    private int size;
+
+    /**
+     * Constructor for the Leaderboard class.
+     *
+     * @param capacity The number of times kept.
+     */
+    public Leaderboard(int capacity) {
+        this.entries = new HighScore[capacity];
+    }
+
+    /**
+     * Gets the rank a time would get on the board.
+     *
+     * @param timeMillis The time in milliseconds.
+     * @return The rank from 0 for the fastest, equal to the capacity if the time is too slow to be kept.
+     */
+    public int rank(long timeMillis) {
+        // Upper bound: the first entry slower than the time
+        int low = 0;
+        int high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.entries[middle].getTimeMillis() <= timeMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks if a time would be kept on the board.
+     *
+     * @param timeMillis The time in milliseconds.
+     * @return True if the time ranks within the capacity.
+     */
+    public boolean qualifies(long timeMillis) {
+        return this.rank(timeMillis) < this.entries.length;
+    }
+
+    /**
+     * Adds a time to the board, dropping the slowest one if the board is full.
+     *
+     * @param highScore The time to add.
+     * @return The rank of the time, or -1 if it is too slow to be kept.
+     */
+    public int add(HighScore highScore) {
+        int rank = this.rank(highScore.getTimeMillis());
+        if (rank >= this.entries.length) {
+            return -1;
+        }
+        int moved = Math.min(this.size, this.entries.length - 1) - rank;
+        System.arraycopy(this.entries, rank, this.entries, rank + 1, moved);
+        this.entries[rank] = highScore;
+        this.size = Math.min(this.size + 1, this.entries.length);
+        return rank;
+    }
+
+    /**
+     * Gets a time of the board.
+     *
+     * @param rank The rank from 0 for the fastest.
+     * @return The time at that rank.
+     */
+    public HighScore get(int rank) {
+        if (rank < 0 || rank >= this.size) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " of " + this.size);
+        }
+        return this.entries[rank];
+    }
+
+    /**
+     * Gets the number of times on the board.
+     *
+     * @return The number of times.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the number of times the board keeps.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.entries.length;
+    }
+
+    /**
+     * Removes every time from the board.
+     */
+    public void clear() {
+        Arrays.fill(this.entries, 0, this.size, null);
+        this.size = 0;
+    }
+}
@@ -5,21 +5,24 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
-import javafx.util.Pair;
+
+import java.util.Map;
 
 /**
  * Main application class for the Minesweeper game.
  * Sets up the game board and handles the user interface.
  */
 public class MainApplication extends Application {
+    // Time skipped by the left and right keys during a replay
+    private static final long REPLAY_SEEK_MILLIS = 5000;
     private final Controller controller = new Controller();
+
     private Stage mainStage;
     private Scene mainScene;
     private StackPane root;
@@ -30,7 +33,15 @@ public class MainApplication extends Application {
     private Text highScoreText;
     private VBox highScoreDisplay;
     private Text highScoreDisplayText;
+    private Text statsDisplayText;
+    private TextField boardCodeField;
+    private Button skinButton;
+    private Text loadingText;
+    private Text loadTimingText;
     private HBox header;
+    private RendererType rendererType = RendererType.TILES;
+    private InfiniteController endlessController;
+    private boolean endless;
 
     /**
      * Creates the header for the Minesweeper game.
@@ -46,9 +57,10 @@ public class MainApplication extends Application {
         this.makeDigits(header, this.controller.getMinesLeft(), true);
 
         // Smiley face
-        Image smileyImage = ImagePreloader.getImage("images/minesweeper-basic/face-smile.png");
-        ImageView smileyImageView = new ImageView(smileyImage);
+        ImageView smileyImageView = new ImageView();
+        SpriteAtlas.showFace(smileyImageView, SpriteAtlas.FACE_SMILE);
         this.controller.setSmileyImage(smileyImageView);
+        this.endlessController = new InfiniteController(this.controller.getMinesLeft(), this.controller.getTimeElapsed(), smileyImageView);
         smileyImageView.setFitWidth(52);
         smileyImageView.setFitHeight(52);
         smileyImageView.setOnMouseClicked(event -> {
@@ -92,7 +104,175 @@ public class MainApplication extends Application {
         intermediateButton.setOnAction(event -> setDifficulty(Difficulty.INTERMEDIATE));
         expertButton.setOnAction(event -> setDifficulty(Difficulty.EXPERT));
 
-        this.menu.getChildren().addAll(text, beginnerButton, intermediateButton, expertButton);
+        // Endless world generated chunk by chunk as it is explored
+        Button endlessButton = new Button("Endless");
+        styleButton(endlessButton, javafx.scene.paint.Color.rgb(0, 128, 128), javafx.scene.paint.Color.rgb(0, 191, 191));
+        endlessButton.setOnAction(event -> startEndless());
+
+        // Cycle between the tile node, single canvas and pan and zoom viewport renderers
+        Button rendererButton = new Button(this.rendererButtonText());
+        styleButton(rendererButton, javafx.scene.paint.Color.rgb(85, 85, 85), javafx.scene.paint.Color.rgb(136, 136, 136));
+        rendererButton.setOnAction(event -> {
+            this.rendererType = this.rendererType.next();
+            rendererButton.setText(this.rendererButtonText());
+        });
+
+        // Toggle between random boards and boards that can be solved without guessing
+        Button noGuessButton = new Button(this.noGuessButtonText());
+        styleButton(noGuessButton, javafx.scene.paint.Color.rgb(85, 85, 85), javafx.scene.paint.Color.rgb(136, 136, 136));
+        noGuessButton.setOnAction(event -> {
+            this.controller.setNoGuess(!this.controller.isNoGuess());
+            noGuessButton.setText(this.noGuessButtonText());
+        });
+
+        // Cycle between the skins of the tiles, also with the S key during a game
+        this.skinButton = new Button(this.skinButtonText());
+        styleButton(this.skinButton, javafx.scene.paint.Color.rgb(85, 85, 85), javafx.scene.paint.Color.rgb(136, 136, 136));
+        this.skinButton.setOnAction(event -> this.nextSkin());
+
+        // Progress of the images loading in the background
+        this.loadingText = new Text();
+        this.loadingText.setFill(javafx.scene.paint.Color.rgb(170, 170, 170));
+        this.loadingText.setFont(javafx.scene.text.Font.font(12));
+        ImagePreloader.setProgressListener(this::updateLoadingText);
+        this.updateLoadingText();
+
+        this.menu.getChildren().addAll(text, beginnerButton, intermediateButton, expertButton, endlessButton,
+            this.makeCustomBoardInput(), this.makeBoardCodeInput(), rendererButton, noGuessButton, this.skinButton,
+            this.loadingText);
+    }
+
+    /**
+     * Shows the progress of the images loading, or how long they took once loaded.
+     */
+    private void updateLoadingText() {
+        if (ImagePreloader.hasFailed()) {
+            this.loadingText.setText("Some images failed to load");
+        } else if (ImagePreloader.isReady()) {
+            double millis = 0;
+            for (double loadMillis : ImagePreloader.getLoadMillis().values()) {
+                millis = Math.max(millis, loadMillis);
+            }
+            this.loadingText.setText("Images loaded in " + Math.round(millis) + " ms");
+        } else {
+            this.loadingText.setText("Loading images " + Math.round(ImagePreloader.getProgress() * 100) + "%");
+        }
+    }
+
+    /**
+     * Switches to the next skin, redrawing the board and the header in place.
+     */
+    private void nextSkin() {
+        SpriteAtlas.setSkin(SpriteAtlas.getSkin().next());
+        this.controller.refreshSkin();
+        this.endlessController.refreshSkin();
+        this.skinButton.setText(this.skinButtonText());
+    }
+
+    /**
+     * Gets the text of the skin toggle button.
+     * @return The text naming the selected skin.
+     */
+    private String skinButtonText() {
+        return "Skin: " + SpriteAtlas.getSkin();
+    }
+
+    /**
+     * Gets the text of the renderer toggle button.
+     * @return The text naming the selected renderer.
+     */
+    private String rendererButtonText() {
+        return "Renderer: " + this.rendererType;
+    }
+
+    /**
+     * Gets the text of the no-guess toggle button.
+     * @return The text telling whether no-guess boards are generated.
+     */
+    private String noGuessButtonText() {
+        return "No guess: " + (this.controller.isNoGuess() ? "On" : "Off");
+    }
+
+    /**
+     * Creates the input for starting a custom board with any number of rows, columns and mines.
+     * @return The custom board input.
+     */
+    private VBox makeCustomBoardInput() {
+        TextField rowsField = this.makeNumberField("Rows");
+        TextField colsField = this.makeNumberField("Columns");
+        TextField minesField = this.makeNumberField("Mines");
+        HBox fields = new HBox(5, rowsField, colsField, minesField);
+        fields.setAlignment(javafx.geometry.Pos.CENTER);
+
+        Text errorText = new Text();
+        errorText.setFill(javafx.scene.paint.Color.rgb(255, 85, 85));
+        errorText.setFont(javafx.scene.text.Font.font(12));
+
+        Button customButton = new Button("Custom");
+        styleButton(customButton, javafx.scene.paint.Color.rgb(102, 0, 204), javafx.scene.paint.Color.rgb(153, 51, 255));
+        customButton.setOnAction(event -> {
+            try {
+                BoardConfig config = BoardConfig.parse(rowsField.getText(), colsField.getText(), minesField.getText());
+                errorText.setText("");
+                this.startGame(config);
+            } catch (IllegalArgumentException e) {
+                errorText.setText(e.getMessage());
+            }
+        });
+
+        VBox customBoardInput = new VBox(5, fields, customButton, errorText);
+        customBoardInput.setAlignment(javafx.geometry.Pos.CENTER);
+        return customBoardInput;
+    }
+
+    /**
+     * Creates the input for replaying a board from its shareable code.
+     * @return The board code input.
+     */
+    private VBox makeBoardCodeInput() {
+        TextField codeField = new TextField();
+        codeField.setPromptText("Board code");
+        codeField.setBackground(new Background(new BackgroundFill(
+            javafx.scene.paint.Color.rgb(51, 51, 51),
+            null, null)));
+        codeField.setStyle("--body-text-color: white;");
+
+        Text errorText = new Text();
+        errorText.setFill(javafx.scene.paint.Color.rgb(255, 85, 85));
+        errorText.setFont(javafx.scene.text.Font.font(12));
+
+        Button playButton = new Button("Play code");
+        styleButton(playButton, javafx.scene.paint.Color.rgb(0, 102, 204), javafx.scene.paint.Color.rgb(0, 136, 255));
+        playButton.setOnAction(event -> {
+            try {
+                BoardCode code = BoardCode.decode(codeField.getText());
+                errorText.setText("");
+                this.startGame(code.toBoardConfig());
+                this.controller.playBoardCode(code);
+            } catch (IllegalArgumentException e) {
+                errorText.setText("Invalid board code: " + e.getMessage());
+            }
+        });
+
+        VBox boardCodeInput = new VBox(5, codeField, playButton, errorText);
+        boardCodeInput.setAlignment(javafx.geometry.Pos.CENTER);
+        return boardCodeInput;
+    }
+
+    /**
+     * Creates a small text field for entering a number.
+     * @param promptText The prompt text of the field.
+     * @return The text field.
+     */
+    private TextField makeNumberField(String promptText) {
+        TextField field = new TextField();
+        field.setPromptText(promptText);
+        field.setPrefColumnCount(5);
+        field.setBackground(new Background(new BackgroundFill(
+            javafx.scene.paint.Color.rgb(51, 51, 51),
+            null, null)));
+        field.setStyle("--body-text-color: white;");
+        return field;
     }
 
     private void styleButton(Button button, javafx.scene.paint.Color bgColor, javafx.scene.paint.Color borderColor) {
@@ -160,12 +340,44 @@ public class MainApplication extends Application {
         Text text = new Text("High Scores");
         text.setFill(javafx.scene.paint.Color.WHITE);
         text.setFont(javafx.scene.text.Font.font("Monospaced", 20));
-        this.highScoreDisplay.getChildren().add(text);
 
-        this.highScoreDisplayText = new Text(HighScore.getHighScoreText());
+        // Filled in when the display is shown, the high scores are loaded after the first paint
+        this.highScoreDisplayText = new Text();
         this.highScoreDisplayText.setFill(javafx.scene.paint.Color.WHITE);
         this.highScoreDisplayText.setFont(javafx.scene.text.Font.font("Monospaced", 12));
-        this.highScoreDisplay.getChildren().add(this.highScoreDisplayText);
+        VBox highScorePanel = new VBox(10, text, this.highScoreDisplayText);
+
+        // Statistics of the finished games, next to the high scores
+        Text statsTitle = new Text("Statistics");
+        statsTitle.setFill(javafx.scene.paint.Color.WHITE);
+        statsTitle.setFont(javafx.scene.text.Font.font("Monospaced", 20));
+        this.statsDisplayText = new Text();
+        this.statsDisplayText.setFill(javafx.scene.paint.Color.WHITE);
+        this.statsDisplayText.setFont(javafx.scene.text.Font.font("Monospaced", 12));
+        VBox statsPanel = new VBox(10, statsTitle, this.statsDisplayText);
+
+        HBox scorePanels = new HBox(30, highScorePanel, statsPanel);
+        scorePanels.setAlignment(javafx.geometry.Pos.TOP_CENTER);
+        this.highScoreDisplay.getChildren().add(scorePanels);
+
+        // Read-only field so the code of the current board can be copied and shared
+        this.boardCodeField = new TextField();
+        this.boardCodeField.setEditable(false);
+        this.boardCodeField.setPromptText("No board yet");
+        this.boardCodeField.setBackground(new Background(new BackgroundFill(
+            javafx.scene.paint.Color.rgb(51, 51, 51),
+            null, null)));
+        this.boardCodeField.setStyle("--body-text-color: white;");
+        Text boardCodeText = new Text("Board code");
+        boardCodeText.setFill(javafx.scene.paint.Color.WHITE);
+        boardCodeText.setFont(javafx.scene.text.Font.font("Monospaced", 12));
+        this.highScoreDisplay.getChildren().addAll(boardCodeText, this.boardCodeField);
+
+        // Load durations of the images and time until the first board could be played
+        this.loadTimingText = new Text();
+        this.loadTimingText.setFill(javafx.scene.paint.Color.rgb(170, 170, 170));
+        this.loadTimingText.setFont(javafx.scene.text.Font.font("Monospaced", 12));
+        this.highScoreDisplay.getChildren().add(this.loadTimingText);
 
         HBox highScoreButtons = new HBox(10);
         highScoreButtons.setAlignment(javafx.geometry.Pos.CENTER);
@@ -175,11 +387,20 @@ public class MainApplication extends Application {
         Button resetButton = new Button("Reset");
         styleButton(resetButton, javafx.scene.paint.Color.rgb(204, 0, 0), javafx.scene.paint.Color.rgb(255, 0, 0));
         resetButton.setOnAction(event -> {
-            HighScore.resetHighScores();
-            this.highScoreDisplayText.setText("No high scores yet!");
+            HighScoreStore.reset();
+            this.highScoreDisplayText.setText(HighScore.getHighScoreText());
         });
         highScoreButtons.getChildren().add(resetButton);
 
+        // Create a button to reset the statistics
+        Button resetStatsButton = new Button("Reset Stats");
+        styleButton(resetStatsButton, javafx.scene.paint.Color.rgb(204, 0, 0), javafx.scene.paint.Color.rgb(255, 0, 0));
+        resetStatsButton.setOnAction(event -> {
+            StatsStore.reset();
+            this.statsDisplayText.setText(StatsStore.getStatsText());
+        });
+        highScoreButtons.getChildren().add(resetStatsButton);
+
         // Create a button to close the high score display
         Button closeButton = new Button("Close");
         styleButton(closeButton, javafx.scene.paint.Color.rgb(85, 85, 85), javafx.scene.paint.Color.rgb(136, 136, 136));
@@ -214,9 +435,8 @@ public class MainApplication extends Application {
         this.makeHeader();
         this.gameRoot.getChildren().add(this.header);
 
-        // Create the default game board
-        Pane boardPane = this.setupBoard(0, 0, 1); // Initially empty
-        this.gameRoot.getChildren().add(boardPane);
+        // Placeholder for the game board, replaced once a board is chosen
+        this.gameRoot.getChildren().add(new Pane());
 
         this.makeMenu();
         this.makeHighScoreInput();
@@ -232,6 +452,30 @@ public class MainApplication extends Application {
         this.mainScene.setOnKeyPressed(event -> {
             if (event.getCode() == KeyCode.H) {
                 toggleHighScores();
+            } else if (event.getCode() == KeyCode.T && !this.endless && !this.menu.isVisible() && !this.highScoreDisplay.isVisible()) {
+                this.controller.hint();
+            } else if (event.getCode() == KeyCode.S && !this.menu.isVisible() && !this.highScoreInput.isVisible()) {
+                this.nextSkin();
+            } else if (event.getCode() == KeyCode.P && !this.endless && !this.menu.isVisible()
+                    && MineProbabilities.supports(this.controller.getBoardConfig())) {
+                this.controller.toggleProbabilities();
+            } else if (event.getCode() == KeyCode.R && !this.endless && !this.menu.isVisible()) {
+                if (this.controller.isReplaying()) {
+                    this.controller.stopReplay();
+                } else {
+                    this.controller.startReplay();
+                }
+            } else if (this.controller.isReplaying()) {
+                // Replay controls
+                switch (event.getCode()) {
+                    case SPACE -> this.controller.toggleReplayPause();
+                    case LEFT -> this.controller.seekReplay(-REPLAY_SEEK_MILLIS);
+                    case RIGHT -> this.controller.seekReplay(REPLAY_SEEK_MILLIS);
+                    case UP -> this.controller.changeReplaySpeed(2);
+                    case DOWN -> this.controller.changeReplaySpeed(0.5);
+                    default -> {
+                    }
+                }
             }
         });
         // Set dark background
@@ -262,11 +506,36 @@ public class MainApplication extends Application {
     @Override
     public void start(Stage stage) {
         this.mainStage = stage;
-        HighScore.readHighScores();
+        // Images download in the background while the menu is built and shown
+        ImagePreloader.preloadAllImages();
 
         this.makeGameRoot();
         this.makeRoot();
         this.makeScene();
+
+        // Resume the game left in progress when the page was closed
+        GameSnapshot saved = Controller.loadSavedGame();
+        if (saved != null) {
+            this.startGame(saved.getConfig());
+            this.controller.resumeSavedGame(saved);
+        }
+
+        // The high scores are only needed once a game is won or the high score display is shown
+        HighScoreStore.loadLater();
+    }
+
+    /**
+     * Gets the text of the load timings shown with the high scores.
+     * @return One line per loaded image, then the time to interactive.
+     */
+    private String loadTimingText() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Double> entry : ImagePreloader.getLoadMillis().entrySet()) {
+            text.append(entry.getKey()).append(": ").append(Math.round(entry.getValue())).append(" ms\n");
+        }
+        double timeToInteractive = ImagePreloader.getTimeToInteractive();
+        text.append("Interactive after ").append(timeToInteractive < 0 ? "-" : Math.round(timeToInteractive) + " ms");
+        return text.toString();
     }
 
     /**
@@ -277,7 +546,7 @@ public class MainApplication extends Application {
         // Handle high score submission
         this.highScoreInput.setVisible(false);
         this.menu.setVisible(true);
-        this.saveHighScore(playerName, this.controller.getTimeElapsedSeconds(), this.controller.getDifficulty());
+        HighScoreStore.add(playerName, this.controller.getTimeElapsedMillis(), this.controller.getDifficulty());
         this.highScoreDisplayText.setText(HighScore.getHighScoreText());
     }
 
@@ -287,52 +556,43 @@ public class MainApplication extends Application {
     private void toggleHighScores() {
         if (this.highScoreDisplay.isVisible()) {
             this.highScoreDisplay.setVisible(false);
-            this.controller.resumeGame();
+            if (this.endless) {
+                this.endlessController.resumeGame();
+            } else {
+                this.controller.resumeGame();
+            }
             return;
         }
 
-        this.controller.pauseGame();
+        if (this.endless) {
+            this.endlessController.pauseGame();
+        } else {
+            this.controller.pauseGame();
+        }
+        // Endless worlds have no board code
+        BoardCode boardCode = this.endless ? null : this.controller.getBoardCode();
+        this.boardCodeField.setText(boardCode == null ? "" : boardCode.encode());
+        this.loadTimingText.setText(this.loadTimingText());
+        HighScoreStore.load();
+        this.highScoreDisplayText.setText(HighScore.getHighScoreText());
+        this.statsDisplayText.setText(StatsStore.getStatsText());
         this.highScoreDisplay.setVisible(true);
     }
 
     /**
-     * Saves the high score to the high score list.
-     * @param playerName The name of the player.
-     * @param score The score of the player.
-     * @param difficulty The difficulty level of the game.
-     */
-    private void saveHighScore(String playerName, int score, Difficulty difficulty) {
-        HighScore.addHighScore(playerName, score, difficulty);
-        HighScore.writeHighScores();
-    }
-
-    /**
-     * Sets up the game board with the given number of rows and columns.
-     * @param rows The number of rows in the game board.
-     * @param cols The number of columns in the game board.
-     * @param tileSize The size of each tile in the game board.
-     * @return The game board as a GridPane.
+     * Sets up the game board for the given board configuration.
+     * @param config The board configuration.
+     * @return The game board wrapped in a bordered pane.
      */
-    private Pane setupBoard(int rows, int cols, int tileSize) {
+    private Pane setupBoard(BoardConfig config) {
         // Game area
         VBox borderBox = new VBox();
         borderBox.setAlignment(Pos.CENTER);
         this.add3DBorder(borderBox);
 
-        GridPane gridPane = new GridPane();
-        gridPane.setAlignment(Pos.CENTER);
-        borderBox.getChildren().add(gridPane);
-        gridPane.setHgap(2);
-        gridPane.setVgap(2);
-
-        // Create a XY grid of images for the game area
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                ImageView imageView = getSpaceView(tileSize);
-                gridPane.add(imageView, col, row);
-                this.controller.addToBoardMap(imageView, new Pair<>(row, col));
-            }
-        }
+        BoardRenderer renderer = this.rendererType.createRenderer(config, this.controller);
+        this.controller.setRenderer(renderer);
+        borderBox.getChildren().add(renderer.getNode());
 
         return borderBox;
     }
@@ -341,7 +601,11 @@ public class MainApplication extends Application {
      * Resets the game to the initial state.
      */
     private void resetGame() {
-        this.controller.setup();
+        if (this.endless) {
+            this.endlessController.setup();
+        } else {
+            this.controller.setup();
+        }
     }
 
     /**
@@ -349,52 +613,52 @@ public class MainApplication extends Application {
      * @param difficulty The difficulty level to set.
      */
     private void setDifficulty(Difficulty difficulty) {
-        // Preload all images when difficulty is selected to prevent lag during gameplay
-        ImagePreloader.preloadAllImages();
+        this.startGame(BoardConfig.of(difficulty));
+    }
 
-        this.controller.setDifficulty(difficulty);
-        this.controller.clearBoardMap();
-        Pane boardPane = setupBoard(difficulty.getRows(), difficulty.getCols(), difficulty.getTileSize());
-        this.gameRoot.setMinWidth(difficulty.getScreenWidth());
-        this.gameRoot.setMaxWidth(difficulty.getScreenWidth());
-        this.gameRoot.setMinHeight(difficulty.getScreenHeight());
-        this.gameRoot.setMaxHeight(difficulty.getScreenHeight());
-        ((VBox) this.root.getChildren().get(0)).getChildren().set(1, boardPane);
-        this.menu.setVisible(false);
-        this.gameRoot.setVisible(true);
-        resetGame();
+    /**
+     * Sets up the game board for the given configuration and starts a new game.
+     * @param config The board configuration to play.
+     */
+    private void startGame(BoardConfig config) {
+        this.endless = false;
+        this.endlessController.stop();
+        this.controller.setBoardConfig(config);
+        this.showBoard(setupBoard(config), config.getScreenWidth(), config.getScreenHeight());
     }
 
     /**
-     * Creates an ImageView for a space on the game board.
-     * @return The ImageView for the space.
+     * Starts a new game in a new endless world.
      */
-    private ImageView getSpaceView(int size) {
-        Image image = ImagePreloader.getImage("images/minesweeper-basic/cover.png");
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(size);
-        imageView.setFitHeight(size);
-        imageView.setOnMouseClicked(event -> {
-            // Handle both left (PRIMARY) and right (SECONDARY) clicks
-            if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
-                boolean leftClick = event.getButton() == MouseButton.PRIMARY;
-                this.controller.onSpaceClicked(imageView, leftClick);
-            }
-        });
-        imageView.setOnMousePressed(event -> {
-            // Handle both left and right mouse button presses
-            if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
-                boolean leftClick = event.getButton() == MouseButton.PRIMARY;
-                this.controller.spaceClickDown(imageView, leftClick);
-            }
-        });
-        imageView.setOnMouseReleased(event -> {
-            // Handle both left and right mouse button releases
-            if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
-                this.controller.spaceClickUp(imageView);
-            }
+    private void startEndless() {
+        this.endless = true;
+        this.controller.stop();
+        VBox borderBox = new VBox();
+        borderBox.setAlignment(Pos.CENTER);
+        this.add3DBorder(borderBox);
+        borderBox.getChildren().add(this.endlessController.getNode());
+        this.showBoard(borderBox, InfiniteController.SCREEN_WIDTH, InfiniteController.SCREEN_HEIGHT);
+    }
+
+    /**
+     * Shows the game board in place of the previous one and starts a new game.
+     * The board is only shown once the images are loaded, the menu shows their progress meanwhile.
+     * @param boardPane The game board wrapped in a bordered pane.
+     * @param screenWidth The width of the game screen.
+     * @param screenHeight The height of the game screen.
+     */
+    private void showBoard(Pane boardPane, int screenWidth, int screenHeight) {
+        this.gameRoot.setMinWidth(screenWidth);
+        this.gameRoot.setMaxWidth(screenWidth);
+        this.gameRoot.setMinHeight(screenHeight);
+        this.gameRoot.setMaxHeight(screenHeight);
+        ((VBox) this.root.getChildren().get(0)).getChildren().set(1, boardPane);
+        resetGame();
+        ImagePreloader.whenReady(() -> {
+            this.menu.setVisible(false);
+            this.gameRoot.setVisible(true);
+            ImagePreloader.markInteractive();
         });
-        return imageView;
     }
 
     /**
@@ -420,8 +684,8 @@ public class MainApplication extends Application {
         HBox digitsLeft = new HBox();
         // fill the width
         for (int imageNum = 0; imageNum < 3; imageNum++) {
-            Image image = ImagePreloader.getImage("images/digits/0.png");
-            ImageView imageView = new ImageView(image);
+            ImageView imageView = new ImageView();
+            SpriteAtlas.showDigit(imageView, 0);
             imageView.setFitWidth(28);
             imageView.setFitHeight(50);
             digitsLeft.getChildren().add(imageView);
@@ -0,0 +1,118 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * Places mines on a {@link BoardState} with a partial Fisher-Yates shuffle.
+ * The shuffled array holds every space outside the safe zone of the first click but is never materialized:
+ * it is the identity except for the entries already swapped, which are kept in a small primitive hash table.
+ * Placing {@code m} mines therefore takes O(m) time and memory whatever the board size or mine density,
+ * never retries, and doesn't box any value.
+ */
+public final class MinePlacer {
+    private static final int MIN_TABLE_SIZE = 16;
+
+    // Open addressing table of the swapped entries, keys are stored plus one so that 0 marks an empty slot
+    private int[] keys = new int[MIN_TABLE_SIZE];
+    private int[] values = new int[MIN_TABLE_SIZE];
+    private int tableMask;
+    private int tableShift;
+
+    // Sorted indexes of the safe zone around the first click
+    private final int[] safe = new int[BoardConfig.SAFE_SPACES];
+    private int safeCount;
+
+    /**
+     * Places mines on the board, keeping the clicked space and its neighbors free of mines.
+     *
+     * @param board      The board to place the mines on, expected to be empty.
+     * @param mines      The number of mines to place.
+     * @param clickIndex The index of the first clicked space.
+     * @param random     The random number generator to use.
+     * @throws IllegalArgumentException if there are more mines than spaces outside the safe zone.
+     */
+    public void placeMines(BoardState board, int mines, int clickIndex, SplitMix64 random) {
+        this.collectSafeZone(board, clickIndex);
+        final int candidates = board.getSize() - this.safeCount;
+        if (mines > candidates) {
+            throw new IllegalArgumentException("Cannot place " + mines + " mines in " + candidates + " spaces");
+        }
+        this.clearTable(mines);
+
+        for (int i = 0; i < mines; i++) {
+            int j = i + random.nextInt(candidates - i);
+            // Swap entries i and j of the virtual array, entry i is never read again
+            int picked = this.get(j);
+            this.put(j, this.get(i));
+            board.placeMine(this.toSpaceIndex(picked));
+        }
+    }
+
+    /**
+     * Collects the sorted indexes of the clicked space and its neighbors.
+     */
+    private void collectSafeZone(BoardState board, int clickIndex) {
+        final int row = board.rowOf(clickIndex);
+        final int col = board.colOf(clickIndex);
+        this.safeCount = 0;
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, board.getRows() - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, board.getCols() - 1); j++) {
+                this.safe[this.safeCount++] = board.index(i, j);
+            }
+        }
+    }
+
+    /**
+     * Converts a position in the array of candidate spaces to a board space index by skipping the safe zone.
+     */
+    private int toSpaceIndex(int candidate) {
+        int index = candidate;
+        for (int i = 0; i < this.safeCount && this.safe[i] <= index; i++) {
+            index++;
+        }
+        return index;
+    }
+
+    private void clearTable(int entries) {
+        int size = MIN_TABLE_SIZE;
+        int bits = 4;
+        while (size < entries * 2) {
+            size <<= 1;
+            bits++;
+        }
+        if (this.keys.length < size) {
+            this.keys = new int[size];
+            this.values = new int[size];
+        } else {
+            Arrays.fill(this.keys, 0, size, 0);
+        }
+        this.tableMask = size - 1;
+        this.tableShift = 32 - bits;
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing, keeping the high bits of the product
+        return (key * 0x9E3779B9) >>> this.tableShift;
+    }
+
+    private int get(int key) {
+        for (int slot = this.slot(key); ; slot = (slot + 1) & this.tableMask) {
+            int stored = this.keys[slot];
+            if (stored == 0) {
+                return key;
+            }
+            if (stored == key + 1) {
+                return this.values[slot];
+            }
+        }
+    }
+
+    private void put(int key, int value) {
+        int slot = this.slot(key);
+        while (this.keys[slot] != 0 && this.keys[slot] != key + 1) {
+            slot = (slot + 1) & this.tableMask;
+        }
+        this.keys[slot] = key + 1;
+        this.values[slot] = value;
+    }
+}
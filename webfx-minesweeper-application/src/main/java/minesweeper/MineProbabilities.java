@@ -0,0 +1,520 @@
+package minesweeper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the exact probability that each covered space is a mine, given the revealed numbers and the number
+ * of mines of the board. Like the {@link MinesweeperSolver}, flags are ignored since they may be wrong.
+ * <p>
+ * The spaces the solver proves safe or mines are settled first. The remaining constraints of the revealed numbers
+ * are split into independent components of the frontier (covered spaces next to a number), and the mine layouts of
+ * each component are enumerated separately and counted per number of mines. Covered spaces away from the frontier
+ * (the interior) don't touch any number, so every layout of the frontier with {@code s} mines is weighted by the
+ * {@code C(interior, minesLeft - s)} ways of placing the other mines in the interior.
+ * <p>
+ * Enumerated components are memoized by their cells and constraints, so after a reveal or a flag only the
+ * components that changed are enumerated again. Components with too many layouts to enumerate are treated as
+ * interior spaces, in which case the probabilities are approximate (see {@link #isExact()}).
+ */
+public final class MineProbabilities {
+    // Larger boards aren't shaded: after a reveal in the middle of a 128x128 game, an update already takes
+    // about 30 ms on average, and the cost grows with the number of spaces
+    public static final int MAX_SPACES = 1 << 14;
+    private static final int MAX_NEIGHBORS = 8;
+    // Search nodes allowed to enumerate a single component
+    private static final int MAX_SEARCH_NODES = 1 << 21;
+
+    /**
+     * The mine layouts of a component, counted per number of mines. Counts are scaled by the same factor,
+     * which cancels out in the probabilities.
+     */
+    private static final class Component {
+        private final int[] cells;
+        // Number of layouts with k mines, or null if the component was too large to enumerate
+        private final double[] layouts;
+        // Number of layouts with k mines where cell i is a mine, at [i * (cells + 1) + k]
+        private final double[] mineLayouts;
+
+        private Component(int[] cells, double[] layouts, double[] mineLayouts) {
+            this.cells = cells;
+            this.layouts = layouts;
+            this.mineLayouts = mineLayouts;
+        }
+    }
+
+    private final MinesweeperSolver solver = new MinesweeperSolver();
+    private double[] probabilities = new double[0];
+    private Map<String, Component> cache = new HashMap<>();
+    private double interiorProbability;
+    private int enumerated;
+    private boolean exact;
+
+    // Union-find of the frontier spaces, and the constraints of the revealed numbers
+    private int[] parent = new int[0];
+    private int[] constraintCells = new int[0];
+    private int[] constraintSizes = new int[0];
+    private int[] constraintMines = new int[0];
+    private int constraintCount;
+
+    // Enumeration state of the current component
+    private int[] cellConstraints = new int[0];
+    private int[] cellConstraintCounts = new int[0];
+    private int[] need = new int[0];
+    private int[] left = new int[0];
+    private int[] assignedMines = new int[0];
+    private int nodes;
+
+    private double[] logFactorials = {0};
+
+    /**
+     * Checks if the probabilities of a board configuration can be shown.
+     *
+     * @param config The board configuration.
+     * @return True if the board is small enough to follow after each reveal.
+     */
+    public static boolean supports(BoardConfig config) {
+        return config.getTotalSpaces() <= MAX_SPACES;
+    }
+
+    /**
+     * Computes the probabilities of the board. Only the components that changed since the last update are enumerated.
+     *
+     * @param board The board, with at least one revealed space.
+     * @param mines The number of mines of the board.
+     * @return False if the revealed numbers don't match any layout of the mines, in which case no probability is known.
+     */
+    public boolean update(BoardState board, int mines) {
+        final int size = board.getSize();
+        if (this.probabilities.length != size) {
+            this.probabilities = new double[size];
+            this.parent = new int[size];
+        }
+        this.solver.solve(board);
+        this.buildConstraints(board);
+
+        // Join the cells sharing a constraint into components
+        for (int index = 0; index < size; index++) {
+            this.parent[index] = index;
+        }
+        for (int c = 0; c < this.constraintCount; c++) {
+            final int start = c * MAX_NEIGHBORS;
+            for (int i = start + 1; i < start + this.constraintSizes[c]; i++) {
+                this.union(this.constraintCells[start], this.constraintCells[i]);
+            }
+        }
+
+        // Group the constraints of each component, then enumerate or reuse them
+        final Map<Integer, List<Integer>> componentConstraints = new HashMap<>();
+        for (int c = 0; c < this.constraintCount; c++) {
+            componentConstraints.computeIfAbsent(this.find(this.constraintCells[c * MAX_NEIGHBORS]), root -> new ArrayList<>()).add(c);
+        }
+        int knownMines = 0;
+        int interior = 0;
+        for (int index = 0; index < size; index++) {
+            if (board.isRevealed(index)) {
+                this.probabilities[index] = Double.NaN;
+            } else if (this.solver.isMine(index)) {
+                this.probabilities[index] = 1;
+                knownMines++;
+            } else if (this.solver.isSafe(index)) {
+                this.probabilities[index] = 0;
+            } else if (!componentConstraints.containsKey(this.find(index))) {
+                interior++;
+            }
+        }
+
+        final Map<String, Component> used = new HashMap<>();
+        final List<Component> components = new ArrayList<>();
+        final List<int[]> unenumerated = new ArrayList<>();
+        this.enumerated = 0;
+        this.exact = true;
+        for (List<Integer> constraints : componentConstraints.values()) {
+            final String key = this.key(constraints);
+            Component component = this.cache.get(key);
+            if (component == null) {
+                component = this.enumerate(constraints);
+                this.enumerated++;
+            }
+            used.put(key, component);
+            if (component.layouts == null) {
+                this.exact = false;
+                unenumerated.add(component.cells);
+                interior += component.cells.length;
+            } else {
+                components.add(component);
+            }
+        }
+        // Forget the components that are gone
+        this.cache = used;
+
+        if (!this.combine(components, interior, mines - knownMines)) {
+            return false;
+        }
+        final double interiorProbability = this.interiorProbability;
+        for (int index = 0; index < size; index++) {
+            if (!board.isRevealed(index) && !this.solver.isMine(index) && !this.solver.isSafe(index)
+                    && !componentConstraints.containsKey(this.find(index))) {
+                this.probabilities[index] = interiorProbability;
+            }
+        }
+        for (int[] cells : unenumerated) {
+            for (int cell : cells) {
+                this.probabilities[cell] = interiorProbability;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the probability that a space is a mine, as of the last update.
+     *
+     * @param index The index of the space.
+     * @return The probability between 0 and 1, or NaN if the space is revealed.
+     */
+    public double get(int index) {
+        return this.probabilities[index];
+    }
+
+    /**
+     * Checks if the last update enumerated every component. Otherwise the spaces of the components that were
+     * too large are given the probability of the interior spaces.
+     *
+     * @return True if the probabilities are exact.
+     */
+    public boolean isExact() {
+        return this.exact;
+    }
+
+    /**
+     * Gets the number of components enumerated by the last update, the other ones were reused.
+     *
+     * @return The number of enumerated components.
+     */
+    public int getEnumeratedCount() {
+        return this.enumerated;
+    }
+
+    /**
+     * Builds the constraint of every revealed number on its covered neighbors that the solver couldn't prove.
+     */
+    private void buildConstraints(BoardState board) {
+        final int rows = board.getRows();
+        final int cols = board.getCols();
+        this.constraintCount = 0;
+        for (int index = 0; index < board.getSize(); index++) {
+            if (!board.isRevealed(index) || board.isMine(index) || board.getNumAdjacentMines(index) == 0) {
+                continue;
+            }
+
+            final int c = this.constraintCount;
+            if (this.constraintSizes.length <= c) {
+                final int capacity = Math.max(64, c * 2);
+                this.constraintCells = copyOf(this.constraintCells, capacity * MAX_NEIGHBORS);
+                this.constraintSizes = copyOf(this.constraintSizes, capacity);
+                this.constraintMines = copyOf(this.constraintMines, capacity);
+            }
+            final int row = index / cols;
+            final int col = index - row * cols;
+            int cellCount = 0;
+            int mineCount = board.getNumAdjacentMines(index);
+            for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, rows - 1); i++) {
+                for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, cols - 1); j++) {
+                    final int neighbor = i * cols + j;
+                    if (board.isRevealed(neighbor) || this.solver.isSafe(neighbor)) {
+                        continue;
+                    }
+                    if (this.solver.isMine(neighbor)) {
+                        mineCount--;
+                    } else {
+                        this.constraintCells[c * MAX_NEIGHBORS + cellCount++] = neighbor;
+                    }
+                }
+            }
+            if (cellCount > 0) {
+                this.constraintSizes[c] = cellCount;
+                this.constraintMines[c] = mineCount;
+                this.constraintCount++;
+            }
+        }
+    }
+
+    /**
+     * Gets the memoization key of a component: its constraints, which also list all of its cells.
+     */
+    private String key(List<Integer> constraints) {
+        final StringBuilder key = new StringBuilder();
+        for (int c : constraints) {
+            final int start = c * MAX_NEIGHBORS;
+            for (int i = start; i < start + this.constraintSizes[c]; i++) {
+                key.append(this.constraintCells[i]).append(',');
+            }
+            key.append('=').append(this.constraintMines[c]).append(';');
+        }
+        return key.toString();
+    }
+
+    /**
+     * Counts the mine layouts of a component by backtracking over its cells, in the order the constraints list them
+     * so that constraints are completed early and prune the search.
+     */
+    private Component enumerate(List<Integer> constraints) {
+        final Map<Integer, Integer> local = new HashMap<>();
+        final List<Integer> order = new ArrayList<>();
+        for (int c : constraints) {
+            final int start = c * MAX_NEIGHBORS;
+            for (int i = start; i < start + this.constraintSizes[c]; i++) {
+                if (!local.containsKey(this.constraintCells[i])) {
+                    local.put(this.constraintCells[i], order.size());
+                    order.add(this.constraintCells[i]);
+                }
+            }
+        }
+        final int n = order.size();
+        final int[] cells = toArray(order);
+
+        final int constraintCount = constraints.size();
+        if (this.cellConstraintCounts.length < n) {
+            this.cellConstraints = new int[n * MAX_NEIGHBORS];
+            this.cellConstraintCounts = new int[n];
+            this.assignedMines = new int[n];
+        }
+        if (this.need.length < constraintCount) {
+            this.need = new int[constraintCount];
+            this.left = new int[constraintCount];
+        }
+        for (int i = 0; i < n; i++) {
+            this.cellConstraintCounts[i] = 0;
+        }
+        for (int k = 0; k < constraintCount; k++) {
+            final int c = constraints.get(k);
+            final int start = c * MAX_NEIGHBORS;
+            this.need[k] = this.constraintMines[c];
+            this.left[k] = this.constraintSizes[c];
+            for (int i = start; i < start + this.constraintSizes[c]; i++) {
+                final int cell = local.get(this.constraintCells[i]);
+                this.cellConstraints[cell * MAX_NEIGHBORS + this.cellConstraintCounts[cell]++] = k;
+            }
+        }
+
+        final double[] layouts = new double[n + 1];
+        final double[] mineLayouts = new double[n * (n + 1)];
+        this.nodes = 0;
+        if (!this.search(0, 0, n, layouts, mineLayouts)) {
+            return new Component(cells, null, null);
+        }
+
+        // Scale the counts so that they can be multiplied across many components without overflowing
+        double max = 0;
+        for (double count : layouts) {
+            max = Math.max(max, count);
+        }
+        if (max > 0) {
+            for (int k = 0; k <= n; k++) {
+                layouts[k] /= max;
+            }
+            for (int i = 0; i < mineLayouts.length; i++) {
+                mineLayouts[i] /= max;
+            }
+        }
+        return new Component(cells, layouts, mineLayouts);
+    }
+
+    /**
+     * Assigns the cell at the given depth as a mine, then as safe, as long as every constraint can still be met.
+     *
+     * @return False if the search ran out of nodes.
+     */
+    private boolean search(int depth, int mineCount, int n, double[] layouts, double[] mineLayouts) {
+        if (++this.nodes > MAX_SEARCH_NODES) {
+            return false;
+        }
+        if (depth == n) {
+            // Every constraint has no cell left, so the ones allowing a safe or mine cell are all met
+            layouts[mineCount]++;
+            for (int i = 0; i < mineCount; i++) {
+                mineLayouts[this.assignedMines[i] * (n + 1) + mineCount]++;
+            }
+            return true;
+        }
+
+        final int start = depth * MAX_NEIGHBORS;
+        final int end = start + this.cellConstraintCounts[depth];
+        boolean canBeMine = true;
+        boolean canBeSafe = true;
+        for (int i = start; i < end; i++) {
+            final int k = this.cellConstraints[i];
+            canBeMine &= this.need[k] > 0;
+            canBeSafe &= this.left[k] > this.need[k];
+        }
+
+        for (int i = start; i < end; i++) {
+            this.left[this.cellConstraints[i]]--;
+        }
+        boolean completed = true;
+        if (canBeMine) {
+            for (int i = start; i < end; i++) {
+                this.need[this.cellConstraints[i]]--;
+            }
+            this.assignedMines[mineCount] = depth;
+            completed = this.search(depth + 1, mineCount + 1, n, layouts, mineLayouts);
+            for (int i = start; i < end; i++) {
+                this.need[this.cellConstraints[i]]++;
+            }
+        }
+        if (completed && canBeSafe) {
+            completed = this.search(depth + 1, mineCount, n, layouts, mineLayouts);
+        }
+        for (int i = start; i < end; i++) {
+            this.left[this.cellConstraints[i]]++;
+        }
+        return completed;
+    }
+
+    /**
+     * Combines the layouts of the components with the ways of placing the other mines in the interior, and sets
+     * the probabilities of the component cells and of the interior.
+     *
+     * @return False if no layout matches the number of mines left.
+     */
+    private boolean combine(List<Component> components, int interior, int minesLeft) {
+        final int count = components.size();
+        // Products of the layout counts of the components before and after each component, per number of mines
+        final double[][] before = new double[count + 1][];
+        final double[][] after = new double[count + 1][];
+        before[0] = new double[]{1};
+        after[count] = new double[]{1};
+        for (int i = 0; i < count; i++) {
+            before[i + 1] = multiply(before[i], components.get(i).layouts);
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            after[i] = multiply(after[i + 1], components.get(i).layouts);
+        }
+
+        // Ways of placing the other mines in the interior, in the log domain then scaled to the largest one
+        final double[] all = before[count];
+        final double[] weights = new double[all.length];
+        double maxLog = Double.NEGATIVE_INFINITY;
+        for (int s = 0; s < all.length; s++) {
+            maxLog = Math.max(maxLog, this.logBinomial(interior, minesLeft - s));
+        }
+        if (maxLog == Double.NEGATIVE_INFINITY) {
+            return false;
+        }
+        for (int s = 0; s < all.length; s++) {
+            weights[s] = Math.exp(this.logBinomial(interior, minesLeft - s) - maxLog);
+        }
+
+        double total = 0;
+        double interiorMines = 0;
+        for (int s = 0; s < all.length; s++) {
+            total += all[s] * weights[s];
+            interiorMines += all[s] * weights[s] * (minesLeft - s);
+        }
+        if (total <= 0) {
+            return false;
+        }
+        this.interiorProbability = interior > 0 ? interiorMines / total / interior : 0;
+
+        for (int i = 0; i < count; i++) {
+            final Component component = components.get(i);
+            final int n = component.cells.length;
+            final double[] rest = multiply(before[i], after[i + 1]);
+            // Weight of the layouts of this component with k mines, summed over the layouts of the others
+            final double[] kWeights = new double[n + 1];
+            double componentTotal = 0;
+            for (int k = 0; k <= n; k++) {
+                if (component.layouts[k] == 0) {
+                    continue;
+                }
+                for (int s = 0; s < rest.length && k + s < weights.length; s++) {
+                    kWeights[k] += rest[s] * weights[k + s];
+                }
+                componentTotal += component.layouts[k] * kWeights[k];
+            }
+            for (int cell = 0; cell < n; cell++) {
+                double mine = 0;
+                for (int k = 0; k <= n; k++) {
+                    mine += component.mineLayouts[cell * (n + 1) + k] * kWeights[k];
+                }
+                this.probabilities[component.cells[cell]] = mine / componentTotal;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Multiplies two polynomials of layout counts per number of mines, scaled to keep the largest coefficient at 1.
+     */
+    private static double[] multiply(double[] first, double[] second) {
+        final double[] product = new double[first.length + second.length - 1];
+        double max = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < second.length; j++) {
+                product[i + j] += first[i] * second[j];
+            }
+        }
+        for (double coefficient : product) {
+            max = Math.max(max, coefficient);
+        }
+        if (max > 0) {
+            for (int i = 0; i < product.length; i++) {
+                product[i] /= max;
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Gets the logarithm of the binomial coefficient C(n, k), or negative infinity if it is 0.
+     */
+    private double logBinomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (this.logFactorials.length <= n) {
+            final double[] grown = new double[Math.max(n + 1, this.logFactorials.length * 2)];
+            System.arraycopy(this.logFactorials, 0, grown, 0, this.logFactorials.length);
+            for (int i = this.logFactorials.length; i < grown.length; i++) {
+                grown[i] = grown[i - 1] + Math.log(i);
+            }
+            this.logFactorials = grown;
+        }
+        return this.logFactorials[n] - this.logFactorials[k] - this.logFactorials[n - k];
+    }
+
+    private int find(int index) {
+        while (this.parent[index] != index) {
+            this.parent[index] = this.parent[this.parent[index]];
+            index = this.parent[index];
+        }
+        return index;
+    }
+
+    private void union(int first, int second) {
+        final int firstRoot = this.find(first);
+        final int secondRoot = this.find(second);
+        if (firstRoot != secondRoot) {
+            this.parent[secondRoot] = firstRoot;
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        final int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        final int[] copy = new int[length];
+        System.arraycopy(array, 0, copy, 0, array.length);
+        return copy;
+    }
+}
@@ -0,0 +1,486 @@
+package minesweeper;
+
+/**
+ * The rules of a Minesweeper game, without any user interface.
+ * A game is started with {@link #newGame}, the mines are placed from the seed on the first reveal (keeping the
+ * revealed space and its neighbors free of mines), and the game is then played with {@link #reveal},
+ * {@link #chord} and {@link #toggleFlag} until it is won or lost.
+ * <p>
+ * Every action records the indexes of the spaces whose tile changed in a batch that stays valid until the next
+ * action, so a user interface only has to redraw those spaces (see {@link #getTile}). The engine reuses its buffers
+ * between games of the same size, so playing many games doesn't allocate.
+ */
+public final class MinesweeperEngine {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private BoardConfig config;
+    private BoardState board;
+    private final FloodFill floodFill = new FloodFill();
+    // Labelled once the mines are placed on boards small enough, copies of a game reveal with the flood fill alone
+    private final Openings openings = new Openings();
+    private boolean labelled;
+    private final MinePlacer minePlacer = new MinePlacer();
+    private final SplitMix64 random = new SplitMix64(0);
+    private long seed;
+    private int symmetry;
+    private int firstClick = -1;
+    // Board the mines are generated on before being mirrored
+    private BoardState generated;
+
+    private GameState state = GameState.READY;
+    private int revealedSpaces;
+    private int flags;
+
+    private int[] changed = new int[INITIAL_CAPACITY];
+    private int changedCount;
+
+    /**
+     * Starts a new game. The board is reused if it has the same size as the previous one.
+     *
+     * @param config The board configuration.
+     * @param seed   The seed the mines are placed from.
+     */
+    public void newGame(BoardConfig config, long seed) {
+        this.newGame(config, seed, BoardSymmetry.IDENTITY);
+    }
+
+    /**
+     * Starts a new game on a mirrored board: the mines are generated as for the original board and then mirrored,
+     * see {@link BoardSymmetry}.
+     *
+     * @param config   The board configuration.
+     * @param seed     The seed the mines are placed from.
+     * @param symmetry The symmetry applied to the generated board.
+     */
+    public void newGame(BoardConfig config, long seed, int symmetry) {
+        final int rows = config.getRows();
+        final int cols = config.getCols();
+        if (this.board == null || this.board.getRows() != rows || this.board.getCols() != cols) {
+            this.board = new BoardState(rows, cols);
+        } else {
+            this.board.clear();
+        }
+        this.config = config;
+        this.seed = seed;
+        this.symmetry = symmetry;
+        this.firstClick = -1;
+        this.labelled = false;
+        this.state = GameState.READY;
+        this.revealedSpaces = 0;
+        this.flags = 0;
+        this.changedCount = 0;
+    }
+
+    /**
+     * Copies the game of another engine into this one, e.g. to explore moves without changing the original game.
+     * The openings aren't copied, so that copies kept aside like replay keyframes stay the size of their board.
+     *
+     * @param other The engine to copy.
+     */
+    public void copyFrom(MinesweeperEngine other) {
+        final BoardState source = other.board;
+        if (this.board == null || this.board.getRows() != source.getRows() || this.board.getCols() != source.getCols()) {
+            this.board = new BoardState(source.getRows(), source.getCols());
+        }
+        this.board.copyFrom(source);
+        this.labelled = false;
+        this.config = other.config;
+        this.seed = other.seed;
+        this.symmetry = other.symmetry;
+        this.firstClick = other.firstClick;
+        this.state = other.state;
+        this.revealedSpaces = other.revealedSpaces;
+        this.flags = other.flags;
+        this.changedCount = 0;
+    }
+
+    /**
+     * Resumes a game from a snapshot of its board.
+     *
+     * @param snapshot The snapshot of a game in progress.
+     * @throws IllegalArgumentException if the snapshot doesn't hold a game in progress.
+     */
+    public void restore(GameSnapshot snapshot) {
+        this.newGame(snapshot.getConfig(), snapshot.getSeed(), snapshot.getSymmetry());
+        final BoardState board = this.board;
+        int mines = 0;
+        boolean mineRevealed = false;
+        for (int index = 0; index < board.getSize(); index++) {
+            if (snapshot.isMine(index)) {
+                board.placeMine(index);
+                mines++;
+            }
+            if (snapshot.isRevealed(index)) {
+                board.setRevealed(index);
+                if (snapshot.isMine(index)) {
+                    mineRevealed = true;
+                } else {
+                    this.revealedSpaces++;
+                }
+            } else if (snapshot.isFlagged(index)) {
+                board.setFlagged(index, true);
+                this.flags++;
+            }
+        }
+        if (mines != this.config.getMines() || mineRevealed || this.revealedSpaces == 0
+                || this.revealedSpaces == this.config.getTotalClicks()) {
+            throw new IllegalArgumentException("Snapshot doesn't hold a game in progress");
+        }
+        this.labelOpenings();
+        this.firstClick = snapshot.getFirstClick();
+        this.state = GameState.PLAYING;
+    }
+
+    /**
+     * Reveals a space and, while spaces have no adjacent mines, all their neighbors.
+     * The first reveal of a game places the mines. Flagged and revealed spaces are left untouched.
+     *
+     * @param index The index of the space.
+     * @return True if any space was revealed.
+     */
+    public boolean reveal(int index) {
+        this.changedCount = 0;
+        if (this.state.isOver() || this.board.isRevealed(index) || this.board.isFlagged(index)) {
+            return false;
+        }
+
+        if (this.state == GameState.READY) {
+            this.placeMines(index);
+        }
+        this.floodFill.clear();
+        this.revealFrom(index);
+        this.applyReveal();
+        return true;
+    }
+
+    /**
+     * Reveals the neighbors of a revealed number when the number of flags around it matches the number.
+     *
+     * @param index The index of the revealed number.
+     * @return True if any space was revealed.
+     */
+    public boolean chord(int index) {
+        this.changedCount = 0;
+        final BoardState board = this.board;
+        if (this.state != GameState.PLAYING || !board.isRevealed(index) || board.getNumAdjacentMines(index) == 0) {
+            return false;
+        }
+
+        final int row = board.rowOf(index);
+        final int col = board.colOf(index);
+        final int minRow = Math.max(row - 1, 0);
+        final int maxRow = Math.min(row + 1, board.getRows() - 1);
+        final int minCol = Math.max(col - 1, 0);
+        final int maxCol = Math.min(col + 1, board.getCols() - 1);
+        int numFlags = 0;
+        for (int i = minRow; i <= maxRow; i++) {
+            for (int j = minCol; j <= maxCol; j++) {
+                if (board.isFlagged(board.index(i, j))) {
+                    numFlags++;
+                }
+            }
+        }
+        if (numFlags != board.getNumAdjacentMines(index)) {
+            return false;
+        }
+
+        // Reveal all adjacent spaces if the correct number of flags are placed
+        this.floodFill.clear();
+        for (int i = minRow; i <= maxRow; i++) {
+            for (int j = minCol; j <= maxCol; j++) {
+                this.revealFrom(board.index(i, j));
+            }
+        }
+        this.applyReveal();
+        return this.floodFill.getRevealedCount() > 0;
+    }
+
+    /**
+     * Places or removes a flag on a covered space.
+     *
+     * @param index The index of the space.
+     * @return True if the flag was toggled.
+     */
+    public boolean toggleFlag(int index) {
+        this.changedCount = 0;
+        if (this.state.isOver() || this.board.isRevealed(index)) {
+            return false;
+        }
+
+        final boolean flagged = !this.board.isFlagged(index);
+        this.board.setFlagged(index, flagged);
+        this.flags += flagged ? 1 : -1;
+        this.addChanged(index);
+        return true;
+    }
+
+    /**
+     * Places the mines from the seed, keeping the first revealed space and its neighbors free of mines, and labels
+     * the openings of the board.
+     */
+    private void placeMines(int clickIndex) {
+        this.random.setSeed(this.seed);
+        if (this.symmetry == BoardSymmetry.IDENTITY) {
+            this.minePlacer.placeMines(this.board, this.config.getMines(), clickIndex, this.random);
+        } else {
+            this.placeMirroredMines(clickIndex);
+        }
+        this.labelOpenings();
+        this.firstClick = clickIndex;
+        this.state = GameState.PLAYING;
+    }
+
+    /**
+     * Labels the openings of the board if it is small enough.
+     */
+    private void labelOpenings() {
+        this.labelled = Openings.supports(this.board.getSize());
+        if (this.labelled) {
+            this.openings.label(this.board);
+        }
+    }
+
+    /**
+     * Adds a space to the batch of the flood fill, and its whole opening at once if the openings are labelled.
+     */
+    private void revealFrom(int index) {
+        if (this.labelled) {
+            this.floodFill.reveal(this.board, this.openings, index);
+        } else {
+            this.floodFill.reveal(this.board, index);
+        }
+    }
+
+    /**
+     * Generates the mines of the original board, then places them at their mirrored positions.
+     */
+    private void placeMirroredMines(int clickIndex) {
+        final int rows = this.board.getRows();
+        final int cols = this.board.getCols();
+        if (this.generated == null || this.generated.getRows() != rows || this.generated.getCols() != cols) {
+            this.generated = new BoardState(rows, cols);
+        } else {
+            this.generated.clear();
+        }
+        final int originalClick = BoardSymmetry.invert(this.symmetry, clickIndex, rows, cols);
+        this.minePlacer.placeMines(this.generated, this.config.getMines(), originalClick, this.random);
+        for (int index = 0; index < this.generated.getSize(); index++) {
+            if (this.generated.isMine(index)) {
+                this.board.placeMine(BoardSymmetry.apply(this.symmetry, index, rows, cols));
+            }
+        }
+    }
+
+    /**
+     * Applies the batch of spaces revealed by the flood fill and checks if the game is lost or won.
+     */
+    private void applyReveal() {
+        final BoardState board = this.board;
+        final int[] revealed = this.floodFill.getRevealed();
+        final int count = this.floodFill.getRevealedCount();
+        boolean mineRevealed = false;
+        for (int i = 0; i < count; i++) {
+            int index = revealed[i];
+            this.addChanged(index);
+            if (board.isMine(index)) {
+                mineRevealed = true;
+            } else {
+                this.revealedSpaces++;
+            }
+        }
+
+        if (mineRevealed) {
+            this.setLost();
+        } else if (this.revealedSpaces == this.config.getTotalClicks()) {
+            this.state = GameState.WON;
+        }
+    }
+
+    /**
+     * Ends the game and adds the mines that weren't found and the wrong flags to the changed spaces.
+     */
+    private void setLost() {
+        this.state = GameState.LOST;
+        final BoardState board = this.board;
+        final int size = board.getSize();
+        for (int index = 0; index < size; index++) {
+            boolean mine = board.isMine(index);
+            boolean flagged = board.isFlagged(index);
+            if (mine ? !flagged && !board.isRevealed(index) : flagged) {
+                this.addChanged(index);
+            }
+        }
+    }
+
+    private void addChanged(int index) {
+        if (this.changedCount == this.changed.length) {
+            int[] grown = new int[this.changed.length * 2];
+            System.arraycopy(this.changed, 0, grown, 0, this.changed.length);
+            this.changed = grown;
+        }
+        this.changed[this.changedCount++] = index;
+    }
+
+    /**
+     * Gets the visual state of a space. Once the game is lost, the mines that weren't found and the wrong flags are shown.
+     *
+     * @param index The index of the space.
+     * @return The tile state (see {@link Tile}).
+     */
+    public int getTile(int index) {
+        final BoardState board = this.board;
+        final boolean mine = board.isMine(index);
+        final boolean lost = this.state == GameState.LOST;
+        if (board.isRevealed(index)) {
+            return mine ? Tile.MINE_RED : board.getNumAdjacentMines(index);
+        }
+        if (board.isFlagged(index)) {
+            return lost && !mine ? Tile.MINE_MISFLAGGED : Tile.FLAG;
+        }
+        return lost && mine ? Tile.MINE_GREY : Tile.COVER;
+    }
+
+    /**
+     * Gets the number of spaces whose tile changed during the last action.
+     *
+     * @return The number of changed spaces.
+     */
+    public int getChangedCount() {
+        return this.changedCount;
+    }
+
+    /**
+     * Gets the indexes of the spaces whose tile changed during the last action.
+     * Only the first {@link #getChangedCount()} entries are valid.
+     *
+     * @return The changed space indexes.
+     */
+    public int[] getChanged() {
+        return this.changed;
+    }
+
+    /**
+     * Gets the state of the game.
+     *
+     * @return The game state.
+     */
+    public GameState getState() {
+        return this.state;
+    }
+
+    /**
+     * Gets the board configuration of the game.
+     *
+     * @return The board configuration.
+     */
+    public BoardConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Gets the state of the board. Callers must not modify it.
+     *
+     * @return The board state.
+     */
+    public BoardState getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Checks if a space is a mine. Mines are only placed after the first reveal.
+     */
+    public boolean isMine(int index) {
+        return this.board.isMine(index);
+    }
+
+    /**
+     * Checks if a space is revealed.
+     */
+    public boolean isRevealed(int index) {
+        return this.board.isRevealed(index);
+    }
+
+    /**
+     * Checks if a space is flagged.
+     */
+    public boolean isFlagged(int index) {
+        return this.board.isFlagged(index);
+    }
+
+    /**
+     * Gets the number of mines around a space.
+     */
+    public int getNumAdjacentMines(int index) {
+        return this.board.getNumAdjacentMines(index);
+    }
+
+    /**
+     * Gets the number of revealed spaces without a mine.
+     *
+     * @return The number of revealed spaces.
+     */
+    public int getRevealedSpaces() {
+        return this.revealedSpaces;
+    }
+
+    /**
+     * Gets the number of flags placed.
+     *
+     * @return The number of flags.
+     */
+    public int getFlags() {
+        return this.flags;
+    }
+
+    /**
+     * Gets the number of mines minus the number of flags, as shown by the mines left counter.
+     *
+     * @return The number of mines left.
+     */
+    public int getMinesLeft() {
+        return this.config.getMines() - this.flags;
+    }
+
+    /**
+     * Gets the seed the mines are placed from.
+     *
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Gets the openings of the board, labelled once the mines are placed.
+     *
+     * @return The openings of the board, or null if they aren't labelled.
+     */
+    public Openings getOpenings() {
+        return this.labelled ? this.openings : null;
+    }
+
+    /**
+     * Gets the 3BV of the board, the minimum number of left clicks needed to clear it without chording, which
+     * measures how hard it is. The openings of a copied game are labelled on the first call.
+     *
+     * @return The 3BV, or -1 if the mines are not placed yet or the board is too large to be labelled.
+     */
+    public int getBbbv() {
+        if (this.state != GameState.READY && !this.labelled) {
+            this.labelOpenings();
+        }
+        return this.labelled ? this.openings.getBbbv() : -1;
+    }
+
+    /**
+     * Gets the shareable code of the board.
+     *
+     * @return The board code, or null if the mines are not placed yet.
+     */
+    public BoardCode getBoardCode() {
+        if (this.firstClick < 0) {
+            return null;
+        }
+        return new BoardCode(this.seed, this.config.getRows(), this.config.getCols(), this.config.getMines(), this.firstClick, this.symmetry);
+    }
+}
@@ -0,0 +1,370 @@
+package minesweeper;
+
+/**
+ * Finds the spaces of a board that are provably safe or provably mines, using only what the player can see:
+ * the revealed numbers. Flags are ignored since they may be wrong.
+ * <p>
+ * Every revealed number gives a constraint: its covered neighbors of unknown state hold exactly its number of mines,
+ * minus the neighbors already known to be mines. The solver applies two kinds of deductions until nothing changes:
+ * single point deductions (no mine left, or as many mines as covered neighbors) and pair deductions between
+ * overlapping constraints, which cover the subset rule. The numbers whose constraint may give a new deduction are
+ * kept in a worklist: a number is added when it is revealed, and again when one of its neighbors is revealed or
+ * proven. Each deduction therefore only looks at the numbers around the spaces that changed, never at the whole board.
+ * <p>
+ * {@link #solve} solves a board from scratch. A game can also be followed as it is played, with {@link #start},
+ * {@link #addRevealed} after each reveal and {@link #propagate}, which can stop at a deadline and resume later.
+ * Known spaces are kept in primitive bitsets and the worklist in an array reused between calls, so the solver doesn't
+ * allocate once the buffers fit the board.
+ */
+public final class MinesweeperSolver {
+    private static final int MAX_NEIGHBORS = 8;
+    private static final int INITIAL_CAPACITY = 64;
+    // Numbers taken from the worklist between two reads of the clock
+    private static final int DEADLINE_CHECK_INTERVAL = 64;
+
+    private BoardState board;
+    private int rows;
+    private int cols;
+    private long[] safe = new long[0];
+    private long[] mines = new long[0];
+
+    // Revealed numbers whose constraint changed, and a bitset of the numbers in it
+    private int[] worklist = new int[INITIAL_CAPACITY];
+    private int worklistSize;
+    private long[] queued = new long[0];
+    // Spaces proven safe in the order they were proven, and the next one to hand out
+    private int[] provenSafe = new int[INITIAL_CAPACITY];
+    private int provenSafeCount;
+    private int nextProvenSafe;
+
+    private final int[] firstCells = new int[MAX_NEIGHBORS];
+    private final int[] secondCells = new int[MAX_NEIGHBORS];
+    private final int[] onlyFirst = new int[MAX_NEIGHBORS];
+    private final int[] onlySecond = new int[MAX_NEIGHBORS];
+    // Mines left in the cells of the last collected constraint
+    private int collectedMines;
+
+    /**
+     * Finds all the covered spaces of the board that are provably safe or provably mines.
+     * The results stay available through {@link #isSafe}, {@link #isMine}, {@link #nextSafe} and {@link #nextMine}
+     * until the next solve.
+     *
+     * @param board The board to solve.
+     * @return The number of covered spaces proven safe or mines.
+     */
+    public int solve(BoardState board) {
+        this.start(board);
+        final int size = board.getSize();
+        for (int index = 0; index < size; index++) {
+            this.enqueue(index);
+        }
+        this.propagate(Long.MAX_VALUE);
+
+        int proven = 0;
+        for (int i = 0; i < this.safe.length; i++) {
+            proven += Long.bitCount(this.safe[i]) + Long.bitCount(this.mines[i]);
+        }
+        return proven;
+    }
+
+    /**
+     * Starts following a game on a board, with nothing proven. The spaces revealed so far are only taken into
+     * account once they are passed to {@link #addRevealed}.
+     *
+     * @param board The board of the game, read again by each deduction.
+     */
+    public void start(BoardState board) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        final int words = (board.getSize() + 63) >>> 6;
+        if (this.safe.length != words) {
+            this.safe = new long[words];
+            this.mines = new long[words];
+            this.queued = new long[words];
+        } else {
+            for (int i = 0; i < words; i++) {
+                this.safe[i] = 0;
+                this.mines[i] = 0;
+                this.queued[i] = 0;
+            }
+        }
+        this.worklistSize = 0;
+        this.provenSafeCount = 0;
+        this.nextProvenSafe = 0;
+    }
+
+    /**
+     * Adds revealed spaces to the game followed since {@link #start}: the numbers among them and the numbers next to
+     * them are deduced from again by the next {@link #propagate}.
+     *
+     * @param revealed The indexes of the revealed spaces, for example {@link MinesweeperEngine#getChanged()}.
+     * @param count    The number of revealed spaces.
+     */
+    public void addRevealed(int[] revealed, int count) {
+        for (int i = 0; i < count; i++) {
+            final int index = revealed[i];
+            final int row = index / this.cols;
+            final int col = index - row * this.cols;
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.rows - 1); r++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.cols - 1); c++) {
+                    this.enqueue(r * this.cols + c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deduces from the numbers of the worklist until nothing changes or the deadline passes. The deductions left
+     * are kept for the next call.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} to stop at, or {@link Long#MAX_VALUE} for none.
+     * @return True if nothing is left to deduce, false if the deadline passed first.
+     */
+    public boolean propagate(long deadlineNanos) {
+        int steps = 0;
+        while (this.worklistSize > 0) {
+            if (++steps % DEADLINE_CHECK_INTERVAL == 0 && isPast(deadlineNanos)) {
+                return false;
+            }
+            this.deduceNext();
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a deadline has passed.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} of the deadline, or {@link Long#MAX_VALUE} for none.
+     * @return True if the deadline has passed.
+     */
+    public static boolean isPast(long deadlineNanos) {
+        return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    /**
+     * Takes the next space proven safe since {@link #start}, in the order they were proven.
+     *
+     * @return The index of the space, or -1 if every space proven safe so far was taken.
+     */
+    public int pollSafe() {
+        return this.nextProvenSafe < this.provenSafeCount ? this.provenSafe[this.nextProvenSafe++] : -1;
+    }
+
+    /**
+     * Checks if a covered space was proven safe by the last solve.
+     */
+    public boolean isSafe(int index) {
+        return get(this.safe, index);
+    }
+
+    /**
+     * Checks if a covered space was proven to be a mine by the last solve.
+     */
+    public boolean isMine(int index) {
+        return get(this.mines, index);
+    }
+
+    /**
+     * Gets the first space proven safe by the last solve, starting from an index.
+     *
+     * @param from The index to start from.
+     * @return The index of the safe space, or -1 if there is none.
+     */
+    public int nextSafe(int from) {
+        return next(this.safe, from);
+    }
+
+    /**
+     * Gets the first space proven to be a mine by the last solve, starting from an index.
+     *
+     * @param from The index to start from.
+     * @return The index of the mine, or -1 if there is none.
+     */
+    public int nextMine(int from) {
+        return next(this.mines, from);
+    }
+
+    /**
+     * Adds a space to the worklist if it is a revealed number that isn't in it yet. Zeros are numbers too: the
+     * flood fill doesn't reveal flagged spaces, so a zero can still have covered neighbors, which are all safe.
+     */
+    private void enqueue(int index) {
+        final BoardState board = this.board;
+        if (get(this.queued, index) || !board.isRevealed(index) || board.isMine(index)) {
+            return;
+        }
+        set(this.queued, index);
+        if (this.worklistSize == this.worklist.length) {
+            this.worklist = grow(this.worklist);
+        }
+        this.worklist[this.worklistSize++] = index;
+    }
+
+    /**
+     * Takes a number from the worklist and applies the single point deduction to it, or else the pair deduction with
+     * every number that may share cells with it. Constraints can only overlap if their numbers are at most 2 spaces
+     * apart. With A and B the cells only in the first and only in the second constraint, the difference of their
+     * mine counts equals the mines in A minus the mines in B. When that difference is the size of A, all of A are
+     * mines and all of B are safe (and symmetrically). A constraint included in another one is the special case
+     * where A is empty.
+     */
+    private void deduceNext() {
+        final int center = this.worklist[--this.worklistSize];
+        clear(this.queued, center);
+        final int firstSize = this.collect(center, this.firstCells);
+        if (firstSize == 0) {
+            return;
+        }
+        final int firstMines = this.collectedMines;
+        if (firstMines == 0) {
+            this.markAll(this.safe, this.firstCells, firstSize);
+            return;
+        }
+        if (firstMines == firstSize) {
+            this.markAll(this.mines, this.firstCells, firstSize);
+            return;
+        }
+
+        // A proof changing the first constraint queues it again, the pairs left are checked with the stale
+        // constraint, which still holds
+        final int row = center / this.cols;
+        final int col = center - row * this.cols;
+        for (int i = Math.max(row - 2, 0); i <= Math.min(row + 2, this.rows - 1); i++) {
+            for (int j = Math.max(col - 2, 0); j <= Math.min(col + 2, this.cols - 1); j++) {
+                final int other = i * this.cols + j;
+                if (other == center || !this.board.isRevealed(other) || this.board.getNumAdjacentMines(other) == 0) {
+                    continue;
+                }
+                final int secondSize = this.collect(other, this.secondCells);
+                if (secondSize == 0) {
+                    continue;
+                }
+                final int firstOnly = difference(this.firstCells, firstSize, this.secondCells, secondSize, this.onlyFirst);
+                if (firstOnly == firstSize) {
+                    // No shared cell
+                    continue;
+                }
+                final int secondOnly = difference(this.secondCells, secondSize, this.firstCells, firstSize, this.onlySecond);
+
+                final int delta = firstMines - this.collectedMines;
+                if (delta == firstOnly) {
+                    this.markAll(this.mines, this.onlyFirst, firstOnly);
+                    this.markAll(this.safe, this.onlySecond, secondOnly);
+                } else if (-delta == secondOnly) {
+                    this.markAll(this.mines, this.onlySecond, secondOnly);
+                    this.markAll(this.safe, this.onlyFirst, firstOnly);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the covered neighbors of a revealed number whose state isn't known, and stores the mines left among
+     * them in {@link #collectedMines}.
+     *
+     * @return The number of collected cells.
+     */
+    private int collect(int center, int[] out) {
+        final BoardState board = this.board;
+        final int row = center / this.cols;
+        final int col = center - row * this.cols;
+        int cellCount = 0;
+        int mineCount = board.getNumAdjacentMines(center);
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, this.rows - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, this.cols - 1); j++) {
+                final int neighbor = i * this.cols + j;
+                if (board.isRevealed(neighbor) || get(this.safe, neighbor)) {
+                    continue;
+                }
+                if (get(this.mines, neighbor)) {
+                    mineCount--;
+                } else {
+                    out[cellCount++] = neighbor;
+                }
+            }
+        }
+        this.collectedMines = mineCount;
+        return cellCount;
+    }
+
+    /**
+     * Collects the cells of the first list that are not in the second one.
+     *
+     * @return The number of collected cells.
+     */
+    private static int difference(int[] first, int firstSize, int[] second, int secondSize, int[] out) {
+        int count = 0;
+        outer:
+        for (int i = 0; i < firstSize; i++) {
+            for (int j = 0; j < secondSize; j++) {
+                if (first[i] == second[j]) {
+                    continue outer;
+                }
+            }
+            out[count++] = first[i];
+        }
+        return count;
+    }
+
+    /**
+     * Marks cells as safe or as mines, and queues the numbers around the cells that weren't known yet.
+     */
+    private void markAll(long[] bits, int[] cells, int count) {
+        for (int i = 0; i < count; i++) {
+            final int cell = cells[i];
+            if (get(bits, cell)) {
+                continue;
+            }
+            set(bits, cell);
+            if (bits == this.safe) {
+                if (this.provenSafeCount == this.provenSafe.length) {
+                    this.provenSafe = grow(this.provenSafe);
+                }
+                this.provenSafe[this.provenSafeCount++] = cell;
+            }
+            final int row = cell / this.cols;
+            final int col = cell - row * this.cols;
+            for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, this.rows - 1); r++) {
+                for (int c = Math.max(col - 1, 0); c <= Math.min(col + 1, this.cols - 1); c++) {
+                    this.enqueue(r * this.cols + c);
+                }
+            }
+        }
+    }
+
+    private static int[] grow(int[] array) {
+        final int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    private static int next(long[] bits, int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) {
+            return -1;
+        }
+        long current = bits[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+}
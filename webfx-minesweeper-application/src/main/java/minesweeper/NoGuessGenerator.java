@@ -0,0 +1,155 @@
+package minesweeper;
+
+/**
+ * Finds boards that can be solved from the first click without guessing.
+ * Candidate layouts are derived from the game seed and an attempt number, and each one is verified by playing it
+ * with the {@link MinesweeperSolver}: the candidate is accepted if revealing the proven safe spaces wins the game.
+ * The solver follows the game as it is played, so each reveal only costs the deductions around the revealed spaces.
+ * <p>
+ * Attempts are tried in order, so the accepted board only depends on the seed, the board and the first click,
+ * and it can be shared with a {@link BoardCode} like any other board. The search runs on the first click, so it
+ * gives up after {@link #SEARCH_BUDGET_NANOS} and the game is then played on the plain board. A candidate can also be
+ * verified a slice at a time with {@link #begin} and {@link #verify(long)}.
+ */
+public final class NoGuessGenerator {
+    // Larger boards are played as generated: at the density of Expert, fewer of their candidates can be solved
+    // and each takes longer to verify, so the search would mostly run out of time
+    public static final int MAX_SPACES = 1000;
+    // Time the first click may wait for a no-guess board
+    public static final long SEARCH_BUDGET_NANOS = 50_000_000L;
+    private static final int MAX_ATTEMPTS = 1000;
+    private static final long ATTEMPT_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private final MinesweeperEngine engine = new MinesweeperEngine();
+    private final MinesweeperSolver solver = new MinesweeperSolver();
+    private int attempts;
+    private boolean decided;
+
+    /**
+     * Checks if no-guess boards can be generated for a board configuration.
+     *
+     * @param config The board configuration.
+     * @return True if the board is small enough to be verified.
+     */
+    public static boolean supports(BoardConfig config) {
+        return config.getTotalSpaces() <= MAX_SPACES;
+    }
+
+    /**
+     * Gets the seed of a candidate layout. The first attempt uses the game seed itself.
+     *
+     * @param seed    The game seed.
+     * @param attempt The attempt number.
+     * @return The seed of the candidate.
+     */
+    public static long attemptSeed(long seed, int attempt) {
+        return attempt == 0 ? seed : SplitMix64.mix(seed + attempt * ATTEMPT_INCREMENT);
+    }
+
+    /**
+     * Finds the seed of the first candidate layout that can be solved without guessing from the first click.
+     *
+     * @param config     The board configuration.
+     * @param seed       The game seed.
+     * @param clickIndex The index of the first clicked space.
+     * @return The seed of the no-guess board, or the game seed if no candidate was found within the attempt limit
+     * and the time budget.
+     */
+    public long findSeed(BoardConfig config, long seed, int clickIndex) {
+        final long deadline = System.nanoTime() + SEARCH_BUDGET_NANOS;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long candidate = attemptSeed(seed, attempt);
+            this.begin(config, candidate, clickIndex);
+            if (!this.verify(deadline)) {
+                this.attempts = attempt + 1;
+                return seed;
+            }
+            if (this.isWon()) {
+                this.attempts = attempt + 1;
+                return candidate;
+            }
+        }
+        this.attempts = MAX_ATTEMPTS;
+        return seed;
+    }
+
+    /**
+     * Checks if a board can be won from the first click by only revealing spaces the solver proves safe.
+     *
+     * @param config     The board configuration.
+     * @param seed       The seed the mines are placed from.
+     * @param clickIndex The index of the first clicked space.
+     * @return True if the board needs no guess.
+     */
+    public boolean isSolvable(BoardConfig config, long seed, int clickIndex) {
+        this.begin(config, seed, clickIndex);
+        this.verify(Long.MAX_VALUE);
+        return this.isWon();
+    }
+
+    /**
+     * Starts verifying a candidate: places its mines and reveals the first click. The verification is then
+     * continued by {@link #verify(long)}.
+     *
+     * @param config     The board configuration.
+     * @param seed       The seed the mines are placed from.
+     * @param clickIndex The index of the first clicked space.
+     */
+    public void begin(BoardConfig config, long seed, int clickIndex) {
+        final MinesweeperEngine engine = this.engine;
+        engine.newGame(config, seed);
+        engine.reveal(clickIndex);
+        this.solver.start(engine.getBoard());
+        this.solver.addRevealed(engine.getChanged(), engine.getChangedCount());
+        this.decided = false;
+    }
+
+    /**
+     * Continues the verification of the candidate given to {@link #begin}, revealing the spaces the solver proves
+     * safe until the game is won or the solver is stuck, or until the deadline passes.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} to stop at, or {@link Long#MAX_VALUE} for none.
+     * @return True if the candidate is decided (see {@link #isWon()}), false if the deadline passed first.
+     */
+    public boolean verify(long deadlineNanos) {
+        final MinesweeperEngine engine = this.engine;
+        final MinesweeperSolver solver = this.solver;
+        while (engine.getState() == GameState.PLAYING) {
+            if (!solver.propagate(deadlineNanos)) {
+                return false;
+            }
+            int safe = solver.pollSafe();
+            if (safe < 0) {
+                break;
+            }
+            for (; safe >= 0 && engine.getState() == GameState.PLAYING; safe = solver.pollSafe()) {
+                if (engine.reveal(safe)) {
+                    solver.addRevealed(engine.getChanged(), engine.getChangedCount());
+                }
+            }
+            if (MinesweeperSolver.isPast(deadlineNanos)) {
+                return false;
+            }
+        }
+        this.decided = true;
+        return true;
+    }
+
+    /**
+     * Checks if the candidate decided by {@link #verify(long)} was won without guessing.
+     *
+     * @return True if the candidate needs no guess.
+     */
+    public boolean isWon() {
+        return this.decided && this.engine.getState() == GameState.WON;
+    }
+
+    /**
+     * Gets the number of candidates tried by the last search.
+     *
+     * @return The number of attempts.
+     */
+    public int getAttempts() {
+        return this.attempts;
+    }
+}
@@ -0,0 +1,261 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * The openings of a board whose mines are placed, labelled once so that revealing one is a bulk copy instead of a
+ * flood fill. An opening is a region of connected spaces without adjacent mines, with the numbers bordering it.
+ * <p>
+ * The regions are found with a union-find over a primitive parent array, scanning the board once and joining each
+ * space without adjacent mines to its neighbors already scanned. The spaces of each opening are then stored
+ * contiguously, the spaces without adjacent mines first and then the bordering numbers.
+ * The labels also give the 3BV (Bechtel's Board Benchmark Value) of the board, the minimum number of left clicks
+ * needed to clear it without chording: one per opening, plus one per number bordering no opening.
+ * <p>
+ * The labels and spaces take about 8 bytes per space and are reused between boards, the scratch used to sort the
+ * spaces is only held while labelling. Larger boards than {@link #MAX_SPACES} aren't labelled, see
+ * {@link #supports(int)}, and are revealed with the flood fill alone.
+ */
+public final class Openings {
+    // Labels of larger boards would take too much memory, about 8 MB at this size
+    public static final int MAX_SPACES = 1 << 20;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Parent of each space in the union-find, then the opening of each space without adjacent mines. Numbers hold
+    // -2 minus the last opening they were added to, so that they are added once to each opening they border
+    private int[] labels = new int[0];
+    // Spaces of opening i are spaces[starts[i]] to spaces[starts[i + 1]], its numbers from spaces[borderStarts[i]]
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] borderStarts = new int[INITIAL_CAPACITY];
+    private int[] spaces = new int[INITIAL_CAPACITY];
+    private int count;
+    private int bbbv;
+
+    /**
+     * Checks if the openings of a board can be labelled.
+     *
+     * @param size The number of spaces of the board.
+     * @return True if the board is small enough to be labelled.
+     */
+    public static boolean supports(int size) {
+        return size <= MAX_SPACES;
+    }
+
+    /**
+     * Labels the openings of a board whose mines are placed. Revealed and flagged spaces are ignored.
+     *
+     * @param board The board.
+     * @throws IllegalArgumentException if the board is too large, see {@link #supports(int)}.
+     */
+    public void label(BoardState board) {
+        final int rows = board.getRows();
+        final int cols = board.getCols();
+        final int size = board.getSize();
+        if (!supports(size)) {
+            throw new IllegalArgumentException("Cannot label the openings of " + size + " spaces");
+        }
+        if (this.labels.length < size) {
+            this.labels = new int[size];
+        }
+        final int[] labels = this.labels;
+
+        // Join each empty space to its empty neighbors on the left and on the row above
+        int numbers = 0;
+        int empty = 0;
+        for (int index = 0; index < size; index++) {
+            if (board.isMine(index) || board.getNumAdjacentMines(index) != 0) {
+                if (!board.isMine(index)) {
+                    numbers++;
+                }
+                labels[index] = -1;
+                continue;
+            }
+            labels[index] = index;
+            empty++;
+            final int row = index / cols;
+            final int col = index - row * cols;
+            if (col > 0 && labels[index - 1] >= 0) {
+                this.union(index - 1, index);
+            }
+            if (row > 0) {
+                final int above = index - cols;
+                for (int neighbor = col > 0 ? above - 1 : above; neighbor <= (col < cols - 1 ? above + 1 : above); neighbor++) {
+                    if (labels[neighbor] >= 0) {
+                        this.union(neighbor, index);
+                    }
+                }
+            }
+        }
+
+        // Number the openings in the order of their first space and count their empty spaces. A parent always comes
+        // before its children, so it is numbered already when they read it
+        int count = 0;
+        for (int index = 0; index < size; index++) {
+            if (labels[index] < 0) {
+                continue;
+            }
+            if (labels[index] == index) {
+                if (count + 2 > this.starts.length) {
+                    this.starts = Arrays.copyOf(this.starts, this.starts.length * 2);
+                    this.borderStarts = Arrays.copyOf(this.borderStarts, this.borderStarts.length * 2);
+                }
+                this.starts[count + 1] = 0;
+                labels[index] = count++;
+            } else {
+                labels[index] = labels[labels[index]];
+            }
+            this.starts[labels[index] + 1]++;
+        }
+        final int[] starts = this.starts;
+
+        // Sort the empty spaces by opening
+        starts[0] = 0;
+        for (int opening = 0; opening < count; opening++) {
+            starts[opening + 1] += starts[opening];
+        }
+        final int[] sorted = new int[empty];
+        final int[] next = this.borderStarts;
+        System.arraycopy(starts, 0, next, 0, count);
+        for (int index = 0; index < size; index++) {
+            if (labels[index] >= 0) {
+                sorted[next[labels[index]]++] = index;
+            }
+        }
+
+        // Copy each opening, its empty spaces and then the numbers around them
+        int bordering = 0;
+        int length = 0;
+        for (int opening = 0; opening < count; opening++) {
+            final int first = starts[opening];
+            final int last = starts[opening + 1];
+            starts[opening] = length;
+            length = this.append(length, sorted, first, last);
+            this.borderStarts[opening] = length;
+            for (int i = first; i < last; i++) {
+                final int index = sorted[i];
+                final int row = index / cols;
+                final int col = index - row * cols;
+                final int minRow = Math.max(row - 1, 0);
+                final int maxRow = Math.min(row + 1, rows - 1);
+                final int minCol = Math.max(col - 1, 0);
+                final int maxCol = Math.min(col + 1, cols - 1);
+                for (int r = minRow; r <= maxRow; r++) {
+                    final int rowStart = r * cols;
+                    for (int c = minCol; c <= maxCol; c++) {
+                        final int neighbor = rowStart + c;
+                        // Neighbors of an empty space are never mines
+                        if (labels[neighbor] < 0 && labels[neighbor] != -2 - opening) {
+                            if (labels[neighbor] == -1) {
+                                bordering++;
+                            }
+                            labels[neighbor] = -2 - opening;
+                            if (length == this.spaces.length) {
+                                this.spaces = Arrays.copyOf(this.spaces, length * 2);
+                            }
+                            this.spaces[length++] = neighbor;
+                        }
+                    }
+                }
+            }
+        }
+        starts[count] = length;
+        this.count = count;
+        // Each number bordering no opening takes a click of its own
+        this.bbbv = count + numbers - bordering;
+    }
+
+    /**
+     * Joins two regions under the smaller root, so that the root of a region is its first space and every parent
+     * comes before its children.
+     */
+    private void union(int a, int b) {
+        final int rootA = this.find(a);
+        final int rootB = this.find(b);
+        if (rootA < rootB) {
+            this.labels[rootB] = rootA;
+        } else if (rootB < rootA) {
+            this.labels[rootA] = rootB;
+        }
+    }
+
+    /**
+     * Finds the root of a region, halving the path on the way.
+     */
+    private int find(int index) {
+        final int[] parents = this.labels;
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
+    private int append(int length, int[] source, int from, int to) {
+        final int needed = length + to - from;
+        if (needed > this.spaces.length) {
+            this.spaces = Arrays.copyOf(this.spaces, Math.max(needed, this.spaces.length * 2));
+        }
+        System.arraycopy(source, from, this.spaces, length, to - from);
+        return needed;
+    }
+
+    /**
+     * Gets the opening of a space without adjacent mines.
+     *
+     * @param index The index of the space.
+     * @return The opening from 0, or -1 if the space is a mine or a number.
+     */
+    public int getOpening(int index) {
+        final int label = this.labels[index];
+        return label < 0 ? -1 : label;
+    }
+
+    /**
+     * Gets the number of openings of the board.
+     *
+     * @return The number of openings.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the spaces of every opening. The spaces of an opening are the entries from {@link #getStart(int)} to
+     * the start of the next opening, the spaces without adjacent mines first and the bordering numbers from
+     * {@link #getBorderStart(int)}.
+     *
+     * @return The spaces of the openings.
+     */
+    public int[] getSpaces() {
+        return this.spaces;
+    }
+
+    /**
+     * Gets the first entry of an opening in {@link #getSpaces()}.
+     *
+     * @param opening The opening, or the number of openings to get the end of the last one.
+     * @return The first entry of the opening.
+     */
+    public int getStart(int opening) {
+        return this.starts[opening];
+    }
+
+    /**
+     * Gets the first number bordering an opening in {@link #getSpaces()}.
+     *
+     * @param opening The opening.
+     * @return The entry of the first number.
+     */
+    public int getBorderStart(int opening) {
+        return this.borderStarts[opening];
+    }
+
+    /**
+     * Gets the 3BV of the board.
+     *
+     * @return The minimum number of left clicks needed to clear the board without chording.
+     */
+    public int getBbbv() {
+        return this.bbbv;
+    }
+}
@@ -0,0 +1,176 @@
+package minesweeper;
+
+/**
+ * Estimates a quantile of a stream of values in constant memory with the P² algorithm of Jain and Chlamtac.
+ * Five markers track the minimum, the maximum, the quantile and two points around it, and each new value moves
+ * them by at most one position, adjusting their heights with a piecewise parabolic fit. The first five values are
+ * kept exactly.
+ */
+public final class P2Quantile {
+    private static final int MARKERS = 5;
+
+    private final double quantile;
+    // Heights of the markers, and their positions from 1 among the values added
+    private final double[] heights = new double[MARKERS];
+    private final long[] positions = new long[MARKERS];
+    private long count;
+
+    /**
+     * Constructor for the P2Quantile class.
+     *
+     * @param quantile The quantile to estimate, between 0 and 1, for example 0.5 for the median.
+     */
+    public P2Quantile(double quantile) {
+        this.quantile = quantile;
+    }
+
+    /**
+     * Adds a value to the stream.
+     *
+     * @param value The value.
+     */
+    public void add(double value) {
+        final double[] heights = this.heights;
+        final long[] positions = this.positions;
+        if (this.count < MARKERS) {
+            // Insertion sort of the first values
+            int i = (int) this.count;
+            while (i > 0 && heights[i - 1] > value) {
+                heights[i] = heights[i - 1];
+                i--;
+            }
+            heights[i] = value;
+            this.count++;
+            if (this.count == MARKERS) {
+                for (int marker = 0; marker < MARKERS; marker++) {
+                    positions[marker] = marker + 1;
+                }
+            }
+            return;
+        }
+
+        // Cell of the value between the markers, extending the extremes if needed
+        int cell;
+        if (value < heights[0]) {
+            heights[0] = value;
+            cell = 0;
+        } else if (value >= heights[MARKERS - 1]) {
+            heights[MARKERS - 1] = value;
+            cell = MARKERS - 2;
+        } else {
+            cell = 0;
+            while (value >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+        for (int marker = cell + 1; marker < MARKERS; marker++) {
+            positions[marker]++;
+        }
+        this.count++;
+
+        for (int marker = 1; marker < MARKERS - 1; marker++) {
+            final double offset = this.desiredPosition(marker) - positions[marker];
+            if ((offset >= 1 && positions[marker + 1] - positions[marker] > 1)
+                || (offset <= -1 && positions[marker - 1] - positions[marker] < -1)) {
+                final int step = offset > 0 ? 1 : -1;
+                final double height = this.parabolic(marker, step);
+                heights[marker] = heights[marker - 1] < height && height < heights[marker + 1] ? height : this.linear(marker, step);
+                positions[marker] += step;
+            }
+        }
+    }
+
+    /**
+     * Gets the estimated quantile of the values added.
+     *
+     * @return The estimate, exact for up to five values, or NaN if no value was added.
+     */
+    public double get() {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+        if (this.count <= MARKERS) {
+            return this.heights[(int) Math.round((this.count - 1) * this.quantile)];
+        }
+        return this.heights[MARKERS / 2];
+    }
+
+    /**
+     * Gets the number of values added.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Forgets the values added.
+     */
+    public void clear() {
+        this.count = 0;
+    }
+
+    /**
+     * Appends the state of the estimator as tab separated numbers, see {@link #decode(String[], int)}.
+     *
+     * @param sb The text to append to.
+     */
+    public void encode(StringBuilder sb) {
+        sb.append(this.count);
+        for (int marker = 0; marker < MARKERS; marker++) {
+            sb.append('\t').append(this.heights[marker]);
+        }
+        for (int marker = 0; marker < MARKERS; marker++) {
+            sb.append('\t').append(this.positions[marker]);
+        }
+    }
+
+    /**
+     * Restores the state of the estimator written by {@link #encode(StringBuilder)}.
+     *
+     * @param fields The fields of the text.
+     * @param start  The index of the first field of the estimator.
+     * @return The index of the field after the estimator.
+     * @throws NumberFormatException if a field is not a number.
+     */
+    public int decode(String[] fields, int start) {
+        this.count = Long.parseLong(fields[start++]);
+        for (int marker = 0; marker < MARKERS; marker++) {
+            this.heights[marker] = Double.parseDouble(fields[start++]);
+        }
+        for (int marker = 0; marker < MARKERS; marker++) {
+            this.positions[marker] = Long.parseLong(fields[start++]);
+        }
+        return start;
+    }
+
+    /**
+     * Gets the number of fields written by {@link #encode(StringBuilder)}.
+     *
+     * @return The number of fields.
+     */
+    public static int getFieldCount() {
+        return 1 + MARKERS * 2;
+    }
+
+    private double desiredPosition(int marker) {
+        // The markers aim at the minimum, half the quantile, the quantile, halfway to the maximum and the maximum
+        final double fraction = marker == 1 ? this.quantile / 2 : marker == 2 ? this.quantile : (1 + this.quantile) / 2;
+        return 1 + (this.count - 1) * fraction;
+    }
+
+    private double parabolic(int marker, int step) {
+        final double[] h = this.heights;
+        final long[] n = this.positions;
+        return h[marker] + (double) step / (n[marker + 1] - n[marker - 1])
+            * ((n[marker] - n[marker - 1] + step) * (h[marker + 1] - h[marker]) / (n[marker + 1] - n[marker])
+            + (n[marker + 1] - n[marker] - step) * (h[marker] - h[marker - 1]) / (n[marker] - n[marker - 1]));
+    }
+
+    private double linear(int marker, int step) {
+        final double[] h = this.heights;
+        final long[] n = this.positions;
+        return h[marker] + step * (h[marker + step] - h[marker]) / (n[marker + step] - n[marker]);
+    }
+}
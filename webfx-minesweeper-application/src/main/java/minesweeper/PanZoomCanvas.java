@@ -0,0 +1,386 @@
+package minesweeper;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+
+/**
+ * Canvas of a fixed viewport size showing a window of a tile grid that can be panned by dragging and zoomed with
+ * the mouse wheel. Only the visible tiles are drawn. When zoomed out, tiles are drawn as plain colors instead of
+ * images, and below a few pixels per tile the grid is sampled per screen block, so the cost of a frame depends on
+ * the viewport size and not on the size of the grid. The grid is either bounded or infinite in both directions.
+ */
+public abstract class PanZoomCanvas {
+    private static final int TILE_GAP = 2;
+    // Below this many pixels per tile, tiles are drawn as colors instead of images
+    private static final double MIN_IMAGE_SCALE = 8;
+    // Size of the screen blocks sampled when tiles are smaller than them
+    private static final int SAMPLE_BLOCK = 4;
+    private static final double MAX_SCALE = 48;
+    private static final double DRAG_THRESHOLD = 4;
+    private static final Color GAP_COLOR = Color.rgb(153, 153, 153);
+    private static final Color[] TILE_COLORS = new Color[Tile.COUNT];
+
+    static {
+        TILE_COLORS[Tile.EMPTY] = Color.rgb(198, 198, 198);
+        TILE_COLORS[1] = Color.rgb(160, 160, 230);
+        TILE_COLORS[2] = Color.rgb(150, 200, 150);
+        TILE_COLORS[3] = Color.rgb(230, 150, 150);
+        TILE_COLORS[4] = Color.rgb(120, 120, 200);
+        TILE_COLORS[5] = Color.rgb(200, 120, 120);
+        TILE_COLORS[6] = Color.rgb(120, 190, 190);
+        TILE_COLORS[7] = Color.rgb(110, 110, 110);
+        TILE_COLORS[8] = Color.rgb(90, 90, 90);
+        TILE_COLORS[Tile.COVER] = Color.rgb(128, 128, 128);
+        TILE_COLORS[Tile.FLAG] = Color.rgb(255, 140, 0);
+        TILE_COLORS[Tile.MINE_RED] = Color.rgb(255, 0, 0);
+        TILE_COLORS[Tile.MINE_GREY] = Color.rgb(20, 20, 20);
+        TILE_COLORS[Tile.MINE_MISFLAGGED] = Color.rgb(170, 0, 170);
+    }
+
+    protected final Canvas canvas;
+    private final GraphicsContext gc;
+    // Number of rows and columns of a bounded grid, or 0 for an infinite grid
+    private final int rows;
+    private final int cols;
+    private final double tileRatio;
+    private final double minScale;
+
+    // Screen position of the tile (0, 0) and size in pixels of a tile including its gap
+    private double originX;
+    private double originY;
+    private double scale;
+
+    private boolean pressed;
+    private int pressedCol;
+    private int pressedRow;
+    private MouseButton pressedButton;
+    private double pressX;
+    private double pressY;
+    private boolean panning;
+
+    private boolean repaintRequested;
+    // Image still loading when a repaint was last requested, listened to until it is loaded
+    private Image loadingImage;
+    private final ChangeListener<Number> loadListener = (observable, oldValue, newValue) -> {
+        if (newValue.doubleValue() >= 1) {
+            this.stopListening();
+            this.requestRepaint();
+        }
+    };
+    private final AnimationTimer repaintTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            this.stop();
+            repaintRequested = false;
+            repaint();
+        }
+    };
+
+    /**
+     * Constructor for the PanZoomCanvas class.
+     *
+     * @param rows           The number of rows of a bounded grid, or 0 for an infinite grid.
+     * @param cols           The number of columns of a bounded grid, or 0 for an infinite grid.
+     * @param tileSize       The size of each tile at the default zoom.
+     * @param minScale       The smallest size in pixels of a tile for an infinite grid (a bounded grid can zoom out until fully visible).
+     * @param viewportWidth  The width of the visible area.
+     * @param viewportHeight The height of the visible area.
+     */
+    protected PanZoomCanvas(int rows, int cols, int tileSize, double minScale, int viewportWidth, int viewportHeight) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tileRatio = tileSize / (double) (tileSize + TILE_GAP);
+        this.scale = tileSize + TILE_GAP;
+        this.minScale = this.isBounded()
+            ? Math.min(this.scale, Math.min(viewportWidth / (double) cols, viewportHeight / (double) rows))
+            : minScale;
+        this.canvas = new Canvas(Math.max(0, viewportWidth), Math.max(0, viewportHeight));
+        this.gc = this.canvas.getGraphicsContext2D();
+        this.canvas.setOnMousePressed(this::onMousePressed);
+        this.canvas.setOnMouseDragged(this::onMouseDragged);
+        this.canvas.setOnMouseReleased(this::onMouseReleased);
+        this.canvas.setOnScroll(this::onScroll);
+        this.clampOrigin();
+    }
+
+    /**
+     * Gets the visual state of a tile.
+     *
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return The tile state (see {@link Tile}).
+     */
+    protected abstract int tileAt(int col, int row);
+
+    /**
+     * Gets the mine probability shaded over a tile, see {@link BoardRenderer#setOverlay}.
+     *
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     * @return The probability between 0 and 1, or NaN for no shade.
+     */
+    protected double overlayAt(int col, int row) {
+        return Double.NaN;
+    }
+
+    /**
+     * Called when a mouse button is pressed on a tile.
+     */
+    protected abstract void onTilePressed(int col, int row, boolean leftClick);
+
+    /**
+     * Called when the mouse button pressed on a tile is released or the press turns into a pan.
+     */
+    protected abstract void onTileReleased(int col, int row);
+
+    /**
+     * Called when a tile is clicked, i.e. the mouse button is released over the tile it was pressed on.
+     */
+    protected abstract void onTileClicked(int col, int row, boolean leftClick);
+
+    private boolean isBounded() {
+        return this.rows > 0 && this.cols > 0;
+    }
+
+    /**
+     * Moves the viewport so that the given tile is at its center.
+     *
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     */
+    public void centerOn(int col, int row) {
+        this.originX = this.canvas.getWidth() / 2 - (col + 0.5) * this.scale;
+        this.originY = this.canvas.getHeight() / 2 - (row + 0.5) * this.scale;
+        this.clampOrigin();
+        this.requestRepaint();
+    }
+
+    /**
+     * Redraws a single tile if it is visible. Zoomed out tiles may share a screen block with their neighbors,
+     * in which case the whole frame is redrawn on the next animation frame instead.
+     *
+     * @param col The column of the tile.
+     * @param row The row of the tile.
+     */
+    protected void redrawTile(int col, int row) {
+        if (this.scale < MIN_IMAGE_SCALE) {
+            this.requestRepaint();
+            return;
+        }
+
+        double x = this.originX + col * this.scale;
+        double y = this.originY + row * this.scale;
+        if (x + this.scale > 0 && y + this.scale > 0 && x < this.canvas.getWidth() && y < this.canvas.getHeight()) {
+            this.drawTileImage(this.tileAt(col, row), x, y);
+            this.drawOverlay(col, row, x, y, this.scale * this.tileRatio);
+        }
+    }
+
+    /**
+     * Schedules a repaint of the viewport for the next frame. Several requests in the same frame are coalesced.
+     * The repaint is also requested again once the given image is loaded, if it is still loading in the browser.
+     * A single listener is kept, on the image of the last request, and it is removed once that image is loaded.
+     *
+     * @param image An image the viewport shows, or null.
+     */
+    protected void requestRepaintWhenLoaded(Image image) {
+        this.requestRepaint();
+        if (image == null || image.getProgress() >= 1) {
+            this.stopListening();
+        } else if (image != this.loadingImage) {
+            this.stopListening();
+            this.loadingImage = image;
+            image.progressProperty().addListener(this.loadListener);
+        }
+    }
+
+    private void stopListening() {
+        if (this.loadingImage != null) {
+            this.loadingImage.progressProperty().removeListener(this.loadListener);
+            this.loadingImage = null;
+        }
+    }
+
+    /**
+     * Schedules a repaint of the viewport for the next frame. Several requests in the same frame are coalesced.
+     */
+    public void requestRepaint() {
+        if (!this.repaintRequested) {
+            this.repaintRequested = true;
+            this.repaintTimer.start();
+        }
+    }
+
+    /**
+     * Repaints the visible window of the grid at the current level of detail.
+     */
+    private void repaint() {
+        final double width = this.canvas.getWidth();
+        final double height = this.canvas.getHeight();
+        this.gc.setFill(GAP_COLOR);
+        this.gc.fillRect(0, 0, width, height);
+
+        int firstCol = (int) Math.floor(-this.originX / this.scale);
+        int lastCol = (int) Math.floor((width - this.originX) / this.scale);
+        int firstRow = (int) Math.floor(-this.originY / this.scale);
+        int lastRow = (int) Math.floor((height - this.originY) / this.scale);
+        if (this.isBounded()) {
+            firstCol = Math.max(0, firstCol);
+            lastCol = Math.min(this.cols - 1, lastCol);
+            firstRow = Math.max(0, firstRow);
+            lastRow = Math.min(this.rows - 1, lastRow);
+        }
+
+        if (this.scale >= MIN_IMAGE_SCALE) {
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
+                    double x = this.originX + col * this.scale;
+                    double y = this.originY + row * this.scale;
+                    this.drawTileImage(this.tileAt(col, row), x, y);
+                    this.drawOverlay(col, row, x, y, this.scale * this.tileRatio);
+                }
+            }
+        } else if (this.scale >= SAMPLE_BLOCK) {
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
+                    this.gc.setFill(TILE_COLORS[this.tileAt(col, row)]);
+                    this.gc.fillRect(this.originX + col * this.scale, this.originY + row * this.scale, this.scale, this.scale);
+                    this.drawOverlay(col, row, this.originX + col * this.scale, this.originY + row * this.scale, this.scale);
+                }
+            }
+        } else {
+            // Several tiles per block: draw the tile under the center of each block
+            final double left = Math.max(0, this.originX + firstCol * this.scale);
+            final double top = Math.max(0, this.originY + firstRow * this.scale);
+            final double right = Math.min(width, this.originX + (lastCol + 1) * this.scale);
+            final double bottom = Math.min(height, this.originY + (lastRow + 1) * this.scale);
+            for (double y = top; y < bottom; y += SAMPLE_BLOCK) {
+                int row = Math.min(lastRow, (int) Math.floor((y + SAMPLE_BLOCK / 2.0 - this.originY) / this.scale));
+                for (double x = left; x < right; x += SAMPLE_BLOCK) {
+                    int col = Math.min(lastCol, (int) Math.floor((x + SAMPLE_BLOCK / 2.0 - this.originX) / this.scale));
+                    this.gc.setFill(TILE_COLORS[this.tileAt(col, row)]);
+                    this.gc.fillRect(x, y, SAMPLE_BLOCK, SAMPLE_BLOCK);
+                }
+            }
+        }
+    }
+
+    private void drawTileImage(int tile, double x, double y) {
+        double size = this.scale * this.tileRatio;
+        SpriteAtlas.drawTile(this.gc, tile, x, y, size);
+    }
+
+    private void drawOverlay(int col, int row, double x, double y, double size) {
+        double probability = this.overlayAt(col, row);
+        if (!Double.isNaN(probability)) {
+            this.gc.setFill(BoardRenderer.overlayColor(probability));
+            this.gc.fillRect(x, y, size, size);
+        }
+    }
+
+    /**
+     * Keeps a bounded grid covering the viewport, or centered in it when the grid is smaller than the viewport.
+     */
+    private void clampOrigin() {
+        if (this.isBounded()) {
+            this.originX = clampAxis(this.originX, this.cols * this.scale, this.canvas.getWidth());
+            this.originY = clampAxis(this.originY, this.rows * this.scale, this.canvas.getHeight());
+        }
+    }
+
+    private static double clampAxis(double origin, double gridSize, double viewportSize) {
+        if (gridSize <= viewportSize) {
+            return (viewportSize - gridSize) / 2;
+        }
+        return Math.max(viewportSize - gridSize, Math.min(0, origin));
+    }
+
+    private int colAt(double x) {
+        return (int) Math.floor((x - this.originX) / this.scale);
+    }
+
+    private int rowAt(double y) {
+        return (int) Math.floor((y - this.originY) / this.scale);
+    }
+
+    private boolean isInside(int col, int row) {
+        return !this.isBounded() || (row >= 0 && row < this.rows && col >= 0 && col < this.cols);
+    }
+
+    private void onMousePressed(MouseEvent event) {
+        this.pressedButton = event.getButton();
+        this.pressX = event.getX();
+        this.pressY = event.getY();
+        this.panning = false;
+        this.pressed = false;
+        // Handle both left and right mouse button presses
+        if (event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) {
+            this.pressedCol = this.colAt(event.getX());
+            this.pressedRow = this.rowAt(event.getY());
+            if (this.isInside(this.pressedCol, this.pressedRow)) {
+                this.pressed = true;
+                this.onTilePressed(this.pressedCol, this.pressedRow, event.getButton() == MouseButton.PRIMARY);
+            }
+        }
+    }
+
+    private void onMouseDragged(MouseEvent event) {
+        if (this.pressedButton != MouseButton.PRIMARY) {
+            return;
+        }
+
+        // Dragging further than a click would cancels the press on the tile and pans the grid instead
+        if (!this.panning) {
+            if (Math.abs(event.getX() - this.pressX) < DRAG_THRESHOLD && Math.abs(event.getY() - this.pressY) < DRAG_THRESHOLD) {
+                return;
+            }
+            this.panning = true;
+            if (this.pressed) {
+                this.pressed = false;
+                this.onTileReleased(this.pressedCol, this.pressedRow);
+            }
+        }
+
+        this.originX += event.getX() - this.pressX;
+        this.originY += event.getY() - this.pressY;
+        this.pressX = event.getX();
+        this.pressY = event.getY();
+        this.clampOrigin();
+        this.requestRepaint();
+    }
+
+    private void onMouseReleased(MouseEvent event) {
+        // Handle both left and right mouse button releases, which are a click when still over the pressed tile
+        if ((event.getButton() == MouseButton.PRIMARY || event.getButton() == MouseButton.MIDDLE) && this.pressed) {
+            this.pressed = false;
+            this.onTileReleased(this.pressedCol, this.pressedRow);
+            if (this.colAt(event.getX()) == this.pressedCol && this.rowAt(event.getY()) == this.pressedRow) {
+                this.onTileClicked(this.pressedCol, this.pressedRow, event.getButton() == MouseButton.PRIMARY);
+            }
+        }
+        this.panning = false;
+        this.pressedButton = null;
+    }
+
+    private void onScroll(ScrollEvent event) {
+        double newScale = Math.max(this.minScale, Math.min(MAX_SCALE, this.scale * Math.pow(1.002, event.getDeltaY())));
+        if (newScale == this.scale) {
+            return;
+        }
+
+        // Zoom around the mouse position
+        this.originX = event.getX() - (event.getX() - this.originX) * newScale / this.scale;
+        this.originY = event.getY() - (event.getY() - this.originY) * newScale / this.scale;
+        this.scale = newScale;
+        this.clampOrigin();
+        this.requestRepaint();
+        event.consume();
+    }
+}
@@ -0,0 +1,60 @@
+package minesweeper;
+
+/**
+ * Represents the way the Minesweeper board is drawn.
+ */
+public enum RendererType {
+    TILES("Tiles"),
+    CANVAS("Canvas"),
+    VIEWPORT("Viewport");
+
+    private final String name;
+
+    /**
+     * Constructor for the RendererType enum.
+     *
+     * @param name the name of the renderer
+     */
+    RendererType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the renderer that follows this one, wrapping around to the first one.
+     *
+     * @return the next renderer type
+     */
+    public RendererType next() {
+        RendererType[] types = values();
+        return types[(ordinal() + 1) % types.length];
+    }
+
+    /**
+     * Creates a renderer of this type for the given board.
+     * Boards that don't fit on the screen always use the viewport renderer.
+     *
+     * @param config     the board configuration
+     * @param controller the controller receiving the mouse input
+     * @return the board renderer
+     */
+    public BoardRenderer createRenderer(BoardConfig config, Controller controller) {
+        if (this == VIEWPORT || config.isVirtualized()) {
+            return new ViewportBoardRenderer(config.getRows(), config.getCols(), config.getTileSize(),
+                    config.getViewportWidth(), config.getViewportHeight(), controller);
+        }
+        if (this == CANVAS) {
+            return new CanvasBoardRenderer(config.getRows(), config.getCols(), config.getTileSize(), controller);
+        }
+        return new ImageViewBoardRenderer(config.getRows(), config.getCols(), config.getTileSize(), controller);
+    }
+
+    /**
+     * Returns the name of the renderer as a string.
+     *
+     * @return the name of the renderer
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,212 @@
+package minesweeper;
+
+/**
+ * The recording of a game: the board it was played on and every action that changed it, with its time.
+ * <p>
+ * Replays are stored in a compact binary form: the board is written like a {@link BoardCode}, then each event is
+ * two varints, the space index as a zigzag delta from the previous event times 4 plus the action, and the
+ * milliseconds since the previous event. Consecutive actions are usually close to each other on the board, so most
+ * events take 3 bytes and the replay of an Expert game is a few hundred bytes.
+ */
+public final class Replay {
+    public static final int REVEAL = 0;
+    public static final int FLAG = 1;
+    public static final int CHORD = 2;
+
+    private static final int VERSION = 1;
+    private static final int ACTION_BITS = 2;
+
+    private final BoardCode board;
+    private final int[] indexes;
+    private final byte[] actions;
+    // Time of each event in milliseconds since the first one
+    private final long[] times;
+
+    /**
+     * Constructor for the Replay class.
+     *
+     * @param board   The board the game was played on.
+     * @param indexes The space index of each event.
+     * @param actions The action of each event.
+     * @param times   The time of each event in milliseconds since the first one, in increasing order.
+     */
+    public Replay(BoardCode board, int[] indexes, byte[] actions, long[] times) {
+        this.board = board;
+        this.indexes = indexes;
+        this.actions = actions;
+        this.times = times;
+    }
+
+    /**
+     * Decodes a replay from its binary form.
+     *
+     * @param bytes The encoded replay.
+     * @return The decoded replay.
+     * @throws IllegalArgumentException if the data is malformed or doesn't describe a valid board.
+     */
+    public static Replay fromByteArray(byte[] bytes) {
+        ByteReader reader = new ByteReader(bytes);
+        if (reader.readByte() != VERSION) {
+            throw new IllegalArgumentException("Unknown replay version");
+        }
+        int rows = reader.readVarInt();
+        int cols = reader.readVarInt();
+        int mines = reader.readVarInt();
+        int symmetry = reader.readVarInt();
+        long seed = reader.readLong();
+        String error = BoardConfig.validate(rows, cols, mines);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        if (!BoardSymmetry.isValid(symmetry, rows, cols)) {
+            throw new IllegalArgumentException("Invalid symmetry in replay");
+        }
+
+        int count = reader.readVarInt();
+        if (count < 0 || count > bytes.length) {
+            throw new IllegalArgumentException("Invalid number of events in replay");
+        }
+        int[] indexes = new int[count];
+        byte[] actions = new byte[count];
+        long[] times = new long[count];
+        int index = 0;
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            int value = reader.readVarInt();
+            int delta = value >>> ACTION_BITS;
+            index += (delta >>> 1) ^ -(delta & 1);
+            time += reader.readVarInt();
+            if (index < 0 || index >= rows * cols || (value & 3) > CHORD) {
+                throw new IllegalArgumentException("Invalid event in replay");
+            }
+            indexes[i] = index;
+            actions[i] = (byte) (value & 3);
+            times[i] = time;
+        }
+        int firstClick = firstReveal(indexes, actions);
+        return new Replay(new BoardCode(seed, rows, cols, mines, Math.max(firstClick, 0), symmetry), indexes, actions, times);
+    }
+
+    /**
+     * Decodes a replay from text.
+     *
+     * @param text The replay encoded with {@link #encode()}.
+     * @return The decoded replay.
+     * @throws IllegalArgumentException if the text is malformed or doesn't describe a valid board.
+     */
+    public static Replay decode(String text) {
+        return fromByteArray(Base64Url.decode(text.trim()));
+    }
+
+    /**
+     * Encodes the replay to its binary form.
+     *
+     * @return The encoded replay.
+     */
+    public byte[] toByteArray() {
+        ByteWriter writer = new ByteWriter(32 + this.indexes.length * 3)
+            .writeByte(VERSION)
+            .writeVarInt(this.board.getRows())
+            .writeVarInt(this.board.getCols())
+            .writeVarInt(this.board.getMines())
+            .writeVarInt(this.board.getSymmetry())
+            .writeLong(this.board.getSeed())
+            .writeVarInt(this.indexes.length);
+        int previousIndex = 0;
+        long previousTime = 0;
+        for (int i = 0; i < this.indexes.length; i++) {
+            int delta = this.indexes[i] - previousIndex;
+            writer.writeVarInt((((delta << 1) ^ (delta >> 31)) << ACTION_BITS) | this.actions[i]);
+            writer.writeVarInt((int) (this.times[i] - previousTime));
+            previousIndex = this.indexes[i];
+            previousTime = this.times[i];
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes the replay to URL safe text.
+     *
+     * @return The text of the replay.
+     */
+    public String encode() {
+        return Base64Url.encode(this.toByteArray());
+    }
+
+    private static int firstReveal(int[] indexes, byte[] actions) {
+        for (int i = 0; i < indexes.length; i++) {
+            if (actions[i] == REVEAL) {
+                return indexes[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the board the game was played on.
+     *
+     * @return The board code.
+     */
+    public BoardCode getBoardCode() {
+        return this.board;
+    }
+
+    /**
+     * Gets the number of recorded events.
+     *
+     * @return The number of events.
+     */
+    public int getEventCount() {
+        return this.indexes.length;
+    }
+
+    /**
+     * Gets the space index of an event.
+     */
+    public int getIndex(int event) {
+        return this.indexes[event];
+    }
+
+    /**
+     * Gets the action of an event: {@link #REVEAL}, {@link #FLAG} or {@link #CHORD}.
+     */
+    public int getAction(int event) {
+        return this.actions[event];
+    }
+
+    /**
+     * Gets the time of an event in milliseconds since the first event.
+     */
+    public long getTime(int event) {
+        return this.times[event];
+    }
+
+    /**
+     * Gets the time of the last event in milliseconds since the first event.
+     *
+     * @return The duration of the replay.
+     */
+    public long getDuration() {
+        return this.times.length == 0 ? 0 : this.times[this.times.length - 1];
+    }
+
+    /**
+     * Gets the number of events that happened at or before a time.
+     *
+     * @param time The time in milliseconds since the first event.
+     * @return The number of events.
+     */
+    public int getEventCountAt(long time) {
+        int low = 0;
+        int high = this.times.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.times[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,154 @@
+package minesweeper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays a {@link Replay} back on its own {@link MinesweeperEngine}. Events can be applied one at a time, and the
+ * player can seek to any event: a copy of the engine is kept every {@link #getKeyframeInterval()} events, so a seek
+ * restores the closest keyframe before the target and applies fewer than that many events.
+ * <p>
+ * Each keyframe holds a byte per space, so the interval starts at {@link #KEYFRAME_INTERVAL} and grows with the
+ * board and the length of the replay to keep all the keyframes within {@link #MAX_KEYFRAME_SPACES}.
+ */
+public final class ReplayPlayer {
+    public static final int KEYFRAME_INTERVAL = 32;
+    // Spaces of all the keyframes together, 16 MB of cells
+    public static final int MAX_KEYFRAME_SPACES = 1 << 24;
+
+    private final Replay replay;
+    private final BoardConfig config;
+    private final MinesweeperEngine engine = new MinesweeperEngine();
+    // Keyframe k holds the game after k * keyframeInterval events
+    private final List<MinesweeperEngine> keyframes = new ArrayList<>();
+    private final int keyframeInterval;
+    private int position;
+
+    /**
+     * Constructor for the ReplayPlayer class. Plays the whole replay once to take the keyframes, then rewinds it.
+     *
+     * @param replay The replay to play.
+     */
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+        this.config = replay.getBoardCode().toBoardConfig();
+        BoardCode board = replay.getBoardCode();
+        this.keyframeInterval = keyframeInterval(this.config.getTotalSpaces(), replay.getEventCount());
+        this.engine.newGame(this.config, board.getSeed(), board.getSymmetry());
+        for (int event = 0; event < replay.getEventCount(); event++) {
+            if (event % this.keyframeInterval == 0) {
+                this.addKeyframe();
+            }
+            this.apply(event);
+        }
+        if (replay.getEventCount() % this.keyframeInterval == 0) {
+            this.addKeyframe();
+        }
+        this.engine.copyFrom(this.keyframes.get(0));
+        this.position = 0;
+    }
+
+    /**
+     * Gets the number of events between keyframes, so that a replay takes at most {@link #MAX_KEYFRAME_SPACES}
+     * of keyframes, or two keyframes on the largest boards.
+     *
+     * @param spaces The number of spaces of the board.
+     * @param events The number of events of the replay.
+     * @return The keyframe interval, at least {@link #KEYFRAME_INTERVAL}.
+     */
+    static int keyframeInterval(int spaces, int events) {
+        final int keyframes = Math.max(2, MAX_KEYFRAME_SPACES / Math.max(1, spaces));
+        // Keyframes are taken at 0, interval, ... up to the event count, so keyframes - 1 intervals cover it
+        final int interval = (events + keyframes - 2) / (keyframes - 1);
+        return Math.max(KEYFRAME_INTERVAL, interval);
+    }
+
+    private void addKeyframe() {
+        MinesweeperEngine keyframe = new MinesweeperEngine();
+        keyframe.copyFrom(this.engine);
+        this.keyframes.add(keyframe);
+    }
+
+    private void apply(int event) {
+        final int index = this.replay.getIndex(event);
+        switch (this.replay.getAction(event)) {
+            case Replay.REVEAL -> this.engine.reveal(index);
+            case Replay.FLAG -> this.engine.toggleFlag(index);
+            default -> this.engine.chord(index);
+        }
+    }
+
+    /**
+     * Applies the next event. The engine reports the spaces it changed as for a played action.
+     *
+     * @return False if the replay is at its end.
+     */
+    public boolean step() {
+        if (this.position == this.replay.getEventCount()) {
+            return false;
+        }
+        this.apply(this.position++);
+        return true;
+    }
+
+    /**
+     * Moves the replay to the game after a number of events, from the closest keyframe.
+     * The engine doesn't report the changed spaces, the whole board has to be redrawn.
+     *
+     * @param position The number of events to apply, clamped to the replay.
+     */
+    public void seek(int position) {
+        position = Math.max(0, Math.min(position, this.replay.getEventCount()));
+        final int keyframe = position / this.keyframeInterval;
+        this.engine.copyFrom(this.keyframes.get(keyframe));
+        this.position = keyframe * this.keyframeInterval;
+        while (this.position < position) {
+            this.apply(this.position++);
+        }
+    }
+
+    /**
+     * Gets the number of events between keyframes, which a seek applies at most.
+     *
+     * @return The keyframe interval.
+     */
+    public int getKeyframeInterval() {
+        return this.keyframeInterval;
+    }
+
+    /**
+     * Gets the number of events applied.
+     *
+     * @return The position in the replay.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Gets the replay played.
+     *
+     * @return The replay.
+     */
+    public Replay getReplay() {
+        return this.replay;
+    }
+
+    /**
+     * Gets the board configuration of the replay.
+     *
+     * @return The board configuration.
+     */
+    public BoardConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Gets the engine holding the game at the current position.
+     *
+     * @return The game engine.
+     */
+    public MinesweeperEngine getEngine() {
+        return this.engine;
+    }
+}
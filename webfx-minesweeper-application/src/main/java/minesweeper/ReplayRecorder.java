@@ -0,0 +1,77 @@
+package minesweeper;
+
+/**
+ * Records the actions of a game as they are played, to build a {@link Replay} once the board is known.
+ * Event times are the times played when the events happened, read from the {@link GameClock} of the game, so a
+ * replay leaves out the pauses and ends at the recorded score.
+ */
+public final class ReplayRecorder {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] indexes = new int[INITIAL_CAPACITY];
+    private byte[] actions = new byte[INITIAL_CAPACITY];
+    private long[] times = new long[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Forgets the recorded events, to record a new game.
+     */
+    public void clear() {
+        this.count = 0;
+    }
+
+    /**
+     * Records an action that changed the board.
+     *
+     * @param action     The action: {@link Replay#REVEAL}, {@link Replay#FLAG} or {@link Replay#CHORD}.
+     * @param index      The index of the space.
+     * @param timeMillis The time played when the action happened, in milliseconds.
+     */
+    public void record(int action, int index, long timeMillis) {
+        if (this.count == this.indexes.length) {
+            this.grow();
+        }
+        this.indexes[this.count] = index;
+        this.actions[this.count] = (byte) action;
+        this.times[this.count] = timeMillis;
+        this.count++;
+    }
+
+    /**
+     * Gets the number of recorded events.
+     *
+     * @return The number of events.
+     */
+    public int getEventCount() {
+        return this.count;
+    }
+
+    /**
+     * Builds the replay of the recorded events.
+     *
+     * @param board The board the game is played on.
+     * @return The replay.
+     */
+    public Replay toReplay(BoardCode board) {
+        final int[] indexes = new int[this.count];
+        final byte[] actions = new byte[this.count];
+        final long[] times = new long[this.count];
+        System.arraycopy(this.indexes, 0, indexes, 0, this.count);
+        System.arraycopy(this.actions, 0, actions, 0, this.count);
+        System.arraycopy(this.times, 0, times, 0, this.count);
+        return new Replay(board, indexes, actions, times);
+    }
+
+    private void grow() {
+        final int capacity = this.indexes.length * 2;
+        final int[] indexes = new int[capacity];
+        final byte[] actions = new byte[capacity];
+        final long[] times = new long[capacity];
+        System.arraycopy(this.indexes, 0, indexes, 0, this.count);
+        System.arraycopy(this.actions, 0, actions, 0, this.count);
+        System.arraycopy(this.times, 0, times, 0, this.count);
+        this.indexes = indexes;
+        this.actions = actions;
+        this.times = times;
+    }
+}
@@ -0,0 +1,92 @@
+package minesweeper;
+
+/**
+ * Fast splittable pseudo random number generator (SplitMix64).
+ * The sequence is fully determined by the seed on every platform, which makes boards reproducible from their seed.
+ * Unlike {@link java.util.Random} it is available in the browser build and can be split into independent streams.
+ */
+public final class SplitMix64 {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static long seedUniquifier = System.currentTimeMillis();
+
+    private long state;
+
+    /**
+     * Constructor for the SplitMix64 class.
+     *
+     * @param seed The seed of the sequence.
+     */
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Restarts the sequence from the given seed.
+     *
+     * @param seed The seed of the sequence.
+     */
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Creates a new seed that differs on every call.
+     *
+     * @return A new seed.
+     */
+    public static long randomSeed() {
+        seedUniquifier += GOLDEN_GAMMA;
+        return mix(seedUniquifier ^ System.currentTimeMillis());
+    }
+
+    /**
+     * Mixes the bits of a value into a well distributed 64-bit hash.
+     *
+     * @param z The value to mix.
+     * @return The mixed value.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets the next pseudo random 64-bit value.
+     *
+     * @return The next value.
+     */
+    public long nextLong() {
+        this.state += GOLDEN_GAMMA;
+        return mix(this.state);
+    }
+
+    /**
+     * Gets the next pseudo random value uniformly distributed between 0 (inclusive) and the bound (exclusive).
+     *
+     * @param bound The upper bound, must be positive.
+     * @return The next value.
+     */
+    public int nextInt(int bound) {
+        // Multiply-shift with rejection of the few biased values (Lemire)
+        long product = (this.nextLong() >>> 33) * bound;
+        long low = product & 0x7FFFFFFFL;
+        if (low < bound) {
+            long threshold = (0x80000000L - bound) % bound;
+            while (low < threshold) {
+                product = (this.nextLong() >>> 33) * bound;
+                low = product & 0x7FFFFFFFL;
+            }
+        }
+        return (int) (product >>> 31);
+    }
+
+    /**
+     * Splits off a new generator whose sequence is independent of this one.
+     *
+     * @return The new generator.
+     */
+    public SplitMix64 split() {
+        return new SplitMix64(mix(this.nextLong()));
+    }
+}
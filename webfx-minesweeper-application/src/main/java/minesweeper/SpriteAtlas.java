@@ -0,0 +1,131 @@
+package minesweeper;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * Draws the tiles, digits and faces of the game from the atlas image of the current {@link TileSkin}.
+ * The atlases and the position of each sprite in them are generated by the webfx-minesweeper-atlas module, see
+ * {@link AtlasIndex}. ImageViews show a sprite through their viewport, and canvases draw its sub-rectangle.
+ * The viewports are resolved once, so showing a sprite is an array access by tile state or digit.
+ */
+public final class SpriteAtlas {
+    public static final int FACE_SMILE = 0;
+    public static final int FACE_DEAD = 1;
+    public static final int FACE_WIN = 2;
+    public static final int FACE_SURPRISED = 3;
+    // The digit index of the minus sign
+    public static final int MINUS = 10;
+
+    private static final Rectangle2D[] TILE_VIEWPORTS = viewports(AtlasIndex.TILES);
+    private static final Rectangle2D[] DIGIT_VIEWPORTS = viewports(AtlasIndex.DIGITS);
+    private static final Rectangle2D[] FACE_VIEWPORTS = viewports(AtlasIndex.FACES);
+
+    private static TileSkin skin = TileSkin.getDefault();
+
+    private SpriteAtlas() {
+    }
+
+    private static Rectangle2D[] viewports(int[] sprites) {
+        Rectangle2D[] viewports = new Rectangle2D[sprites.length / 4];
+        for (int i = 0; i < viewports.length; i++) {
+            viewports[i] = new Rectangle2D(sprites[i * 4], sprites[i * 4 + 1], sprites[i * 4 + 2], sprites[i * 4 + 3]);
+        }
+        return viewports;
+    }
+
+    /**
+     * Gets the skin the sprites are drawn with.
+     *
+     * @return The current skin.
+     */
+    public static TileSkin getSkin() {
+        return skin;
+    }
+
+    /**
+     * Sets the skin the sprites are drawn with. What is already shown keeps the previous skin until it is refreshed,
+     * see {@link #refresh(ImageView)} and {@link BoardRenderer#refreshSkin()}.
+     *
+     * @param tileSkin The new skin.
+     */
+    public static void setSkin(TileSkin tileSkin) {
+        skin = tileSkin;
+    }
+
+    /**
+     * Gets the atlas image of the current skin, loading it on first use.
+     *
+     * @return The atlas image.
+     */
+    public static Image getImage() {
+        return skin.getImage();
+    }
+
+    /**
+     * Draws a tile onto a canvas.
+     *
+     * @param gc   The graphics context of the canvas.
+     * @param tile The tile state (see {@link Tile}).
+     * @param x    The x coordinate of the tile on the canvas.
+     * @param y    The y coordinate of the tile on the canvas.
+     * @param size The size of the tile on the canvas.
+     */
+    public static void drawTile(GraphicsContext gc, int tile, double x, double y, double size) {
+        final int[] tiles = AtlasIndex.TILES;
+        final int offset = tile * 4;
+        gc.drawImage(getImage(), tiles[offset], tiles[offset + 1], tiles[offset + 2], tiles[offset + 3], x, y, size, size);
+    }
+
+    /**
+     * Shows a tile in an ImageView.
+     *
+     * @param view The ImageView.
+     * @param tile The tile state (see {@link Tile}).
+     */
+    public static void showTile(ImageView view, int tile) {
+        show(view, TILE_VIEWPORTS[tile]);
+    }
+
+    /**
+     * Shows a digit of the header displays in an ImageView.
+     *
+     * @param view  The ImageView.
+     * @param digit The digit from 0 to 9, or {@link #MINUS}.
+     */
+    public static void showDigit(ImageView view, int digit) {
+        show(view, DIGIT_VIEWPORTS[digit]);
+    }
+
+    /**
+     * Shows a face of the smiley button in an ImageView.
+     *
+     * @param view The ImageView.
+     * @param face The face, one of the FACE constants.
+     */
+    public static void showFace(ImageView view, int face) {
+        show(view, FACE_VIEWPORTS[face]);
+    }
+
+    /**
+     * Shows the sprite of an ImageView with the current skin.
+     *
+     * @param view The ImageView.
+     */
+    public static void refresh(ImageView view) {
+        show(view, view.getViewport());
+    }
+
+    private static void show(ImageView view, Rectangle2D viewport) {
+        // Only what changed is set, showing the same digit again leaves the scene graph untouched
+        final Image image = getImage();
+        if (view.getImage() != image) {
+            view.setImage(image);
+        }
+        if (view.getViewport() != viewport) {
+            view.setViewport(viewport);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package minesweeper;
+
+import dev.webfx.platform.storage.LocalStorage;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+/**
+ * Keeps the {@link GameStats} of each difficulty in the local storage. The statistics are encoded as text: a version
+ * line, then one tab separated line per difficulty. They are loaded when first needed, and written a short delay
+ * after a game ends, away from the frame that ended it. Custom boards have no statistics.
+ */
+public final class StatsStore {
+    private static final String KEY = "minesweeper.stats";
+    private static final String VERSION = "ST1";
+    // Games finished within this delay are written together
+    private static final int WRITE_DELAY_MILLIS = 500;
+
+    private static final GameStats[] stats = new GameStats[Difficulty.values().length];
+    private static boolean loaded;
+
+    private static final Timeline writeTimeline = new Timeline(new KeyFrame(Duration.millis(WRITE_DELAY_MILLIS), event -> write()));
+
+    static {
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new GameStats();
+        }
+    }
+
+    private StatsStore() {
+    }
+
+    /**
+     * Loads the statistics now if they aren't loaded yet. Lines that can't be read are ignored.
+     */
+    public static void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        String data = LocalStorage.getItem(KEY);
+        if (data == null || !data.startsWith(VERSION + "\n")) {
+            return;
+        }
+        Difficulty[] difficulties = Difficulty.values();
+        for (String line : data.substring(VERSION.length() + 1).split("\n")) {
+            String[] fields = line.split("\t");
+            try {
+                int ordinal = Integer.parseInt(fields[0]);
+                if (ordinal >= 0 && ordinal < difficulties.length) {
+                    GameStats gameStats = new GameStats();
+                    gameStats.decode(fields, 1);
+                    stats[ordinal] = gameStats;
+                }
+            } catch (IllegalArgumentException e) {
+                // Includes NumberFormatException, the difficulty keeps empty statistics
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of a difficulty.
+     *
+     * @param difficulty The difficulty level.
+     * @return The statistics.
+     */
+    public static GameStats get(Difficulty difficulty) {
+        load();
+        return stats[difficulty.ordinal()];
+    }
+
+    /**
+     * Records a finished game and writes the statistics after a short delay.
+     *
+     * @param difficulty The difficulty level, or null for a custom board, which isn't recorded.
+     * @param won        True if the game was won.
+     * @param timeMillis The time played in milliseconds.
+     * @param bbbv       The 3BV of the board.
+     * @param clicks     The clicks of the player, or 0 if they are unknown.
+     */
+    public static void record(Difficulty difficulty, boolean won, long timeMillis, int bbbv, int clicks) {
+        if (difficulty == null) {
+            return;
+        }
+        get(difficulty).record(won, timeMillis, bbbv, clicks);
+        writeTimeline.playFromStart();
+    }
+
+    /**
+     * Forgets the statistics of every difficulty, in the storage too.
+     */
+    public static void reset() {
+        load();
+        writeTimeline.stop();
+        for (GameStats gameStats : stats) {
+            gameStats.clear();
+        }
+        LocalStorage.removeItem(KEY);
+    }
+
+    /**
+     * Gets the statistics as a formatted string.
+     *
+     * @return The statistics of each difficulty played as a formatted string.
+     */
+    public static String getStatsText() {
+        load();
+        StringBuilder sb = new StringBuilder();
+        for (Difficulty difficulty : Difficulty.values()) {
+            GameStats gameStats = stats[difficulty.ordinal()];
+            if (gameStats.getPlayed() == 0) {
+                continue;
+            }
+            sb.append(difficulty.getName()).append('\n');
+            sb.append("Played ").append(gameStats.getPlayed());
+            sb.append(", won ").append(Math.round(gameStats.getWinRate() * 100)).append("%\n");
+            sb.append("Streak ").append(gameStats.getStreak());
+            sb.append(", best ").append(gameStats.getBestStreak()).append('\n');
+            if (gameStats.getWon() > 0) {
+                sb.append("Best ").append(HighScore.formatTime(gameStats.getBestMillis()));
+                sb.append(", median ").append(HighScore.formatTime(Math.round(gameStats.getMedianMillis()))).append('\n');
+                sb.append("3BV/s ").append(formatDecimal(gameStats.getBbbvPerSecond()));
+                sb.append(", best ").append(formatDecimal(gameStats.getBestBbbvPerSecond())).append('\n');
+                sb.append("Efficiency ").append(Math.round(gameStats.getEfficiency() * 100)).append("%\n");
+            }
+        }
+        return sb.length() == 0 ? "No games yet!" : sb.toString();
+    }
+
+    /**
+     * Formats a positive number with two decimals.
+     */
+    private static String formatDecimal(double value) {
+        long hundredths = Math.round(value * 100);
+        long decimals = hundredths % 100;
+        return hundredths / 100 + (decimals < 10 ? ".0" : ".") + decimals;
+    }
+
+    private static void write() {
+        StringBuilder sb = new StringBuilder(VERSION).append('\n');
+        for (int i = 0; i < stats.length; i++) {
+            sb.append(i).append('\t');
+            stats[i].encode(sb);
+            sb.append('\n');
+        }
+        LocalStorage.setItem(KEY, sb.toString());
+    }
+}
@@ -0,0 +1,21 @@
+package minesweeper;
+
+/**
+ * Visual states of a tile on the Minesweeper board.
+ * The numbers 0 to 8 are the revealed spaces with that many adjacent mines.
+ */
+public final class Tile {
+    public static final int EMPTY = 0;
+    public static final int COVER = 9;
+    public static final int FLAG = 10;
+    public static final int MINE_RED = 11;
+    public static final int MINE_GREY = 12;
+    public static final int MINE_MISFLAGGED = 13;
+    // A covered space pressed down by the mouse looks like an empty revealed space
+    public static final int PRESSED = EMPTY;
+
+    public static final int COUNT = 14;
+
+    private Tile() {
+    }
+}
@@ -0,0 +1,70 @@
+package minesweeper;
+
+import javafx.scene.image.Image;
+
+/**
+ * A look of the tiles, digits and faces of the game, drawn from its own atlas image.
+ * All the skins share the layout of {@link AtlasIndex}, so switching skin only switches the atlas image and the
+ * sprites shown keep their viewports.
+ */
+public final class TileSkin {
+    private static final TileSkin[] SKINS = new TileSkin[AtlasIndex.SKIN_PATHS.length];
+
+    static {
+        for (int i = 0; i < SKINS.length; i++) {
+            SKINS[i] = new TileSkin(i, AtlasIndex.SKIN_NAMES[i], AtlasIndex.SKIN_PATHS[i]);
+        }
+    }
+
+    private final int ordinal;
+    private final String name;
+    private final String path;
+    // Loaded on first use, so that the skins not shown are never downloaded
+    private Image image;
+
+    private TileSkin(int ordinal, String name, String path) {
+        this.ordinal = ordinal;
+        this.name = name;
+        this.path = path;
+    }
+
+    /**
+     * Gets the default skin.
+     *
+     * @return The classic skin.
+     */
+    public static TileSkin getDefault() {
+        return SKINS[0];
+    }
+
+    /**
+     * Gets the skin after this one, wrapping around to the first.
+     *
+     * @return The next skin.
+     */
+    public TileSkin next() {
+        return SKINS[(this.ordinal + 1) % SKINS.length];
+    }
+
+    /**
+     * Gets the atlas image of the skin, loading it on first use.
+     *
+     * @return The atlas image.
+     */
+    public Image getImage() {
+        if (this.image == null) {
+            this.image = ImagePreloader.getImage(this.path);
+        }
+        return this.image;
+    }
+
+    /**
+     * Gets the name of the skin.
+     *
+     * @return The name shown to the player.
+     */
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,97 @@
+package minesweeper;
+
+import javafx.scene.Node;
+
+import java.util.Arrays;
+
+/**
+ * Board renderer drawing only the visible window of a board onto a Canvas of a fixed viewport size.
+ * The board can be panned by dragging and zoomed with the mouse wheel (see {@link PanZoomCanvas}), so the cost
+ * of a frame depends on the viewport size and not on the size of the board.
+ */
+public class ViewportBoardRenderer extends PanZoomCanvas implements BoardRenderer {
+    private final int cols;
+    private final Controller controller;
+    private final byte[] tiles;
+    // Allocated when the first shade is set
+    private double[] overlay;
+
+    /**
+     * Constructor for the ViewportBoardRenderer class.
+     *
+     * @param rows           The number of rows of the board.
+     * @param cols           The number of columns of the board.
+     * @param tileSize       The size of each tile at the default zoom.
+     * @param viewportWidth  The width of the visible area.
+     * @param viewportHeight The height of the visible area.
+     * @param controller     The controller receiving the mouse input.
+     */
+    public ViewportBoardRenderer(int rows, int cols, int tileSize, int viewportWidth, int viewportHeight, Controller controller) {
+        super(rows, cols, tileSize, 0, viewportWidth, viewportHeight);
+        this.cols = cols;
+        this.controller = controller;
+        this.tiles = new byte[rows * cols];
+    }
+
+    @Override
+    public Node getNode() {
+        return this.canvas;
+    }
+
+    @Override
+    public void setTile(int index, int tile) {
+        this.tiles[index] = (byte) tile;
+        int row = index / this.cols;
+        this.redrawTile(index - row * this.cols, row);
+    }
+
+    @Override
+    public void fill(int tile) {
+        Arrays.fill(this.tiles, (byte) tile);
+        this.requestRepaintWhenLoaded(SpriteAtlas.getImage());
+    }
+
+    @Override
+    public void refreshSkin() {
+        this.requestRepaintWhenLoaded(SpriteAtlas.getImage());
+    }
+
+    @Override
+    public void setOverlay(int index, double probability) {
+        if (this.overlay == null) {
+            if (Double.isNaN(probability)) {
+                return;
+            }
+            this.overlay = new double[this.tiles.length];
+            Arrays.fill(this.overlay, Double.NaN);
+        }
+        this.overlay[index] = probability;
+        int row = index / this.cols;
+        this.redrawTile(index - row * this.cols, row);
+    }
+
+    @Override
+    protected int tileAt(int col, int row) {
+        return this.tiles[row * this.cols + col];
+    }
+
+    @Override
+    protected double overlayAt(int col, int row) {
+        return this.overlay == null ? Double.NaN : this.overlay[row * this.cols + col];
+    }
+
+    @Override
+    protected void onTilePressed(int col, int row, boolean leftClick) {
+        this.controller.spaceClickDown(row * this.cols + col, leftClick);
+    }
+
+    @Override
+    protected void onTileReleased(int col, int row) {
+        this.controller.spaceClickUp(row * this.cols + col);
+    }
+
+    @Override
+    protected void onTileClicked(int col, int row, boolean leftClick) {
+        this.controller.onSpaceClicked(row * this.cols + col, leftClick);
+    }
+}
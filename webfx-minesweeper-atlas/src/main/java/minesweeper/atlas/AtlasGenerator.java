@@ -0,0 +1,253 @@
+package minesweeper.atlas;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Packs the tile, digit and face images of the game into a single atlas image, and writes the position of each
+ * sprite in the atlas to a generated Java class of the application. The game then loads one image instead of about
+ * thirty, and the renderers draw sub-rectangles of it.
+ * <p>
+ * One atlas is written per skin. The skins are derived from the same images, so their sprites are at the same
+ * positions and a single index serves them all: changing the skin only changes the atlas image.
+ * <p>
+ * Each sprite is surrounded by a one pixel border repeating its edge pixels, so that scaling a sprite with smoothing
+ * never blends in the pixels of its neighbours.
+ * <p>
+ * Run it from the root of the project after changing an image:
+ * <pre>mvn -pl webfx-minesweeper-atlas compile exec:java</pre>
+ */
+public final class AtlasGenerator {
+    private static final String IMAGES_DIR = "webfx-minesweeper-application-gwt/src/main/resources/public/images";
+    private static final String INDEX_FILE = "webfx-minesweeper-application/src/main/java/minesweeper/AtlasIndex.java";
+    private static final int ATLAS_WIDTH = 256;
+    private static final int PADDING = 1;
+
+    private static final Skin[] SKINS = {
+        new Skin("Classic", "atlas.png", false),
+        new Skin("Dark", "atlas-dark.png", true),
+    };
+
+    /**
+     * Sprites of the atlas, grouped into the arrays of the generated index.
+     * The order of the images of a group is the order of its array.
+     */
+    private static final Group[] GROUPS = {
+        new Group("TILES", "Indexed by tile state, see Tile", true, new String[]{
+            "minesweeper-basic/0.png", "minesweeper-basic/1.png", "minesweeper-basic/2.png",
+            "minesweeper-basic/3.png", "minesweeper-basic/4.png", "minesweeper-basic/5.png",
+            "minesweeper-basic/6.png", "minesweeper-basic/7.png", "minesweeper-basic/8.png",
+            "minesweeper-basic/cover.png", "minesweeper-basic/flag.png", "minesweeper-basic/mine-red.png",
+            "minesweeper-basic/mine-grey.png", "minesweeper-basic/mine-misflagged.png"
+        }),
+        new Group("DIGITS", "Digits 0 to 9, then the minus sign", false, new String[]{
+            "digits/0.png", "digits/1.png", "digits/2.png", "digits/3.png", "digits/4.png",
+            "digits/5.png", "digits/6.png", "digits/7.png", "digits/8.png", "digits/9.png", "digits/neg.png"
+        }),
+        new Group("FACES", "Indexed by face, see SpriteAtlas", false, new String[]{
+            "minesweeper-basic/face-smile.png", "minesweeper-basic/face-dead.png",
+            "minesweeper-basic/face-win.png", "minesweeper-basic/face-O.png"
+        }),
+    };
+
+    /**
+     * A skin of the game.
+     *
+     * @param name The name of the skin shown in the game.
+     * @param file The name of the atlas image of the skin.
+     * @param dark True to darken the grey of the tiles.
+     */
+    private record Skin(String name, String file, boolean dark) {
+    }
+
+    /**
+     * A group of sprites.
+     *
+     * @param name    The name of the array of the group in the index.
+     * @param comment The comment of the array in the index.
+     * @param skinned True if the skins change the sprites of the group.
+     * @param files   The images of the sprites.
+     */
+    private record Group(String name, String comment, boolean skinned, String[] files) {
+    }
+
+    private static final class Sprite {
+        final String file;
+        final BufferedImage image;
+        final boolean skinned;
+        int x;
+        int y;
+
+        Sprite(String file, BufferedImage image, boolean skinned) {
+            this.file = file;
+            this.image = image;
+            this.skinned = skinned;
+        }
+    }
+
+    private AtlasGenerator() {
+    }
+
+    /**
+     * Generates the atlas images and their index.
+     *
+     * @param args The root directory of the project, the working directory if omitted.
+     * @throws IOException if an image can't be read or an output can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path root = Path.of(args.length > 0 ? args[0] : ".");
+        Path imagesDir = root.resolve(IMAGES_DIR);
+
+        // Read every sprite once, a file may only appear in one group
+        List<List<Sprite>> groups = new ArrayList<>();
+        List<Sprite> sprites = new ArrayList<>();
+        for (Group group : GROUPS) {
+            List<Sprite> groupSprites = new ArrayList<>();
+            for (String file : group.files()) {
+                BufferedImage image = ImageIO.read(imagesDir.resolve(file).toFile());
+                if (image == null) {
+                    throw new IOException("Not an image: " + file);
+                }
+                Sprite sprite = new Sprite(file, image, group.skinned());
+                groupSprites.add(sprite);
+                sprites.add(sprite);
+            }
+            groups.add(groupSprites);
+        }
+
+        int height = pack(sprites);
+        for (Skin skin : SKINS) {
+            BufferedImage atlas = new BufferedImage(ATLAS_WIDTH, height, BufferedImage.TYPE_INT_ARGB);
+            for (Sprite sprite : sprites) {
+                draw(atlas, sprite, skin.dark() && sprite.skinned);
+            }
+            ImageIO.write(atlas, "png", imagesDir.resolve(skin.file()).toFile());
+        }
+        Files.writeString(root.resolve(INDEX_FILE), index(groups, height), StandardCharsets.UTF_8);
+        System.out.println("Packed " + sprites.size() + " sprites into " + SKINS.length + " atlases of " + ATLAS_WIDTH + "x" + height);
+    }
+
+    /**
+     * Places the sprites on shelves, the tallest first, filling each shelf from left to right.
+     *
+     * @param sprites The sprites to place.
+     * @return The height of the atlas.
+     */
+    private static int pack(List<Sprite> sprites) {
+        List<Sprite> sorted = new ArrayList<>(sprites);
+        sorted.sort(Comparator.comparingInt((Sprite sprite) -> sprite.image.getHeight()).reversed()
+            .thenComparing(sprite -> sprite.file));
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for (Sprite sprite : sorted) {
+            int width = sprite.image.getWidth() + 2 * PADDING;
+            int height = sprite.image.getHeight() + 2 * PADDING;
+            if (width > ATLAS_WIDTH) {
+                throw new IllegalArgumentException("Sprite wider than the atlas: " + sprite.file);
+            }
+            if (x + width > ATLAS_WIDTH) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            sprite.x = x + PADDING;
+            sprite.y = y + PADDING;
+            x += width;
+            shelfHeight = Math.max(shelfHeight, height);
+        }
+        return y + shelfHeight;
+    }
+
+    /**
+     * Copies a sprite into the atlas, extruding its edge pixels into the padding around it.
+     */
+    private static void draw(BufferedImage atlas, Sprite sprite, boolean dark) {
+        BufferedImage image = sprite.image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        // The raised cover keeps the order of its greys, the revealed tiles turn their dark greys light
+        boolean relief = sprite.file.endsWith("cover.png");
+        for (int y = -PADDING; y < height + PADDING; y++) {
+            int sourceY = Math.max(0, Math.min(height - 1, y));
+            for (int x = -PADDING; x < width + PADDING; x++) {
+                int sourceX = Math.max(0, Math.min(width - 1, x));
+                int argb = image.getRGB(sourceX, sourceY);
+                atlas.setRGB(sprite.x + x, sprite.y + y, dark ? darken(argb, relief) : argb);
+            }
+        }
+    }
+
+    /**
+     * Turns the greys of a classic tile into the dark skin, keeping the colours of the numbers, flag and mines.
+     *
+     * @param argb   The colour of a pixel of the classic tile.
+     * @param relief True to darken every grey, keeping their order, false to turn the light greys of the background
+     *               dark and the dark greys of the numbers and mines light.
+     * @return The colour of the pixel in the dark skin.
+     */
+    private static int darken(int argb, boolean relief) {
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        int max = Math.max(r, Math.max(g, b));
+        int min = Math.min(r, Math.min(g, b));
+        if (max - min > 24) {
+            return argb;
+        }
+        int grey;
+        if (relief) {
+            grey = max * 2 / 5;
+        } else if (max >= 160) {
+            grey = 40 + (max - 160) * 60 / 95;
+        } else {
+            grey = 255 - max * 3 / 5;
+        }
+        return (argb & 0xFF000000) | (grey << 16) | (grey << 8) | grey;
+    }
+
+    /**
+     * Writes the source of the index class.
+     */
+    private static String index(List<List<Sprite>> groups, int height) {
+        StringBuilder out = new StringBuilder();
+        out.append("package minesweeper;\n\n");
+        out.append("/**\n");
+        out.append(" * Positions of the sprites in the image atlas, as x, y, width and height in pixels.\n");
+        out.append(" * Generated by the AtlasGenerator of the webfx-minesweeper-atlas module, do not edit.\n");
+        out.append(" */\n");
+        out.append("final class AtlasIndex {\n");
+        out.append("\n    // The atlas of each skin, the sprites are at the same positions in all of them\n");
+        out.append("    static final String[] SKIN_NAMES = {");
+        for (int i = 0; i < SKINS.length; i++) {
+            out.append(i > 0 ? ", " : "").append('"').append(SKINS[i].name()).append('"');
+        }
+        out.append("};\n");
+        out.append("    static final String[] SKIN_PATHS = {");
+        for (int i = 0; i < SKINS.length; i++) {
+            out.append(i > 0 ? ", " : "").append("\"images/").append(SKINS[i].file()).append('"');
+        }
+        out.append("};\n");
+        out.append("    static final int WIDTH = ").append(ATLAS_WIDTH).append(";\n");
+        out.append("    static final int HEIGHT = ").append(height).append(";\n");
+        for (int i = 0; i < GROUPS.length; i++) {
+            out.append("\n    // ").append(GROUPS[i].comment()).append('\n');
+            out.append("    static final int[] ").append(GROUPS[i].name()).append(" = {\n");
+            for (Sprite sprite : groups.get(i)) {
+                out.append("        ").append(sprite.x).append(", ").append(sprite.y).append(", ")
+                    .append(sprite.image.getWidth()).append(", ").append(sprite.image.getHeight())
+                    .append(", // ").append(sprite.file).append('\n');
+            }
+            out.append("    };\n");
+        }
+        out.append("\n    private AtlasIndex() {\n    }\n}\n");
+        return out.toString();
+    }
+}
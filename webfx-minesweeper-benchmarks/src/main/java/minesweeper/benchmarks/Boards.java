@@ -0,0 +1,44 @@
+package minesweeper.benchmarks;
+
+import minesweeper.BoardConfig;
+import minesweeper.Difficulty;
+
+/**
+ * Board configurations of the benchmark parameters.
+ */
+final class Boards {
+
+    private Boards() {
+    }
+
+    /**
+     * Parses a board parameter: either the name of a difficulty preset, or {@code <rows>x<cols>@<density>}
+     * for a custom board with the given fraction of mines.
+     *
+     * @param spec the board parameter
+     * @return the board configuration
+     */
+    static BoardConfig parse(String spec) {
+        Difficulty difficulty = Difficulty.fromString(spec);
+        if (difficulty != null) {
+            return BoardConfig.of(difficulty);
+        }
+
+        int x = spec.indexOf('x');
+        int at = spec.indexOf('@');
+        int rows = Integer.parseInt(spec.substring(0, x));
+        int cols = Integer.parseInt(spec.substring(x + 1, at));
+        double density = Double.parseDouble(spec.substring(at + 1));
+        return BoardConfig.custom(rows, cols, (int) (rows * (long) cols * density));
+    }
+
+    /**
+     * Gets the index of the center space of a board, used as the first click.
+     *
+     * @param config the board configuration
+     * @return the index of the center space
+     */
+    static int center(BoardConfig config) {
+        return (config.getRows() / 2) * config.getCols() + config.getCols() / 2;
+    }
+}
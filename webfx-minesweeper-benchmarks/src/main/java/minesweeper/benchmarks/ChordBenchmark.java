@@ -0,0 +1,95 @@
+package minesweeper.benchmarks;
+
+import minesweeper.BoardConfig;
+import minesweeper.BoardState;
+import minesweeper.MinesweeperEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chording a revealed number whose mines are all flagged, after the first click of a game.
+ * Every invocation restores the game first, {@link #copyOnly()} measures that restore alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChordBenchmark {
+    @Param({"Beginner", "Intermediate", "Expert", "1000x1000@0.05", "1000x1000@0.15", "1000x1000@0.25"})
+    public String board;
+
+    private final MinesweeperEngine started = new MinesweeperEngine();
+    private final MinesweeperEngine engine = new MinesweeperEngine();
+    private int target = -1;
+
+    @Setup
+    public void setup() {
+        BoardConfig config = Boards.parse(this.board);
+        for (long seed = 0; this.target < 0; seed++) {
+            this.started.newGame(config, seed);
+            this.started.reveal(Boards.center(config));
+            this.target = this.findChordTarget();
+        }
+
+        // Flag the mines around the target so that chording it reveals its other neighbors
+        BoardState state = this.started.getBoard();
+        int row = state.rowOf(this.target);
+        int col = state.colOf(this.target);
+        for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, state.getRows() - 1); i++) {
+            for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, state.getCols() - 1); j++) {
+                if (state.isMine(state.index(i, j))) {
+                    this.started.toggleFlag(state.index(i, j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds a revealed number with covered spaces around it that aren't mines.
+     */
+    private int findChordTarget() {
+        BoardState state = this.started.getBoard();
+        for (int index = 0; index < state.getSize(); index++) {
+            if (!state.isRevealed(index) || state.getNumAdjacentMines(index) == 0) {
+                continue;
+            }
+            int row = state.rowOf(index);
+            int col = state.colOf(index);
+            for (int i = Math.max(row - 1, 0); i <= Math.min(row + 1, state.getRows() - 1); i++) {
+                for (int j = Math.max(col - 1, 0); j <= Math.min(col + 1, state.getCols() - 1); j++) {
+                    int neighbor = state.index(i, j);
+                    if (!state.isRevealed(neighbor) && !state.isMine(neighbor)) {
+                        return index;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int chord() {
+        this.engine.copyFrom(this.started);
+        this.engine.chord(this.target);
+        return this.engine.getChangedCount();
+    }
+
+    @Benchmark
+    public MinesweeperEngine copyOnly() {
+        this.engine.copyFrom(this.started);
+        return this.engine;
+    }
+}
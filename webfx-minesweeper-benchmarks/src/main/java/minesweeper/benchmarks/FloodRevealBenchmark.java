@@ -0,0 +1,82 @@
+package minesweeper.benchmarks;
+
+import minesweeper.BoardConfig;
+import minesweeper.BoardState;
+import minesweeper.FloodFill;
+import minesweeper.MinePlacer;
+import minesweeper.Openings;
+import minesweeper.SplitMix64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flood reveal of the first click on a board whose mines are already placed.
+ * Every invocation restores the covered board first, {@link #copyOnly()} measures that restore alone.
+ * {@link #openingReveal()} reveals the same opening from its labels, {@link #label()} measures the labelling done
+ * once when the mines are placed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FloodRevealBenchmark {
+    @Param({"Beginner", "Intermediate", "Expert", "1000x1000@0.05", "1000x1000@0.15", "1000x1000@0.25"})
+    public String board;
+
+    private BoardState covered;
+    private BoardState state;
+    private final FloodFill floodFill = new FloodFill();
+    private final Openings openings = new Openings();
+    private int click;
+
+    @Setup
+    public void setup() {
+        BoardConfig config = Boards.parse(this.board);
+        this.click = Boards.center(config);
+        this.covered = new BoardState(config.getRows(), config.getCols());
+        new MinePlacer().placeMines(this.covered, config.getMines(), this.click, new SplitMix64(42));
+        this.state = new BoardState(config.getRows(), config.getCols());
+        this.openings.label(this.covered);
+    }
+
+    @Benchmark
+    public int floodReveal() {
+        this.state.copyFrom(this.covered);
+        this.floodFill.clear();
+        this.floodFill.reveal(this.state, this.click);
+        return this.floodFill.getRevealedCount();
+    }
+
+    @Benchmark
+    public int openingReveal() {
+        this.state.copyFrom(this.covered);
+        this.floodFill.clear();
+        this.floodFill.reveal(this.state, this.openings, this.click);
+        return this.floodFill.getRevealedCount();
+    }
+
+    @Benchmark
+    public int label() {
+        this.openings.label(this.covered);
+        return this.openings.getCount();
+    }
+
+    @Benchmark
+    public BoardState copyOnly() {
+        this.state.copyFrom(this.covered);
+        return this.state;
+    }
+}
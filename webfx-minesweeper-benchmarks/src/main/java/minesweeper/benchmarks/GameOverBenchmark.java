@@ -0,0 +1,63 @@
+package minesweeper.benchmarks;
+
+import minesweeper.BoardConfig;
+import minesweeper.BoardState;
+import minesweeper.MinesweeperEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revealing a mine after the first click, which scans the whole board for the mines and wrong flags to show.
+ * Every invocation restores the game first, {@link #copyOnly()} measures that restore alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameOverBenchmark {
+    @Param({"Beginner", "Intermediate", "Expert", "1000x1000@0.05", "1000x1000@0.15", "1000x1000@0.25"})
+    public String board;
+
+    private final MinesweeperEngine started = new MinesweeperEngine();
+    private final MinesweeperEngine engine = new MinesweeperEngine();
+    private int mine;
+
+    @Setup
+    public void setup() {
+        BoardConfig config = Boards.parse(this.board);
+        this.started.newGame(config, 42);
+        this.started.reveal(Boards.center(config));
+
+        BoardState state = this.started.getBoard();
+        this.mine = 0;
+        while (!state.isMine(this.mine)) {
+            this.mine++;
+        }
+    }
+
+    @Benchmark
+    public int gameOver() {
+        this.engine.copyFrom(this.started);
+        this.engine.reveal(this.mine);
+        return this.engine.getChangedCount();
+    }
+
+    @Benchmark
+    public MinesweeperEngine copyOnly() {
+        this.engine.copyFrom(this.started);
+        return this.engine;
+    }
+}
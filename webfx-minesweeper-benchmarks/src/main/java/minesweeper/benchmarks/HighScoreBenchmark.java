@@ -0,0 +1,96 @@
+package minesweeper.benchmarks;
+
+import minesweeper.Difficulty;
+import minesweeper.HighScore;
+import minesweeper.HighScoreStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of the stored high scores, as done by {@link HighScoreStore#load()} after the application starts: the full
+ * high scores, in the current format or in the legacy format migrated on the first start after an update, then the
+ * times appended to the journal since the last compaction. {@link #compactHighScores()} measures the encoding of the
+ * full high scores that the compaction writes back, without the storage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HighScoreBenchmark {
+    // Number of stored lines, the game writes at most HighScore.CAPACITY per difficulty
+    @Param({"3", "30", "10000"})
+    public int lines;
+
+    // Number of journal lines, the journal is compacted past 16 lines but can be longer if it isn't compacted yet
+    @Param({"0", "16", "1000"})
+    public int journalLines;
+
+    private String data;
+    private String legacyData;
+    private String journal;
+
+    @Setup
+    public void setup() {
+        Difficulty[] difficulties = Difficulty.values();
+        StringBuilder sb = new StringBuilder("HS2\n");
+        StringBuilder legacy = new StringBuilder();
+        for (int i = 0; i < this.lines; i++) {
+            Difficulty difficulty = difficulties[i % difficulties.length];
+            sb.append(difficulty.ordinal()).append('\t');
+            sb.append(10_000 + (i * 7919L) % 990_000).append('\t');
+            sb.append("Player ").append(i).append('\n');
+            legacy.append(difficulty.getName()).append(": ");
+            legacy.append(10 + i % 990).append(" seconds by ");
+            legacy.append("Player").append(i).append('\n');
+        }
+        this.data = sb.toString();
+        this.legacyData = legacy.toString();
+
+        StringBuilder journal = new StringBuilder();
+        for (int i = 0; i < this.journalLines; i++) {
+            Difficulty difficulty = difficulties[i % difficulties.length];
+            HighScore.encodeLine(journal, new HighScore("Journal " + i, 5_000 + (i * 104_729L) % 995_000, difficulty));
+        }
+        this.journal = journal.toString();
+
+        // The compaction encodes the high scores loaded with their journal
+        this.loadHighScores();
+    }
+
+    @Benchmark
+    public int parseHighScores() {
+        HighScore.parseHighScores(this.data);
+        return HighScore.getLeaderboard(Difficulty.EXPERT).size();
+    }
+
+    @Benchmark
+    public int loadHighScores() {
+        HighScore.parseHighScores(this.data);
+        HighScore.appendHighScores(this.journal);
+        return HighScore.getLeaderboard(Difficulty.EXPERT).size();
+    }
+
+    @Benchmark
+    public String compactHighScores() {
+        return HighScore.encodeHighScores();
+    }
+
+    @Benchmark
+    public int parseLegacyHighScores() {
+        HighScore.parseHighScores(this.legacyData);
+        return HighScore.getLeaderboard(Difficulty.EXPERT).size();
+    }
+}
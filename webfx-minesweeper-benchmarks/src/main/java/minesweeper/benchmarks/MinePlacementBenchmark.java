@@ -0,0 +1,59 @@
+package minesweeper.benchmarks;
+
+import minesweeper.BoardConfig;
+import minesweeper.BoardState;
+import minesweeper.MinePlacer;
+import minesweeper.SplitMix64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mine placement of the first click: clearing the board and placing the mines around the safe zone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MinePlacementBenchmark {
+    @Param({"Beginner", "Intermediate", "Expert", "1000x1000@0.05", "1000x1000@0.15", "1000x1000@0.25"})
+    public String board;
+
+    private BoardConfig config;
+    private BoardState state;
+    private final MinePlacer placer = new MinePlacer();
+    private final SplitMix64 random = new SplitMix64(42);
+    private int click;
+
+    @Setup
+    public void setup() {
+        this.config = Boards.parse(this.board);
+        this.state = new BoardState(this.config.getRows(), this.config.getCols());
+        this.click = Boards.center(this.config);
+    }
+
+    @Benchmark
+    public BoardState placeMines() {
+        this.state.clear();
+        this.placer.placeMines(this.state, this.config.getMines(), this.click, this.random);
+        return this.state;
+    }
+
+    @Benchmark
+    public BoardState clearOnly() {
+        this.state.clear();
+        return this.state;
+    }
+}
@@ -0,0 +1,54 @@
+package minesweeper.benchmarks;
+
+import minesweeper.BoardConfig;
+import minesweeper.NoGuessGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search of a no-guess board from the first click, with a new game seed for every invocation. The search gives up
+ * after {@link NoGuessGenerator#SEARCH_BUDGET_NANOS}, so {@link #verifyCandidate()} also measures the verification of
+ * a single candidate, which doesn't depend on the budget.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoGuessBenchmark {
+    @Param({"Beginner", "Intermediate", "Expert", "25x40@0.206"})
+    public String board;
+
+    private BoardConfig config;
+    private final NoGuessGenerator generator = new NoGuessGenerator();
+    private int click;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        this.config = Boards.parse(this.board);
+        this.click = Boards.center(this.config);
+    }
+
+    @Benchmark
+    public long findSeed() {
+        return this.generator.findSeed(this.config, this.seed++, this.click);
+    }
+
+    @Benchmark
+    public boolean verifyCandidate() {
+        return this.generator.isSolvable(this.config, this.seed++, this.click);
+    }
+}
@@ -0,0 +1,77 @@
+package minesweeper.benchmarks;
+
+import minesweeper.BoardConfig;
+import minesweeper.GameState;
+import minesweeper.MineProbabilities;
+import minesweeper.MinesweeperEngine;
+import minesweeper.MinesweeperSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mine probabilities of a game stopped where the solver can't prove any space.
+ * {@link #fromScratch()} enumerates every frontier component, {@link #afterReveal()} alternates between the
+ * position and the one just before its last reveal, so only the components that reveal changed are enumerated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProbabilityBenchmark {
+    @Param({"Beginner", "Intermediate", "Expert"})
+    public String board;
+
+    private BoardConfig config;
+    private final MinesweeperEngine before = new MinesweeperEngine();
+    private final MinesweeperEngine after = new MinesweeperEngine();
+    private final MineProbabilities probabilities = new MineProbabilities();
+    private boolean toggle;
+
+    @Setup
+    public void setup() {
+        this.config = Boards.parse(this.board);
+        MinesweeperSolver solver = new MinesweeperSolver();
+        for (long seed = 0; ; seed++) {
+            this.after.newGame(this.config, seed);
+            this.after.reveal(Boards.center(this.config));
+            // Reveal the proven safe spaces one at a time until the solver is stuck
+            while (this.after.getState() == GameState.PLAYING) {
+                solver.solve(this.after.getBoard());
+                int safe = solver.nextSafe(0);
+                if (safe < 0) {
+                    break;
+                }
+                this.before.copyFrom(this.after);
+                this.after.reveal(safe);
+            }
+            if (this.after.getState() == GameState.PLAYING && this.before.getState() == GameState.PLAYING) {
+                return;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean fromScratch() {
+        return new MineProbabilities().update(this.after.getBoard(), this.config.getMines());
+    }
+
+    @Benchmark
+    public boolean afterReveal() {
+        this.toggle = !this.toggle;
+        MinesweeperEngine engine = this.toggle ? this.after : this.before;
+        return this.probabilities.update(engine.getBoard(), this.config.getMines());
+    }
+}
@@ -0,0 +1,60 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the refill of the no-guess board pool in slices, and the boards it hands out.
+ */
+class BoardPoolTest {
+
+    @Test
+    void fillsInSlices() {
+        final BoardConfig config = BoardConfig.of(Difficulty.EXPERT);
+        final BoardPool pool = new BoardPool();
+        pool.setConfig(config);
+        int slices = 0;
+        // Slices of a microsecond end in the middle of most candidates
+        while (pool.refill(1_000)) {
+            slices++;
+            assertTrue(slices < 1_000_000);
+        }
+        assertEquals(BoardPool.SIZE, pool.getReadyCount(config));
+
+        // Every pooled board, mirrored or not, starts with an opening and is solvable from its start space
+        final NoGuessGenerator generator = new NoGuessGenerator();
+        final MinesweeperEngine engine = new MinesweeperEngine();
+        for (int i = 0; i < BoardPool.SIZE; i++) {
+            BoardCode code = null;
+            for (int index = 0; code == null && index < config.getTotalSpaces(); index++) {
+                code = pool.take(config, index);
+            }
+            assertNotNull(code);
+            final BoardCode decoded = BoardCode.decode(code.encode());
+            engine.newGame(config, decoded.getSeed(), decoded.getSymmetry());
+            assertTrue(engine.reveal(decoded.getClickIndex()));
+            assertEquals(0, engine.getNumAdjacentMines(decoded.getClickIndex()));
+            final int start = BoardSymmetry.invert(decoded.getSymmetry(), decoded.getClickIndex(), config.getRows(), config.getCols());
+            assertTrue(generator.isSolvable(config, decoded.getSeed(), start));
+        }
+        assertEquals(0, pool.getReadyCount(config));
+    }
+
+    @Test
+    void givesUpOnUnsolvableConfigs() {
+        // Far too dense for a board to be solved without guessing
+        final BoardConfig config = BoardConfig.custom(20, 20, 300);
+        final BoardPool pool = new BoardPool();
+        pool.setConfig(config);
+        int slices = 0;
+        while (pool.refill(1_000_000)) {
+            slices++;
+            assertTrue(slices < 100_000);
+        }
+        assertTrue(pool.isFull());
+        assertEquals(0, pool.getReadyCount(config));
+    }
+}
@@ -0,0 +1,132 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the encoding of game snapshots, the resume of a game from its snapshot, and the codes of the boards.
+ */
+class GameSnapshotTest {
+
+    @Test
+    void resumesGames() {
+        final Random random = new Random(9);
+        final MinesweeperEngine resumed = new MinesweeperEngine();
+        for (int trial = 0; trial < 100; trial++) {
+            final MinesweeperEngine engine = playing(random);
+            final long timeMillis = random.nextInt(1_000_000);
+            final GameSnapshot snapshot = GameSnapshot.decode(GameSnapshot.of(engine, timeMillis).encode());
+            assertEquals(timeMillis, snapshot.getTimeMillis());
+            assertEquals(engine.getSeed(), snapshot.getSeed());
+            assertEquals(engine.getBoardCode().getSymmetry(), snapshot.getSymmetry());
+            assertEquals(engine.getBoardCode().getClickIndex(), snapshot.getFirstClick());
+
+            resumed.restore(snapshot);
+            assertEquals(GameState.PLAYING, resumed.getState());
+            assertEquals(engine.getRevealedSpaces(), resumed.getRevealedSpaces());
+            assertEquals(engine.getFlags(), resumed.getFlags());
+            assertEquals(engine.getBbbv(), resumed.getBbbv());
+            assertEquals(engine.getBoardCode().encode(), resumed.getBoardCode().encode());
+            for (int index = 0; index < engine.getConfig().getTotalSpaces(); index++) {
+                assertEquals(engine.isMine(index), resumed.isMine(index));
+                assertEquals(engine.getTile(index), resumed.getTile(index));
+            }
+        }
+    }
+
+    @Test
+    void readsTimesInSeconds() {
+        final MinesweeperEngine engine = playing(new Random(10));
+        final GameSnapshot current = GameSnapshot.of(engine, 0);
+        final BoardConfig config = engine.getConfig();
+        // The first version of the snapshots, with the time played in whole seconds
+        final ByteWriter writer = new ByteWriter()
+            .writeByte(1)
+            .writeVarInt(config.getRows())
+            .writeVarInt(config.getCols())
+            .writeVarInt(config.getMines())
+            .writeVarInt(current.getSymmetry())
+            .writeLong(current.getSeed())
+            .writeVarInt(current.getFirstClick())
+            .writeVarInt(95);
+        final int length = (config.getTotalSpaces() + 7) >>> 3;
+        writer.writeBytes(bits(current, 0, length), length)
+            .writeBytes(bits(current, 1, length), length)
+            .writeBytes(bits(current, 2, length), length);
+
+        final GameSnapshot snapshot = GameSnapshot.decode(Base64Url.encode(writer.toByteArray()));
+        assertEquals(95_000L, snapshot.getTimeMillis());
+        for (int index = 0; index < config.getTotalSpaces(); index++) {
+            assertEquals(current.isMine(index), snapshot.isMine(index));
+            assertEquals(current.isRevealed(index), snapshot.isRevealed(index));
+            assertEquals(current.isFlagged(index), snapshot.isFlagged(index));
+        }
+    }
+
+    @Test
+    void roundTripsBoardCodes() {
+        final Random random = new Random(11);
+        for (int trial = 0; trial < 1000; trial++) {
+            final int rows = 3 + random.nextInt(100);
+            final int cols = 3 + random.nextInt(100);
+            final int mines = 1 + random.nextInt(rows * cols - 9);
+            final int symmetry = random.nextInt(BoardSymmetry.count(rows, cols));
+            final BoardCode code = new BoardCode(random.nextLong(), rows, cols, mines, random.nextInt(rows * cols), symmetry);
+            final String text = code.encode();
+            // Boards that aren't mirrored keep the first version of the code
+            assertEquals(symmetry == BoardSymmetry.IDENTITY ? 1 : 2, (int) Base64Url.decode(text)[0]);
+            final BoardCode decoded = BoardCode.decode(text);
+            assertEquals(code.getSeed(), decoded.getSeed());
+            assertEquals(rows, decoded.getRows());
+            assertEquals(cols, decoded.getCols());
+            assertEquals(mines, decoded.getMines());
+            assertEquals(code.getClickIndex(), decoded.getClickIndex());
+            assertEquals(symmetry, decoded.getSymmetry());
+            assertEquals(text, decoded.encode());
+        }
+        // The codes of the difficulty presets give back the presets
+        for (Difficulty difficulty : Difficulty.values()) {
+            final BoardCode preset = new BoardCode(1, difficulty.getRows(), difficulty.getCols(), difficulty.getMines(), 0);
+            assertEquals(difficulty, BoardCode.decode(preset.encode()).toBoardConfig().getDifficulty());
+        }
+    }
+
+    /**
+     * Starts a game on a mirrored board, reveals a few spaces and places a few flags, some of them wrong.
+     */
+    private static MinesweeperEngine playing(Random random) {
+        final int rows = 5 + random.nextInt(40);
+        final int cols = 5 + random.nextInt(40);
+        final MinesweeperEngine engine = new MinesweeperEngine();
+        do {
+            engine.newGame(BoardConfig.custom(rows, cols, rows * cols / 5), random.nextLong(),
+                random.nextInt(BoardSymmetry.count(rows, cols)));
+            engine.reveal(random.nextInt(rows * cols));
+            for (int i = 0; i < 10; i++) {
+                final int index = random.nextInt(rows * cols);
+                if (!engine.isMine(index)) {
+                    engine.reveal(index);
+                }
+                engine.toggleFlag(random.nextInt(rows * cols));
+            }
+        } while (engine.getState() != GameState.PLAYING);
+        return engine;
+    }
+
+    /**
+     * Packs the mines (0), revealed spaces (1) or flags (2) of a snapshot in bitsets of one bit per space.
+     */
+    private static byte[] bits(GameSnapshot snapshot, int kind, int length) {
+        final byte[] bits = new byte[length];
+        for (int index = 0; index < snapshot.getConfig().getTotalSpaces(); index++) {
+            final boolean set = kind == 0 ? snapshot.isMine(index) : kind == 1 ? snapshot.isRevealed(index) : snapshot.isFlagged(index);
+            if (set) {
+                bits[index >>> 3] |= (byte) (1 << (index & 7));
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,90 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the storage of the chunks evicted from an endless world.
+ */
+class InfiniteWorldTest {
+
+    /**
+     * Store in memory holding at most a number of values.
+     */
+    private static final class MemoryStore implements InfiniteWorld.ChunkStore {
+        private final Map<String, String> values = new HashMap<>();
+        private final int capacity;
+
+        private MemoryStore(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public String load(String key) {
+            return this.values.get(key);
+        }
+
+        @Override
+        public boolean save(String key, String value) {
+            if (!this.values.containsKey(key) && this.values.size() >= this.capacity) {
+                return false;
+            }
+            this.values.put(key, value);
+            return true;
+        }
+
+        @Override
+        public void remove(String key) {
+            this.values.remove(key);
+        }
+    }
+
+    @Test
+    void restoresEvictedChunks() {
+        final MemoryStore store = new MemoryStore(Integer.MAX_VALUE);
+        final InfiniteWorld world = new InfiniteWorld(1, store);
+        flagChunks(world, 1000);
+        assertTrue(store.values.size() > 1);
+        for (int chunk = 0; chunk < 1000; chunk++) {
+            assertTrue(world.isFlagged(chunk * InfiniteWorld.CHUNK_SIZE, 0));
+        }
+    }
+
+    @Test
+    void newWorldsRemoveStoredChunks() {
+        final MemoryStore store = new MemoryStore(Integer.MAX_VALUE);
+        flagChunks(new InfiniteWorld(1, store), 1000);
+        assertFalse(store.values.isEmpty());
+
+        InfiniteWorld.clearStore(store);
+        assertTrue(store.values.isEmpty());
+        final InfiniteWorld world = new InfiniteWorld(2, store);
+        assertFalse(world.isFlagged(0, 0));
+    }
+
+    @Test
+    void fullStoresLoseChanges() {
+        final MemoryStore store = new MemoryStore(100);
+        final InfiniteWorld world = new InfiniteWorld(1, store);
+        flagChunks(world, 1000);
+        assertTrue(store.values.size() <= 100);
+
+        // Every stored chunk is listed, so that a new world still removes them all
+        InfiniteWorld.clearStore(store);
+        assertTrue(store.values.isEmpty());
+    }
+
+    /**
+     * Flags the first space of chunks along a row, more than the world keeps in memory.
+     */
+    private static void flagChunks(InfiniteWorld world, int chunks) {
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            assertTrue(world.toggleFlag(chunk * InfiniteWorld.CHUNK_SIZE, 0));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the ranking of times on a leaderboard, and the parsing of the stored high scores.
+ */
+class LeaderboardTest {
+
+    @Test
+    void ranksTiesAfterEarlierTimes() {
+        final Leaderboard leaderboard = new Leaderboard(3);
+        assertEquals(0, leaderboard.add(score("a", 20)));
+        assertEquals(1, leaderboard.add(score("b", 30)));
+        assertEquals(1, leaderboard.add(score("c", 20)));
+        assertEquals(3, leaderboard.rank(30));
+        assertFalse(leaderboard.qualifies(30));
+        assertEquals(-1, leaderboard.add(score("d", 30)));
+        assertEquals(0, leaderboard.add(score("e", 10)));
+        assertEquals(3, leaderboard.size());
+        assertEquals("e", leaderboard.get(0).getName());
+        assertEquals("a", leaderboard.get(1).getName());
+        assertEquals("c", leaderboard.get(2).getName());
+    }
+
+    @Test
+    void insertsLikeASortedList() {
+        final Random random = new Random(12);
+        final Leaderboard leaderboard = new Leaderboard(HighScore.CAPACITY);
+        final List<HighScore> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Few distinct times, so that most of them are ties
+            final HighScore highScore = score(Integer.toString(i), 1000 + random.nextInt(30) * 10);
+            int rank = 0;
+            while (rank < expected.size() && expected.get(rank).getTimeMillis() <= highScore.getTimeMillis()) {
+                rank++;
+            }
+            assertEquals(rank, leaderboard.rank(highScore.getTimeMillis()));
+            expected.add(rank, highScore);
+            if (expected.size() > HighScore.CAPACITY) {
+                expected.remove(HighScore.CAPACITY);
+            }
+            assertEquals(rank < HighScore.CAPACITY ? rank : -1, leaderboard.add(highScore));
+            assertEquals(expected.size(), leaderboard.size());
+            for (int r = 0; r < expected.size(); r++) {
+                assertEquals(expected.get(r), leaderboard.get(r));
+            }
+        }
+    }
+
+    @Test
+    void parsesCurrentHighScores() {
+        HighScore.clearHighScores();
+        HighScore.addHighScore("Ada Lovelace", 95_123, Difficulty.EXPERT);
+        HighScore.addHighScore("Bob", 95_123, Difficulty.EXPERT);
+        HighScore.addHighScore(" spaced  out ", 7_004, Difficulty.BEGINNER);
+        final String text = HighScore.encodeHighScores();
+
+        assertTrue(HighScore.parseHighScores(text + "not a line\n2\tslow\tname\n9\t100\tbad difficulty\n"));
+        final Leaderboard expert = HighScore.getLeaderboard(Difficulty.EXPERT);
+        assertEquals(2, expert.size());
+        assertEquals("Ada Lovelace", expert.get(0).getName());
+        assertEquals(95_123L, expert.get(0).getTimeMillis());
+        assertEquals("Bob", expert.get(1).getName());
+        assertEquals(" spaced  out ", HighScore.getLeaderboard(Difficulty.BEGINNER).get(0).getName());
+        assertEquals(0, HighScore.getLeaderboard(Difficulty.INTERMEDIATE).size());
+        assertEquals(text, HighScore.encodeHighScores());
+        HighScore.clearHighScores();
+    }
+
+    @Test
+    void parsesLegacyHighScores() {
+        assertFalse(HighScore.parseHighScores("Beginner: 12 seconds by Jo Ann\nExpert: 301 seconds by Max\nbroken line\n"));
+        assertEquals("Jo Ann", HighScore.getLeaderboard(Difficulty.BEGINNER).get(0).getName());
+        assertEquals(12_000L, HighScore.getLeaderboard(Difficulty.BEGINNER).get(0).getTimeMillis());
+        assertEquals(301_000L, HighScore.getLeaderboard(Difficulty.EXPERT).get(0).getTimeMillis());
+        assertEquals(0, HighScore.getLeaderboard(Difficulty.INTERMEDIATE).size());
+
+        assertFalse(HighScore.parseHighScores(null));
+        assertEquals(0, HighScore.getLeaderboard(Difficulty.BEGINNER).size());
+    }
+
+    private static HighScore score(String name, long timeMillis) {
+        return new HighScore(name, timeMillis, Difficulty.EXPERT);
+    }
+}
@@ -0,0 +1,123 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the mine probabilities against the enumeration of every layout of the mines on small boards.
+ */
+class MineProbabilitiesTest {
+
+    @Test
+    void matchesBruteForce() {
+        final Random random = new Random(5);
+        final MinesweeperEngine engine = new MinesweeperEngine();
+        final MineProbabilities probabilities = new MineProbabilities();
+        int compared = 0;
+        for (int trial = 0; trial < 300; trial++) {
+            final int rows = 4 + random.nextInt(2);
+            final int cols = 4 + random.nextInt(2);
+            final int mines = 1 + random.nextInt(Math.min(rows * cols - 9, 5));
+            engine.newGame(BoardConfig.custom(rows, cols, mines), random.nextLong());
+            engine.reveal(random.nextInt(rows * cols));
+            while (engine.getState() == GameState.PLAYING) {
+                // Flags are ignored, even wrong ones
+                engine.toggleFlag(random.nextInt(rows * cols));
+                assertTrue(probabilities.update(engine.getBoard(), mines));
+                assertTrue(probabilities.isExact());
+                final double[] expected = bruteForce(engine.getBoard(), mines);
+                for (int index = 0; index < rows * cols; index++) {
+                    if (engine.isRevealed(index)) {
+                        assertTrue(Double.isNaN(probabilities.get(index)));
+                    } else {
+                        assertEquals(expected[index], probabilities.get(index), 1e-9);
+                        compared++;
+                    }
+                }
+                int next;
+                do {
+                    next = random.nextInt(rows * cols);
+                } while (engine.isMine(next) || engine.isRevealed(next));
+                if (engine.isFlagged(next)) {
+                    engine.toggleFlag(next);
+                }
+                engine.reveal(next);
+            }
+        }
+        assertTrue(compared > 1000);
+    }
+
+    /**
+     * Counts, for each covered space, the layouts of the mines matching the revealed numbers where it is a mine.
+     */
+    private static double[] bruteForce(BoardState board, int mines) {
+        final int size = board.getSize();
+        final int[] covered = new int[size];
+        int coveredCount = 0;
+        for (int index = 0; index < size; index++) {
+            if (!board.isRevealed(index)) {
+                covered[coveredCount++] = index;
+            }
+        }
+        final boolean[] layout = new boolean[size];
+        final long[] mineLayouts = new long[size];
+        final long layouts = enumerate(board, covered, coveredCount, 0, mines, layout, mineLayouts);
+        assertTrue(layouts > 0);
+        final double[] probabilities = new double[size];
+        for (int index = 0; index < size; index++) {
+            probabilities[index] = (double) mineLayouts[index] / layouts;
+        }
+        return probabilities;
+    }
+
+    private static long enumerate(BoardState board, int[] covered, int coveredCount, int next, int minesLeft,
+                                  boolean[] layout, long[] mineLayouts) {
+        if (coveredCount - next < minesLeft) {
+            return 0;
+        }
+        if (next == coveredCount) {
+            if (!matches(board, layout)) {
+                return 0;
+            }
+            for (int i = 0; i < coveredCount; i++) {
+                if (layout[covered[i]]) {
+                    mineLayouts[covered[i]]++;
+                }
+            }
+            return 1;
+        }
+        long count = 0;
+        if (minesLeft > 0) {
+            layout[covered[next]] = true;
+            count += enumerate(board, covered, coveredCount, next + 1, minesLeft - 1, layout, mineLayouts);
+            layout[covered[next]] = false;
+        }
+        return count + enumerate(board, covered, coveredCount, next + 1, minesLeft, layout, mineLayouts);
+    }
+
+    private static boolean matches(BoardState board, boolean[] layout) {
+        for (int index = 0; index < board.getSize(); index++) {
+            if (!board.isRevealed(index)) {
+                continue;
+            }
+            final int row = board.rowOf(index);
+            final int col = board.colOf(index);
+            int adjacent = 0;
+            for (int r = Math.max(0, row - 1); r <= Math.min(board.getRows() - 1, row + 1); r++) {
+                for (int c = Math.max(0, col - 1); c <= Math.min(board.getCols() - 1, col + 1); c++) {
+                    if (layout[board.index(r, c)]) {
+                        adjacent++;
+                    }
+                }
+            }
+            if (adjacent != board.getNumAdjacentMines(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
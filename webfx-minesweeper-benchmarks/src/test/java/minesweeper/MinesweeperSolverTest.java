@@ -0,0 +1,88 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the solver following a game against a solve from scratch, and the no-guess verification done in slices.
+ */
+class MinesweeperSolverTest {
+
+    @Test
+    void followsLikeSolve() {
+        final Random random = new Random(11);
+        final MinesweeperEngine engine = new MinesweeperEngine();
+        final MinesweeperSolver following = new MinesweeperSolver();
+        final MinesweeperSolver solving = new MinesweeperSolver();
+        for (int trial = 0; trial < 300; trial++) {
+            final int rows = 3 + random.nextInt(20);
+            final int cols = 3 + random.nextInt(20);
+            final int mines = 1 + random.nextInt(rows * cols / 4);
+            engine.newGame(BoardConfig.custom(rows, cols, mines), random.nextLong());
+            engine.reveal(random.nextInt(rows * cols));
+            following.start(engine.getBoard());
+            following.addRevealed(engine.getChanged(), engine.getChangedCount());
+            while (engine.getState() == GameState.PLAYING) {
+                following.propagate(Long.MAX_VALUE);
+                solving.solve(engine.getBoard());
+                for (int index = 0; index < rows * cols; index++) {
+                    if (!engine.isRevealed(index)) {
+                        assertEquals(solving.isSafe(index), following.isSafe(index));
+                        assertEquals(solving.isMine(index), following.isMine(index));
+                    }
+                }
+                // Reveal a proven safe space, or guess a space that isn't a mine
+                int next = following.pollSafe();
+                while (next >= 0 && engine.isRevealed(next)) {
+                    next = following.pollSafe();
+                }
+                if (next < 0) {
+                    do {
+                        next = random.nextInt(rows * cols);
+                    } while (engine.isMine(next) || engine.isRevealed(next));
+                }
+                engine.reveal(next);
+                following.addRevealed(engine.getChanged(), engine.getChangedCount());
+            }
+        }
+    }
+
+    @Test
+    void provesFlaggedNeighborsOfZerosSafe() {
+        // The flood fill stops at flags, so the zero in the corner keeps a covered neighbor
+        final BoardState board = new BoardState(3, 3);
+        board.placeMine(board.index(2, 2));
+        board.setRevealed(board.index(0, 0));
+        board.setFlagged(board.index(0, 1), true);
+        final MinesweeperSolver solver = new MinesweeperSolver();
+        solver.solve(board);
+        assertTrue(solver.isSafe(board.index(0, 1)));
+        assertTrue(solver.isSafe(board.index(1, 0)));
+        assertTrue(solver.isSafe(board.index(1, 1)));
+    }
+
+    @Test
+    void verifiesInSlices() {
+        final BoardConfig config = BoardConfig.of(Difficulty.EXPERT);
+        final NoGuessGenerator whole = new NoGuessGenerator();
+        final NoGuessGenerator sliced = new NoGuessGenerator();
+        int solvable = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            sliced.begin(config, seed, 200);
+            // Deadlines already passed stop every slice at its first check of the clock
+            int slices = 1;
+            while (!sliced.verify(System.nanoTime() - 1)) {
+                slices++;
+            }
+            assertTrue(slices < 10_000);
+            final boolean won = whole.isSolvable(config, seed, 200);
+            assertEquals(won, sliced.isWon());
+            solvable += won ? 1 : 0;
+        }
+        assertTrue(solvable > 0);
+    }
+}
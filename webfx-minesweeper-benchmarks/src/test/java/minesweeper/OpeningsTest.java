@@ -0,0 +1,144 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the labelled openings against a plain flood fill, and their reuse between boards and engines.
+ */
+class OpeningsTest {
+
+    @Test
+    void relabelsAfterEngineCopy() {
+        final MinesweeperEngine playing = new MinesweeperEngine();
+        playing.newGame(BoardConfig.of(Difficulty.EXPERT), 1);
+        playing.reveal(200);
+        assertEquals(GameState.PLAYING, playing.getState());
+
+        // A fresh engine copying a game, then labelling a board of its own no larger than the copy
+        final MinesweeperEngine copy = new MinesweeperEngine();
+        copy.copyFrom(playing);
+        copy.newGame(BoardConfig.of(Difficulty.EXPERT), 2);
+        assertTrue(copy.reveal(200));
+        copy.newGame(BoardConfig.of(Difficulty.BEGINNER), 3);
+        assertTrue(copy.reveal(27));
+        assertEquals(bbbv(copy.getBoard()), copy.getBbbv());
+    }
+
+    @Test
+    void copiesDontKeepLabels() {
+        final MinesweeperEngine playing = new MinesweeperEngine();
+        playing.newGame(BoardConfig.of(Difficulty.INTERMEDIATE), 4);
+        playing.reveal(120);
+
+        final MinesweeperEngine copy = new MinesweeperEngine();
+        copy.copyFrom(playing);
+        assertNull(copy.getOpenings());
+        assertEquals(playing.getBbbv(), copy.getBbbv());
+        // The copy reveals the same spaces as the labelled game
+        for (int index = 0; index < 256 && playing.getState() == GameState.PLAYING; index++) {
+            if (!playing.isMine(index)) {
+                playing.reveal(index);
+                copy.reveal(index);
+                assertArrayEquals(revealed(playing.getBoard()), revealed(copy.getBoard()));
+            }
+        }
+    }
+
+    @Test
+    void largeBoardsAreNotLabelled() {
+        final MinesweeperEngine engine = new MinesweeperEngine();
+        engine.newGame(BoardConfig.custom(1100, 1000, 1000), 5);
+        assertTrue(engine.reveal(550 * 1000 + 500));
+        assertNull(engine.getOpenings());
+        assertEquals(-1, engine.getBbbv());
+    }
+
+    @Test
+    void revealsLikeFloodFill() {
+        final Random random = new Random(7);
+        final Openings openings = new Openings();
+        final FloodFill flood = new FloodFill();
+        final FloodFill bulk = new FloodFill();
+        for (int trial = 0; trial < 2000; trial++) {
+            final int rows = 1 + random.nextInt(14);
+            final int cols = 1 + random.nextInt(14);
+            final BoardState mines = randomBoard(random, rows, cols);
+            openings.label(mines);
+            assertEquals(bbbv(mines), openings.getBbbv());
+
+            final BoardState expected = new BoardState(rows, cols);
+            final BoardState actual = new BoardState(rows, cols);
+            expected.copyFrom(mines);
+            actual.copyFrom(mines);
+            // Flags may split an opening, which falls back to the flood fill
+            for (int index = 0; index < rows * cols; index++) {
+                if (random.nextInt(15) == 0) {
+                    expected.setFlagged(index, true);
+                    actual.setFlagged(index, true);
+                }
+            }
+            for (int click = 0; click < 6; click++) {
+                final int index = random.nextInt(rows * cols);
+                flood.clear();
+                bulk.clear();
+                flood.reveal(expected, index);
+                bulk.reveal(actual, openings, index);
+                assertEquals(flood.getRevealedCount(), bulk.getRevealedCount());
+                assertArrayEquals(revealed(expected), revealed(actual));
+            }
+        }
+    }
+
+    private static BoardState randomBoard(Random random, int rows, int cols) {
+        final BoardState board = new BoardState(rows, cols);
+        final int density = 3 + random.nextInt(10);
+        for (int index = 0; index < rows * cols; index++) {
+            if (random.nextInt(density) == 0) {
+                board.placeMine(index);
+            }
+        }
+        return board;
+    }
+
+    private static boolean[] revealed(BoardState board) {
+        final boolean[] revealed = new boolean[board.getSize()];
+        for (int index = 0; index < revealed.length; index++) {
+            revealed[index] = board.isRevealed(index);
+        }
+        return revealed;
+    }
+
+    /**
+     * Computes the 3BV by revealing each opening with a flood fill on a covered copy of the board, then counting the
+     * numbers left covered.
+     */
+    private static int bbbv(BoardState board) {
+        final BoardState copy = new BoardState(board.getRows(), board.getCols());
+        for (int index = 0; index < board.getSize(); index++) {
+            if (board.isMine(index)) {
+                copy.placeMine(index);
+            }
+        }
+        final FloodFill floodFill = new FloodFill();
+        int bbbv = 0;
+        for (int index = 0; index < copy.getSize(); index++) {
+            if (!copy.isRevealed(index) && !copy.isMine(index) && copy.getNumAdjacentMines(index) == 0) {
+                bbbv++;
+                floodFill.reveal(copy, index);
+            }
+        }
+        for (int index = 0; index < copy.getSize(); index++) {
+            if (!copy.isRevealed(index) && !copy.isMine(index)) {
+                bbbv++;
+            }
+        }
+        return bbbv;
+    }
+}
@@ -0,0 +1,68 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the streaming estimate of the median against the exact median of the values.
+ */
+class P2QuantileTest {
+
+    @Test
+    void isExactForFewValues() {
+        final P2Quantile median = new P2Quantile(0.5);
+        assertTrue(Double.isNaN(median.get()));
+        final double[] values = {40, 10, 30, 50, 20};
+        for (int count = 1; count <= values.length; count++) {
+            median.add(values[count - 1]);
+            final double[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            assertEquals(sorted[(int) Math.round((count - 1) * 0.5)], median.get(), 0);
+        }
+    }
+
+    @Test
+    void estimatesTheMedian() {
+        final Random random = new Random(13);
+        for (int trial = 0; trial < 20; trial++) {
+            // Winning times are skewed, with a long tail of slow games
+            final int count = 100 + random.nextInt(5000);
+            final double[] values = new double[count];
+            final P2Quantile median = new P2Quantile(0.5);
+            for (int i = 0; i < count; i++) {
+                values[i] = 30_000 + Math.exp(random.nextGaussian()) * 20_000;
+                median.add(values[i]);
+            }
+            Arrays.sort(values);
+            final double exact = values[count / 2];
+            assertEquals(count, median.getCount());
+            assertEquals(exact, median.get(), exact * 0.05);
+        }
+    }
+
+    @Test
+    void resumesFromItsEncoding() {
+        final Random random = new Random(14);
+        final P2Quantile median = new P2Quantile(0.5);
+        final P2Quantile restored = new P2Quantile(0.5);
+        for (int i = 0; i < 1000; i++) {
+            median.add(random.nextInt(100_000));
+            final StringBuilder sb = new StringBuilder();
+            median.encode(sb);
+            // The estimator is read from the middle of a line, as in the stored statistics
+            final String[] fields = ("x\t" + sb).split("\t");
+            assertEquals(fields.length, restored.decode(fields, 1));
+            assertEquals(median.get(), restored.get(), 0);
+            // Both go on with the same values
+            final int next = random.nextInt(100_000);
+            median.add(next);
+            restored.add(next);
+            assertEquals(median.get(), restored.get(), 0);
+        }
+    }
+}
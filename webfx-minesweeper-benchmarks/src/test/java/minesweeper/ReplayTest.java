@@ -0,0 +1,115 @@
+package minesweeper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the encoding of replays, and the playback of the player seeking from keyframes against stepping.
+ */
+class ReplayTest {
+
+    @Test
+    void roundTrips() {
+        final Random random = new Random(7);
+        for (int trial = 0; trial < 100; trial++) {
+            final Replay replay = play(random, 8 + random.nextInt(20), 8 + random.nextInt(20));
+            final Replay decoded = Replay.decode(replay.encode());
+            assertBoardCode(replay.getBoardCode(), decoded.getBoardCode());
+            assertEquals(replay.getEventCount(), decoded.getEventCount());
+            for (int event = 0; event < replay.getEventCount(); event++) {
+                assertEquals(replay.getIndex(event), decoded.getIndex(event));
+                assertEquals(replay.getAction(event), decoded.getAction(event));
+                assertEquals(replay.getTime(event), decoded.getTime(event));
+            }
+        }
+    }
+
+    @Test
+    void seeksLikeStepping() {
+        final Random random = new Random(8);
+        for (int trial = 0; trial < 30; trial++) {
+            final Replay replay = play(random, 16, 30);
+            final ReplayPlayer stepping = new ReplayPlayer(replay);
+            final ReplayPlayer seeking = new ReplayPlayer(replay);
+            for (int position = 0; position <= replay.getEventCount(); position++) {
+                // Seek backward first, so that every seek restores a keyframe
+                seeking.seek(replay.getEventCount() - position);
+                seeking.seek(position);
+                assertEquals(position, seeking.getPosition());
+                assertSameGame(stepping.getEngine(), seeking.getEngine());
+                stepping.step();
+            }
+            assertEquals(GameState.WON, seeking.getEngine().getState());
+        }
+    }
+
+    @Test
+    void boundsKeyframes() {
+        assertEquals(ReplayPlayer.KEYFRAME_INTERVAL, ReplayPlayer.keyframeInterval(480, 1000));
+        final int[] spaces = {480, 1 << 16, 1 << 20, BoardConfig.MAX_SPACES};
+        final int[] events = {0, 1, 31, 32, 1000, 100_000, 1_000_000};
+        for (int size : spaces) {
+            for (int count : events) {
+                final int interval = ReplayPlayer.keyframeInterval(size, count);
+                assertTrue(interval >= ReplayPlayer.KEYFRAME_INTERVAL);
+                final long keyframes = count / interval + 1;
+                assertTrue(keyframes * size <= Math.max(ReplayPlayer.MAX_KEYFRAME_SPACES, 2L * size));
+            }
+        }
+    }
+
+    /**
+     * Plays a game to the end, flagging and chording along the way, and records it.
+     */
+    private static Replay play(Random random, int rows, int cols) {
+        final BoardConfig config = BoardConfig.custom(rows, cols, rows * cols / 6);
+        final MinesweeperEngine engine = new MinesweeperEngine();
+        engine.newGame(config, random.nextLong(), random.nextInt(BoardSymmetry.count(rows, cols)));
+        final ReplayRecorder recorder = new ReplayRecorder();
+        long time = 0;
+        int index = random.nextInt(rows * cols);
+        engine.reveal(index);
+        recorder.record(Replay.REVEAL, index, time);
+        while (engine.getState() == GameState.PLAYING) {
+            time += random.nextInt(2000);
+            index = random.nextInt(rows * cols);
+            if (engine.isMine(index)) {
+                if (engine.toggleFlag(index)) {
+                    recorder.record(Replay.FLAG, index, time);
+                }
+            } else if (engine.isRevealed(index)) {
+                if (engine.chord(index)) {
+                    recorder.record(Replay.CHORD, index, time);
+                }
+            } else if (engine.isFlagged(index)) {
+                engine.toggleFlag(index);
+                recorder.record(Replay.FLAG, index, time);
+            } else if (engine.reveal(index)) {
+                recorder.record(Replay.REVEAL, index, time);
+            }
+        }
+        return recorder.toReplay(engine.getBoardCode());
+    }
+
+    private static void assertBoardCode(BoardCode expected, BoardCode actual) {
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getCols(), actual.getCols());
+        assertEquals(expected.getMines(), actual.getMines());
+        assertEquals(expected.getClickIndex(), actual.getClickIndex());
+        assertEquals(expected.getSymmetry(), actual.getSymmetry());
+    }
+
+    private static void assertSameGame(MinesweeperEngine expected, MinesweeperEngine actual) {
+        assertEquals(expected.getState(), actual.getState());
+        assertEquals(expected.getRevealedSpaces(), actual.getRevealedSpaces());
+        assertEquals(expected.getFlags(), actual.getFlags());
+        for (int index = 0; index < expected.getConfig().getTotalSpaces(); index++) {
+            assertEquals(expected.getTile(index), actual.getTile(index));
+        }
+    }
+}